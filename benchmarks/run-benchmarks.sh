@@ -0,0 +1,13 @@
+#!/usr/bin/env bash
+# Builds the JMH jar and writes results to benchmarks/results/<commit>.json for comparison across commits.
+# Extra arguments go to JMH, e.g. ./benchmarks/run-benchmarks.sh MapperBenchmark -p characteristics=100
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+COMMIT=$(git rev-parse --short HEAD 2> /dev/null || echo local)
+RESULT=benchmarks/results/$COMMIT.json
+
+./mvnw -q -B -pl benchmarks -am package -DskipTests -Dliquibase.skip=true
+mkdir -p benchmarks/results
+java -jar benchmarks/target/benchmarks.jar -rf json -rff "$RESULT" "$@"
+echo "Results written to $RESULT"
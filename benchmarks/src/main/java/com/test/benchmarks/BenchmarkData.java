@@ -0,0 +1,50 @@
+package com.test.benchmarks;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.CharacteristicType;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.model.dto.request.ResourceRequestDto;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class BenchmarkData {
+    public static final String EE = "EE";
+    public static final String FI = "FI";
+    public static final String STREET_ADDRESS = "Rand tee 1";
+    public static final String CITY = "Tallinn";
+    public static final int POSTAL_CODE = 10115;
+    public static final String CODE_PREFIX = "C";
+    public static final String VALUE_PREFIX = "value-";
+
+    private BenchmarkData() {
+    }
+
+    public static Resource resource(Long id, int characteristics) {
+        return new Resource(id, ResourceType.CONNECTION_POINT, EE, location(), characteristics(characteristics), 1L);
+    }
+
+    public static ResourceRequestDto request(int characteristics) {
+        ResourceRequestDto dto = new ResourceRequestDto();
+        dto.setResourceType(ResourceType.CONNECTION_POINT);
+        dto.setCountryCode(EE);
+        dto.setLocation(location());
+        dto.setCharacteristics(characteristics(characteristics));
+        return dto;
+    }
+
+    public static List<Characteristic> characteristics(int count) {
+        CharacteristicType[] types = CharacteristicType.values();
+        List<Characteristic> characteristics = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            characteristics.add(new Characteristic((long) i + 1, CODE_PREFIX + i, types[i % types.length],
+                    VALUE_PREFIX + i));
+        }
+        return characteristics;
+    }
+
+    private static Location location() {
+        return new Location(1L, STREET_ADDRESS, CITY, POSTAL_CODE, EE, null, null);
+    }
+}
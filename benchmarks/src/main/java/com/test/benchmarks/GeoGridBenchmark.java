@@ -0,0 +1,73 @@
+package com.test.benchmarks;
+
+import com.test.api.geo.GeoGrid;
+import com.test.api.geo.GeoHit;
+import com.test.api.geo.GeoPoint;
+import com.test.api.model.ResourceType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+// Points spread uniformly over an Estonia-sized box, queried at random spots inside it.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class GeoGridBenchmark {
+    public static final double MIN_LATITUDE = 57.5;
+    public static final double MIN_LONGITUDE = 21.7;
+    public static final double LATITUDE_SPAN = 2.2;
+    public static final double LONGITUDE_SPAN = 6.5;
+    @Param({"1000000", "5000000"})
+    private int points;
+    private GeoGrid grid;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        grid = new GeoGrid(0.01);
+        SplittableRandom seeded = new SplittableRandom(1);
+        grid.load(IntStream.range(0, points).mapToObj(i -> new GeoPoint((long) i,
+                i % 3 == 0 ? ResourceType.CONNECTION_POINT : ResourceType.METERING_POINT,
+                MIN_LATITUDE + seeded.nextDouble() * LATITUDE_SPAN,
+                MIN_LONGITUDE + seeded.nextDouble() * LONGITUDE_SPAN, 1L)));
+        random = new SplittableRandom(2);
+    }
+
+    @Benchmark
+    public List<GeoHit> withinTwoKm() {
+        return grid.within(latitude(), longitude(), 2, null, 100);
+    }
+
+    @Benchmark
+    public List<GeoHit> withinTwoKmOfType() {
+        return grid.within(latitude(), longitude(), 2, ResourceType.CONNECTION_POINT, 100);
+    }
+
+    @Benchmark
+    public List<GeoHit> nearestTen() {
+        return grid.nearest(latitude(), longitude(), 10, null);
+    }
+
+    private double latitude() {
+        return MIN_LATITUDE + random.nextDouble() * LATITUDE_SPAN;
+    }
+
+    private double longitude() {
+        return MIN_LONGITUDE + random.nextDouble() * LONGITUDE_SPAN;
+    }
+}
@@ -0,0 +1,117 @@
+package com.test.benchmarks;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.repository.OutboxRepository;
+import com.test.api.repository.ReferenceDataRepository;
+import com.test.api.repository.ResourceRepository;
+import com.test.api.repository.ResourceStatsRepository;
+import com.test.api.stats.ResourceStat;
+import com.test.api.stats.StatKey;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+// Map-backed stand-ins for the repositories, covering only the calls ResourcesServiceImpl makes.
+public final class InMemoryRepositories {
+
+    private InMemoryRepositories() {
+    }
+
+    public static ResourceRepository resources(Map<Long, Resource> store) {
+        AtomicLong sequence = new AtomicLong();
+        return proxy(ResourceRepository.class, (method, args) -> switch (method.getName()) {
+            case "save", "saveAndFlush" -> save(store, sequence, (Resource) args[0]);
+            case "saveAll", "saveAllAndFlush" -> ((List<?>) args[0]).stream()
+                    .map(resource -> save(store, sequence, (Resource) resource))
+                    .toList();
+            case "findById", "findWithDetailsById" -> Optional.ofNullable(store.get((Long) args[0]));
+            case "delete" -> store.remove(((Resource) args[0]).getId());
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    public static OutboxRepository outbox() {
+        return proxy(OutboxRepository.class, (method, args) -> switch (method.getName()) {
+            case "save", "saveAll" -> args[0];
+            default -> throw new UnsupportedOperationException(method.getName());
+        });
+    }
+
+    public static ReferenceDataRepository referenceData() {
+        Map<String, Long> ids = new ConcurrentHashMap<>();
+        AtomicLong sequence = new AtomicLong();
+        return new ReferenceDataRepository(null) {
+            @Override
+            public Map<String, Long> findOrInsertLocations(Map<String, Location> locations) {
+                return idsOf(locations.keySet());
+            }
+
+            @Override
+            public Map<String, Long> findOrInsertCharacteristics(Map<String, Characteristic> characteristics) {
+                return idsOf(characteristics.keySet());
+            }
+
+            private Map<String, Long> idsOf(Set<String> hashes) {
+                return hashes.stream().collect(Collectors.toMap(hash -> hash,
+                        hash -> ids.computeIfAbsent(hash, key -> sequence.incrementAndGet())));
+            }
+        };
+    }
+
+    public static ResourceStatsRepository resourceStats() {
+        Map<StatKey, Long> counts = new ConcurrentHashMap<>();
+        return new ResourceStatsRepository(null) {
+            @Override
+            public void increment(Map<StatKey, Long> deltas, int slot) {
+                deltas.forEach((key, delta) -> counts.merge(key, delta, Long::sum));
+            }
+
+            @Override
+            public List<ResourceStat> findStats(String countryCode) {
+                return counts.entrySet().stream()
+                        .filter(entry -> countryCode == null || countryCode.equals(entry.getKey().getCountryCode()))
+                        .map(entry -> new ResourceStat(entry.getKey().getDimension(),
+                                entry.getKey().getCountryCode(), entry.getKey().getName(),
+                                entry.getKey().getValue(), entry.getValue()))
+                        .toList();
+            }
+        };
+    }
+
+    private static Resource save(Map<Long, Resource> store, AtomicLong sequence, Resource resource) {
+        if (resource.getId() == null) {
+            resource.setId(sequence.incrementAndGet());
+        }
+        // same as the @Version column: seeded on insert, bumped on every update
+        resource.setVersion(resource.getVersion() == null ? Resource.INITIAL_VERSION : resource.getVersion() + 1);
+        store.put(resource.getId(), resource);
+        return resource;
+    }
+
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                return switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> type.getSimpleName();
+                };
+            }
+            return handler.invoke(method, args);
+        };
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    private interface Handler {
+        Object invoke(Method method, Object[] args);
+    }
+}
@@ -0,0 +1,61 @@
+package com.test.benchmarks;
+
+import com.test.api.mapper.RequestMapper;
+import com.test.api.mapper.ResponseMapper;
+import com.test.api.model.Resource;
+import com.test.api.model.dto.request.ResourceRequestDto;
+import com.test.api.model.dto.response.ResourceResponseDto;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({"1", "10", "100"})
+    private int characteristics;
+    private RequestMapper requestMapper;
+    private ResponseMapper responseMapper;
+    private ResourceRequestDto request;
+    private Resource resource;
+    private Resource target;
+
+    @Setup
+    public void setUp() {
+        requestMapper = Mappers.getMapper(RequestMapper.class);
+        responseMapper = Mappers.getMapper(ResponseMapper.class);
+        request = BenchmarkData.request(characteristics);
+        resource = BenchmarkData.resource(1L, characteristics);
+        target = BenchmarkData.resource(2L, characteristics);
+    }
+
+    @Benchmark
+    public Resource fromDto() {
+        return requestMapper.fromDto(request);
+    }
+
+    @Benchmark
+    public Resource updateResourcesFromDto() {
+        requestMapper.updateResourcesFromDto(request, target);
+        return target;
+    }
+
+    @Benchmark
+    public ResourceResponseDto toDto() {
+        return responseMapper.toDto(resource);
+    }
+}
@@ -0,0 +1,62 @@
+package com.test.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// JSON is what the services exchanged before the binary codec and what ResourceEventCodec still reads as a fallback.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourceEventSerializationBenchmark {
+    @Param({"10", "100", "1000"})
+    private int characteristics;
+    private ObjectMapper objectMapper;
+    private ResourceEvent event;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() throws IOException {
+        objectMapper = new ObjectMapper();
+        event = ResourceEvent.snapshot(BenchmarkData.resource(1L, characteristics));
+        json = objectMapper.writeValueAsBytes(event);
+        binary = ResourceEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() throws IOException {
+        return objectMapper.writeValueAsBytes(event);
+    }
+
+    @Benchmark
+    public ResourceEvent jsonDecode() throws IOException {
+        return objectMapper.readValue(json, ResourceEvent.class);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return ResourceEventCodec.encode(event);
+    }
+
+    @Benchmark
+    public ResourceEvent binaryDecode() {
+        return ResourceEventCodec.decode(binary);
+    }
+}
@@ -0,0 +1,142 @@
+package com.test.benchmarks;
+
+import com.test.api.cache.ResourceCache;
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventPublisher;
+import com.test.api.event.ResourceEventSerializer;
+import com.test.api.geo.ResourceGeoIndex;
+import com.test.api.mapper.RequestMapper;
+import com.test.api.model.Resource;
+import com.test.api.model.dto.request.ResourceRequestDto;
+import com.test.api.outbox.OutboxWriter;
+import com.test.api.reference.ReferenceInterner;
+import com.test.api.repository.ResourceSearchRepository;
+import com.test.api.repository.ResourceStatsRepository;
+import com.test.api.stats.ResourceStatsCounter;
+import com.test.api.service.impl.ResourcesServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.mock.MockProducerFactory;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ReflectionUtils;
+import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Measures the service itself: repositories are in-memory and Kafka sends go to a MockProducer.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResourcesServiceBenchmark {
+    public static final int PRELOADED = 1_000;
+    public static final int BATCH_SIZE = 100;
+    public static final int BULK_CHUNK_SIZE = 1_000;
+    @Param({"10", "100"})
+    private int characteristics;
+    private ResourcesServiceImpl service;
+    private Map<Long, Resource> store;
+    private Resource template;
+    private ResourceRequestDto toFi;
+    private ResourceRequestDto toEe;
+    private long nextId;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        store = new ConcurrentHashMap<>();
+        // KafkaTemplate closes non-transactional producers after every send, so each send gets a fresh one
+        KafkaTemplate<String, ResourceEvent> kafkaTemplate = new KafkaTemplate<>(new MockProducerFactory<>(
+                () -> new MockProducer<>(true, new StringSerializer(), new ResourceEventSerializer())));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        ResourceCache resourceCache = new ResourceCache(new ResourceEventPublisher(kafkaTemplate, meterRegistry,
+                10_000, 100), meterRegistry, 10_000, Duration.ofSeconds(30));
+        ResourceStatsRepository resourceStats = InMemoryRepositories.resourceStats();
+        service = new ResourcesServiceImpl(Mappers.getMapper(RequestMapper.class),
+                InMemoryRepositories.resources(store), new OutboxWriter(InMemoryRepositories.outbox()),
+                new ImmediateTransactionTemplate(), resourceCache,
+                new ReferenceInterner(InMemoryRepositories.referenceData(), meterRegistry, 100_000),
+                new ResourceGeoIndex(InMemoryRepositories.resources(store), new ImmediateTransactionTemplate(), 0.01),
+                new ResourceSearchRepository(null, 0.3),
+                new ResourceStatsCounter(resourceStats, null, 16), resourceStats);
+        Field chunkSize = ReflectionUtils.findField(ResourcesServiceImpl.class, "bulkChunkSize");
+        ReflectionUtils.makeAccessible(chunkSize);
+        ReflectionUtils.setField(chunkSize, service, BULK_CHUNK_SIZE);
+
+        template = BenchmarkData.resource(null, characteristics);
+        for (int i = 0; i < PRELOADED; i++) {
+            service.add(newResource());
+        }
+        toFi = new ResourceRequestDto();
+        toFi.setCountryCode(BenchmarkData.FI);
+        toEe = new ResourceRequestDto();
+        toEe.setCountryCode(BenchmarkData.EE);
+        nextId = 0;
+    }
+
+    @Benchmark
+    public Resource add() {
+        return service.add(newResource());
+    }
+
+    @Benchmark
+    public List<Resource> addAll() {
+        List<Resource> resources = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            resources.add(newResource());
+        }
+        return service.addAll(resources);
+    }
+
+    @Benchmark
+    public Resource getCached() {
+        return service.get(nextPreloadedId());
+    }
+
+    @Benchmark
+    public Resource updatePartial() {
+        // flips the country code so every call produces a delta event and a cache invalidation
+        long id = nextPreloadedId();
+        ResourceRequestDto patch = BenchmarkData.EE.equals(store.get(id).getCountryCode()) ? toFi : toEe;
+        return service.updatePartial(patch, id, null);
+    }
+
+    private Resource newResource() {
+        return new Resource(null, template.getResourceType(), template.getCountryCode(), template.getLocation(),
+                new ArrayList<>(template.getCharacteristics()), null);
+    }
+
+    private long nextPreloadedId() {
+        nextId = nextId % PRELOADED + 1;
+        return nextId;
+    }
+
+    private static class ImmediateTransactionTemplate extends TransactionTemplate {
+        @Override
+        public <T> T execute(TransactionCallback<T> action) {
+            return action.doInTransaction(new SimpleTransactionStatus());
+        }
+    }
+}
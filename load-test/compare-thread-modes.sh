@@ -0,0 +1,23 @@
+#!/usr/bin/env bash
+# Runs the same open-loop load against a local resource-service with platform threads and then with the
+# virtual-threads profile. The near cache is turned off and GETs spread over 20000 seeded resources, so every read
+# reaches the database. Reports go to load-test/target/load-test-reports/<timestamp>-<mode>.
+# Options are passed through to both runs, e.g. ./load-test/compare-thread-modes.sh --rate=2000 --duration=120
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+./mvnw -q -B -pl load-test -am package -DskipTests -Dliquibase.skip=true
+cd load-test
+RUN_ID=$(date +%Y%m%d-%H%M%S)
+
+run_mode() {
+    local mode=$1 profiles=$2
+    shift 2
+    echo "== $mode threads"
+    java -jar target/load-test-0.0.1-SNAPSHOT.jar --seed-resources=20000 --mix=get=80,add=20 \
+        --service.spring.profiles.active="$profiles" --service.resource.cache.maximum-size=0 \
+        --output="target/load-test-reports/$RUN_ID-$mode" "$@"
+}
+
+run_mode platform default "$@"
+run_mode virtual virtual-threads "$@"
@@ -0,0 +1,9 @@
+#!/usr/bin/env bash
+# Builds the load-test jar and runs it; reports go to load-test/target/load-test-reports/<timestamp>.
+# Options are passed through, e.g. ./load-test/run-load-test.sh --rate=500 --duration=300 --mix=get=80,add=20
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+./mvnw -q -B -pl load-test -am package -DskipTests -Dliquibase.skip=true
+cd load-test
+java -jar target/load-test-0.0.1-SNAPSHOT.jar "$@"
@@ -0,0 +1,31 @@
+package com.test.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import java.util.concurrent.atomic.LongAdder;
+
+@Getter
+@RequiredArgsConstructor
+public class EndpointStats {
+    public static final int SIGNIFICANT_DIGITS = 3;
+    private final Operation operation;
+    // measured from the scheduled send time, so a stalled server is charged for the requests it held back
+    private final Histogram responseTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    // measured from the actual send time, what a closed-loop client would report
+    private final Histogram serviceTime = new ConcurrentHistogram(SIGNIFICANT_DIGITS);
+    private final LongAdder errors = new LongAdder();
+
+    public void record(long responseTimeNanos, long serviceTimeNanos, boolean success) {
+        responseTime.recordValue(responseTimeNanos);
+        serviceTime.recordValue(serviceTimeNanos);
+        if (!success) {
+            errors.increment();
+        }
+    }
+
+    public long getCount() {
+        return responseTime.getTotalCount();
+    }
+}
@@ -0,0 +1,41 @@
+package com.test.loadtest;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.OptionalLong;
+import java.util.Random;
+
+// Ids of resources known to exist, so reads and updates hit real rows and deletes don't delete twice.
+public class IdPool {
+    private long[] ids = new long[1024];
+    private int size;
+
+    public synchronized void add(long id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        ids[size++] = id;
+    }
+
+    public synchronized void addAll(Collection<Long> newIds) {
+        newIds.forEach(this::add);
+    }
+
+    public synchronized OptionalLong pick(Random random) {
+        return size == 0 ? OptionalLong.empty() : OptionalLong.of(ids[random.nextInt(size)]);
+    }
+
+    public synchronized OptionalLong take(Random random) {
+        if (size == 0) {
+            return OptionalLong.empty();
+        }
+        int index = random.nextInt(size);
+        long id = ids[index];
+        ids[index] = ids[--size];
+        return OptionalLong.of(id);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,178 @@
+package com.test.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.api.controller.ResourceController;
+import com.test.api.model.dto.response.BulkResponseDto;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+// Open-loop generator: requests are scheduled at a fixed rate and latency is measured from the scheduled time,
+// so when the service stalls the requests that should have been sent meanwhile still count as slow
+// (no coordinated omission). max-in-flight only bounds client memory, waiting for it is part of the latency.
+public class LoadGenerator {
+    public static final Logger logger = LogManager.getLogger(LoadGenerator.class);
+    public static final String RESOURCES = "/resources";
+    public static final String ID = "id";
+    public static final int SEED_CHUNK_SIZE = 500;
+    public static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+    private static final String[] COUNTRY_CODES = {"EE", "FI", "LV", "LT"};
+    private static final String RESOURCE_JSON = """
+            {"resourceType":"METERING_POINT","countryCode":"%s",
+             "location":{"streetAddress":"Rand tee 1","city":"Tallinn","postalCode":10001,"countryCode":"%s"},
+             "characteristics":[{"code":"1","characteristicType":"CONSUMPTION_TYPE","characteristicValue":"%d"}]}
+            """;
+    private static final String PATCH_JSON = """
+            {"resourceType":"METERING_POINT","countryCode":"%s"}
+            """;
+    private final LoadTestConfig config;
+    private final String baseUrl;
+    private final HttpClient http;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final IdPool ids = new IdPool();
+    private final Map<Operation, EndpointStats> stats = new EnumMap<>(Operation.class);
+    private final Semaphore inFlight;
+    private final Random random = new Random();
+
+    public LoadGenerator(LoadTestConfig config, String baseUrl) {
+        this.config = config;
+        this.baseUrl = baseUrl;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        this.inFlight = new Semaphore(config.getMaxInFlight());
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new EndpointStats(operation));
+        }
+    }
+
+    public void seed() throws IOException, InterruptedException {
+        for (int created = 0; created < config.getSeedResources(); created += SEED_CHUNK_SIZE) {
+            int chunkSize = Math.min(SEED_CHUNK_SIZE, config.getSeedResources() - created);
+            List<String> resources = new ArrayList<>(chunkSize);
+            for (int i = 0; i < chunkSize; i++) {
+                resources.add(resourceJson());
+            }
+            HttpRequest request = json(RESOURCES + "/bulk")
+                    .POST(HttpRequest.BodyPublishers.ofString("[" + String.join(",", resources) + "]"))
+                    .build();
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("Seeding failed with status " + response.statusCode() + ": "
+                        + response.body());
+            }
+            ids.addAll(objectMapper.readValue(response.body(), BulkResponseDto.class).getIds());
+        }
+        logger.info("Seeded {} resources", ids.size());
+    }
+
+    public Map<Operation, EndpointStats> run() throws InterruptedException {
+        long start = System.nanoTime();
+        long measureFrom = start + config.getWarmup().toNanos();
+        long end = measureFrom + config.getDuration().toNanos();
+        logger.info("Sending {} requests/s for {}s of warmup and {}s of measurement", config.getRate(),
+                config.getWarmup().toSeconds(), config.getDuration().toSeconds());
+        for (long i = 0; ; i++) {
+            long scheduled = start + Math.round(i * NANOS_PER_SECOND / config.getRate());
+            if (scheduled >= end) {
+                break;
+            }
+            waitUntil(scheduled);
+            Operation operation = config.nextOperation(random);
+            OptionalLong id = OptionalLong.empty();
+            if (operation.isNeedsId()) {
+                id = operation == Operation.DELETE ? ids.take(random) : ids.pick(random);
+                if (id.isEmpty()) {
+                    operation = Operation.ADD;
+                }
+            }
+            send(operation, request(operation, id), scheduled, measureFrom);
+        }
+        inFlight.acquire(config.getMaxInFlight());
+        inFlight.release(config.getMaxInFlight());
+        return stats;
+    }
+
+    private void send(Operation operation, HttpRequest request, long scheduled, long measureFrom)
+            throws InterruptedException {
+        inFlight.acquire();
+        long sent = System.nanoTime();
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofString()).whenComplete((response, ex) -> {
+            long completed = System.nanoTime();
+            inFlight.release();
+            boolean success = ex == null && response.statusCode() / 100 == 2;
+            if (success && operation == Operation.ADD) {
+                track(response.body());
+            }
+            if (scheduled >= measureFrom) {
+                stats.get(operation).record(completed - scheduled, completed - sent, success);
+            }
+        });
+    }
+
+    private HttpRequest request(Operation operation, OptionalLong id) {
+        String path = RESOURCES + (id.isPresent() ? "/" + id.getAsLong() : "");
+        return switch (operation) {
+            case ADD -> json(RESOURCES + "/add").POST(HttpRequest.BodyPublishers.ofString(resourceJson())).build();
+            case GET -> request(path).GET().build();
+            case PUT -> json(path).PUT(HttpRequest.BodyPublishers.ofString(resourceJson())).build();
+            case PATCH -> json(path).method("PATCH",
+                    HttpRequest.BodyPublishers.ofString(PATCH_JSON.formatted(countryCode()))).build();
+            case DELETE -> request(path).DELETE().build();
+            case SEND_ALL -> request(RESOURCES + "/sendAll").GET().build();
+        };
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(REQUEST_TIMEOUT);
+    }
+
+    private HttpRequest.Builder json(String path) {
+        return request(path).header("Content-Type", "application/json");
+    }
+
+    private String resourceJson() {
+        String countryCode = countryCode();
+        return RESOURCE_JSON.formatted(countryCode, countryCode, random.nextInt(1000));
+    }
+
+    private String countryCode() {
+        return COUNTRY_CODES[random.nextInt(COUNTRY_CODES.length)];
+    }
+
+    private void track(String body) {
+        try {
+            JsonNode data = objectMapper.readTree(body).path(ResourceController.DATA);
+            if (data.isArray() && !data.isEmpty()) {
+                ids.add(data.get(0).path(ID).asLong());
+            }
+        } catch (IOException ex) {
+            logger.warn("Cannot read the id of a created resource", ex);
+        }
+    }
+
+    private static void waitUntil(long nanoTime) {
+        long remaining;
+        while ((remaining = nanoTime - System.nanoTime()) > 0) {
+            LockSupport.parkNanos(remaining);
+        }
+    }
+}
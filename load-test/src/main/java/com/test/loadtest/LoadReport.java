@@ -0,0 +1,57 @@
+package com.test.loadtest;
+
+import org.HdrHistogram.Histogram;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+// One line per endpoint plus HdrHistogram percentile distributions (.hgrm, in milliseconds) for plotting.
+public final class LoadReport {
+    public static final double NANOS_PER_MILLI = 1_000_000.0;
+    public static final String SUMMARY_FILE = "summary.txt";
+    public static final String RESPONSE_TIME_SUFFIX = ".hgrm";
+    public static final String SERVICE_TIME_SUFFIX = "-service.hgrm";
+    private static final String HEADER = "%-24s %9s %7s %9s %9s %9s %9s %9s %9s %9s%n";
+    private static final String ROW = "%-24s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n";
+
+    private LoadReport() {
+    }
+
+    public static void write(Map<Operation, EndpointStats> stats, LoadTestConfig config, PrintStream console)
+            throws IOException {
+        Files.createDirectories(config.getOutput());
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format(HEADER, "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms",
+                "p99 ms", "p99.9 ms", "p99.99 ms", "max ms"));
+        double seconds = config.getDuration().toMillis() / 1000.0;
+        for (EndpointStats endpoint : stats.values()) {
+            if (endpoint.getCount() == 0) {
+                continue;
+            }
+            Histogram responseTime = endpoint.getResponseTime();
+            summary.append(String.format(ROW, endpoint.getOperation().getEndpoint(), endpoint.getCount(),
+                    endpoint.getErrors().sum(), endpoint.getCount() / seconds,
+                    millis(responseTime, 50), millis(responseTime, 90), millis(responseTime, 99),
+                    millis(responseTime, 99.9), millis(responseTime, 99.99),
+                    responseTime.getMaxValue() / NANOS_PER_MILLI));
+            String key = endpoint.getOperation().getKey();
+            writeDistribution(config.getOutput().resolve(key + RESPONSE_TIME_SUFFIX), responseTime);
+            writeDistribution(config.getOutput().resolve(key + SERVICE_TIME_SUFFIX), endpoint.getServiceTime());
+        }
+        Files.writeString(config.getOutput().resolve(SUMMARY_FILE), summary);
+        console.print(summary);
+        console.println("Percentile distributions written to " + config.getOutput().toAbsolutePath());
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / NANOS_PER_MILLI;
+    }
+
+    private static void writeDistribution(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, NANOS_PER_MILLI);
+        }
+    }
+}
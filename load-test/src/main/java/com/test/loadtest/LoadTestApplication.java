@@ -0,0 +1,24 @@
+package com.test.loadtest;
+
+// Starts resource-service on embedded PostgreSQL and Kafka (or uses --target=http://host:port) and drives it
+// with the configured request mix. See LoadTestConfig for the options.
+public class LoadTestApplication {
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.parse(args);
+		if (config.getTarget() != null) {
+			run(config, config.getTarget());
+			return;
+		}
+		try (LocalEnvironment environment = LocalEnvironment.start(config.getServiceArgs())) {
+			run(config, environment.getBaseUrl());
+		}
+	}
+
+	private static void run(LoadTestConfig config, String baseUrl) throws Exception {
+		LoadGenerator generator = new LoadGenerator(config, baseUrl);
+		generator.seed();
+		LoadReport.write(generator.run(), config, System.out);
+	}
+
+}
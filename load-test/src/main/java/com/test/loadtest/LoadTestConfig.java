@@ -0,0 +1,113 @@
+package com.test.loadtest;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+@Getter
+public class LoadTestConfig {
+    public static final String TARGET = "target";
+    public static final String RATE = "rate";
+    public static final String WARMUP = "warmup";
+    public static final String DURATION = "duration";
+    public static final String MIX = "mix";
+    public static final String SEED_RESOURCES = "seed-resources";
+    public static final String MAX_IN_FLIGHT = "max-in-flight";
+    public static final String OUTPUT = "output";
+    // --service.<property>=<value> is passed to the local resource-service as --<property>=<value>
+    public static final String SERVICE_PREFIX = "service.";
+    public static final String DEFAULT_MIX = "get=60,add=15,put=10,patch=10,delete=5,sendAll=0";
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final String target;
+    private final int rate;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+    private final int seedResources;
+    private final int maxInFlight;
+    private final Path output;
+    private final List<String> serviceArgs;
+    @Getter(AccessLevel.NONE)
+    private final Operation[] operations;
+    @Getter(AccessLevel.NONE)
+    private final int[] cumulativeWeights;
+
+    private LoadTestConfig(Map<String, String> options) {
+        target = options.get(TARGET);
+        rate = Integer.parseInt(options.getOrDefault(RATE, "200"));
+        warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault(WARMUP, "30")));
+        duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault(DURATION, "120")));
+        mix = parseMix(options.getOrDefault(MIX, DEFAULT_MIX));
+        seedResources = Integer.parseInt(options.getOrDefault(SEED_RESOURCES, "1000"));
+        maxInFlight = Integer.parseInt(options.getOrDefault(MAX_IN_FLIGHT, "1000"));
+        output = Path.of(options.getOrDefault(OUTPUT,
+                "target/load-test-reports/" + LocalDateTime.now().format(RUN_ID)));
+        serviceArgs = options.entrySet().stream()
+                .filter(option -> option.getKey().startsWith(SERVICE_PREFIX))
+                .map(option -> "--" + option.getKey().substring(SERVICE_PREFIX.length()) + "=" + option.getValue())
+                .sorted()
+                .toList();
+        if (rate <= 0 || maxInFlight <= 0) {
+            throw new IllegalArgumentException(RATE + " and " + MAX_IN_FLIGHT + " must be positive");
+        }
+        operations = mix.keySet().toArray(Operation[]::new);
+        cumulativeWeights = new int[operations.length];
+        int total = 0;
+        for (int i = 0; i < operations.length; i++) {
+            total += mix.get(operations[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException(MIX + " needs at least one operation with a positive weight");
+        }
+    }
+
+    // arguments look like --rate=500 --mix=get=80,add=20
+    public static LoadTestConfig parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int separator = option.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected --name=value but got " + arg);
+            }
+            options.put(option.substring(0, separator), option.substring(separator + 1));
+        }
+        return new LoadTestConfig(options);
+    }
+
+    public Operation nextOperation(Random random) {
+        int value = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (value < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Weight " + value + " is outside of the mix");
+    }
+
+    private static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : value.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected operation=weight in " + MIX + " but got " + entry);
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Weight of " + parts[0] + " must not be negative");
+            }
+            weights.put(Operation.fromKey(parts[0].trim()), weight);
+        }
+        return weights;
+    }
+}
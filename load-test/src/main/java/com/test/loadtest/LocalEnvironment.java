@@ -0,0 +1,93 @@
+package com.test.loadtest;
+
+import com.test.api.ResourceApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+// resource-service in this JVM, backed by an embedded PostgreSQL and a single in-process Kafka broker.
+public class LocalEnvironment implements AutoCloseable {
+    public static final Logger logger = LogManager.getLogger(LocalEnvironment.class);
+    public static final String SUPERUSER = "postgres";
+    public static final String DATABASE = "resources";
+    // the role application.properties connects as, and the owner the changelogs hand every table and sequence to
+    public static final String USER = "sa";
+    public static final String PASSWORD = "sa";
+    private final EmbeddedPostgres postgres;
+    private final EmbeddedKafkaKraftBroker kafka;
+    private final ConfigurableApplicationContext context;
+
+    private LocalEnvironment(EmbeddedPostgres postgres, EmbeddedKafkaKraftBroker kafka,
+                             ConfigurableApplicationContext context) {
+        this.postgres = postgres;
+        this.kafka = kafka;
+        this.context = context;
+    }
+
+    public static LocalEnvironment start() throws IOException, SQLException {
+        return start(List.of());
+    }
+
+    // serviceArgs are further --name=value properties for resource-service, e.g. the profiles to run with
+    public static LocalEnvironment start(List<String> serviceArgs) throws IOException, SQLException {
+        EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+        createDatabase(postgres);
+        EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1);
+        kafka.afterPropertiesSet();
+        logger.info("Started embedded PostgreSQL on port {} and Kafka at {}", postgres.getPort(),
+                kafka.getBrokersAsString());
+        // command line arguments, so they win over the application.properties packaged with resource-service
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl(USER, DATABASE),
+                "--spring.datasource.username=" + USER,
+                "--spring.datasource.password=" + PASSWORD,
+                "--spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                "--spring.jpa.show-sql=false"));
+        args.addAll(serviceArgs);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(ResourceApplication.class)
+                .run(args.toArray(String[]::new));
+        return new LocalEnvironment(postgres, kafka, context);
+    }
+
+    // The embedded cluster only has the postgres superuser. Liquibase runs as sa, so sa needs to exist and own the
+    // database; pg_trgm is created up front because not every PostgreSQL version lets a database owner create it.
+    private static void createDatabase(EmbeddedPostgres postgres) throws SQLException {
+        execute(postgres.getPostgresDatabase(),
+                "CREATE ROLE " + USER + " LOGIN PASSWORD '" + PASSWORD + "'",
+                "CREATE DATABASE " + DATABASE + " OWNER " + USER);
+        execute(postgres.getDatabase(SUPERUSER, DATABASE),
+                "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+                "ALTER SCHEMA public OWNER TO " + USER);
+    }
+
+    private static void execute(DataSource dataSource, String... sqls) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            for (String sql : sqls) {
+                statement.execute(sql);
+            }
+        }
+    }
+
+    public String getBaseUrl() {
+        return "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+    }
+
+    @Override
+    public void close() throws IOException {
+        context.close();
+        kafka.destroy();
+        postgres.close();
+    }
+}
@@ -0,0 +1,28 @@
+package com.test.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum Operation {
+    ADD("add", "POST /resources/add", false),
+    GET("get", "GET /resources/{id}", true),
+    PUT("put", "PUT /resources/{id}", true),
+    PATCH("patch", "PATCH /resources/{id}", true),
+    DELETE("delete", "DELETE /resources/{id}", true),
+    SEND_ALL("sendAll", "GET /resources/sendAll", false);
+
+    private final String key;
+    private final String endpoint;
+    private final boolean needsId;
+
+    public static Operation fromKey(String key) {
+        for (Operation operation : values()) {
+            if (operation.key.equalsIgnoreCase(key)) {
+                return operation;
+            }
+        }
+        throw new IllegalArgumentException("Unknown operation " + key);
+    }
+}
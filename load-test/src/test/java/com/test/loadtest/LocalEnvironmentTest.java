@@ -0,0 +1,26 @@
+package com.test.loadtest;
+
+import org.junit.jupiter.api.Test;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LocalEnvironmentTest {
+    public static final String[] SHORT_RUN = {
+            "--rate=20", "--warmup=0", "--duration=2", "--seed-resources=20",
+            "--mix=get=70,add=30,put=0,patch=0,delete=0,sendAll=0"};
+
+    @Test
+    void start_ShouldMigrateDatabaseAndServeReadsAndWrites() throws Exception {
+        try (LocalEnvironment environment = LocalEnvironment.start()) {
+            LoadGenerator generator = new LoadGenerator(LoadTestConfig.parse(SHORT_RUN), environment.getBaseUrl());
+            generator.seed();
+            Map<Operation, EndpointStats> stats = generator.run();
+
+            assertTrue(stats.values().stream().mapToLong(EndpointStats::getCount).sum() > 0);
+            for (EndpointStats endpoint : stats.values()) {
+                assertEquals(0L, endpoint.getErrors().sum(), endpoint.getOperation() + " failed");
+            }
+        }
+    }
+}
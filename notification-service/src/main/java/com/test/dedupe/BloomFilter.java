@@ -0,0 +1,67 @@
+package com.test.dedupe;
+
+class BloomFilter {
+    private final long[] bits;
+    private final long numBits;
+    private final int hashes;
+    private final int expectedInsertions;
+    private long bitCount;
+    private int insertions;
+
+    BloomFilter(int expectedInsertions, double fpp) {
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.max(1, (optimalBits + 63) / 64)];
+        this.numBits = bits.length * 64L;
+        this.hashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.expectedInsertions = expectedInsertions;
+    }
+
+    boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((bits[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void put(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, numBits);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                bitCount++;
+            }
+        }
+        insertions++;
+    }
+
+    boolean isFull() {
+        return insertions >= expectedInsertions;
+    }
+
+    // probability that a key never inserted is reported as present, from the current fill ratio
+    double expectedFpp() {
+        return Math.pow((double) bitCount / numBits, hashes);
+    }
+
+    long memoryBytes() {
+        return (long) bits.length * Long.BYTES;
+    }
+
+    static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        key *= 0xc4ceb9fe1a85ec53L;
+        key ^= key >>> 33;
+        return key;
+    }
+}
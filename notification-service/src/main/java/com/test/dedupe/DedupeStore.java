@@ -0,0 +1,105 @@
+package com.test.dedupe;
+
+import com.test.event.ResourceEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Remembers (recipient, resource id, version) of delivered events. Recent keys live in an exact LRU, keys
+// evicted from it go to a Bloom filter; the filter has two generations so history and memory stay bounded.
+@Component
+public class DedupeStore {
+    public static final String METRIC_SKIPPED = "notification.dedupe.skipped";
+    public static final String METRIC_PASSED = "notification.dedupe.passed";
+    public static final String METRIC_FPP = "notification.dedupe.bloom.fpp";
+    public static final String METRIC_MEMORY = "notification.dedupe.memory.bytes";
+    public static final String TAG_STORE = "store";
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongLruSet recent;
+    private final int bloomExpectedInsertions;
+    private final double bloomFpp;
+    private BloomFilter currentHistory;
+    private BloomFilter previousHistory;
+    private final Counter skippedRecent;
+    private final Counter skippedHistory;
+    private final Counter passed;
+
+    public DedupeStore(MeterRegistry meterRegistry,
+                       @Value("${notification.dedupe.lru-size:100000}") int lruSize,
+                       @Value("${notification.dedupe.bloom-expected-insertions:1000000}") int bloomExpectedInsertions,
+                       @Value("${notification.dedupe.bloom-fpp:0.001}") double bloomFpp) {
+        this.recent = new LongLruSet(lruSize, this::remember);
+        this.bloomExpectedInsertions = bloomExpectedInsertions;
+        this.bloomFpp = bloomFpp;
+        this.currentHistory = new BloomFilter(bloomExpectedInsertions, bloomFpp);
+        this.previousHistory = new BloomFilter(bloomExpectedInsertions, bloomFpp);
+        this.skippedRecent = Counter.builder(METRIC_SKIPPED).tag(TAG_STORE, "lru").register(meterRegistry);
+        this.skippedHistory = Counter.builder(METRIC_SKIPPED).tag(TAG_STORE, "bloom").register(meterRegistry);
+        this.passed = Counter.builder(METRIC_PASSED).register(meterRegistry);
+        Gauge.builder(METRIC_FPP, this, DedupeStore::falsePositiveRate)
+                .description("Estimated chance that a new event is wrongly skipped by the Bloom filter")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_MEMORY, this, DedupeStore::memoryBytes)
+                .description("Memory held by the dedupe LRU and Bloom filters")
+                .register(meterRegistry);
+    }
+
+    public boolean firstSeen(String recipient, ResourceEvent event) {
+        Long resourceId = event.resolveResourceId();
+        if (resourceId == null) {
+            return true;
+        }
+        long key = key(recipient, resourceId, fingerprint(event));
+        lock.lock();
+        try {
+            if (recent.touch(key)) {
+                skippedRecent.increment();
+                return false;
+            }
+            if (currentHistory.mightContain(key) || previousHistory.mightContain(key)) {
+                skippedHistory.increment();
+                return false;
+            }
+            recent.add(key);
+            passed.increment();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public double falsePositiveRate() {
+        return 1 - (1 - currentHistory.expectedFpp()) * (1 - previousHistory.expectedFpp());
+    }
+
+    public double memoryBytes() {
+        return recent.memoryBytes() + currentHistory.memoryBytes() + previousHistory.memoryBytes();
+    }
+
+    private void remember(long key) {
+        if (currentHistory.isFull()) {
+            previousHistory = currentHistory;
+            currentHistory = new BloomFilter(bloomExpectedInsertions, bloomFpp);
+        }
+        currentHistory.put(key);
+    }
+
+    // the version identifies the resource state; events without one fall back to a hash of their content
+    private static long fingerprint(ResourceEvent event) {
+        if (event.getVersion() != null) {
+            return event.getVersion();
+        }
+        if (event.getResource() != null && event.getResource().getVersion() != null) {
+            return event.getResource().getVersion();
+        }
+        return event.hashCode();
+    }
+
+    private static long key(String recipient, long resourceId, long fingerprint) {
+        long key = BloomFilter.mix(resourceId * 0x9E3779B97F4A7C15L + fingerprint);
+        return BloomFilter.mix(key ^ recipient.hashCode());
+    }
+}
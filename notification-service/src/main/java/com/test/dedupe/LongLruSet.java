@@ -0,0 +1,130 @@
+package com.test.dedupe;
+
+import java.util.function.LongConsumer;
+
+// Fixed-capacity LRU set of primitive longs: open addressing index over array-backed linked nodes, no boxing.
+class LongLruSet {
+    private static final int NONE = -1;
+    private final int capacity;
+    private final long[] keys;
+    private final int[] prev;
+    private final int[] next;
+    private final int[] table;
+    private final int mask;
+    private final LongConsumer evictionListener;
+    private int size;
+    private int head = NONE;
+    private int tail = NONE;
+
+    LongLruSet(int capacity, LongConsumer evictionListener) {
+        this.capacity = capacity;
+        this.keys = new long[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        int tableSize = Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1;
+        this.table = new int[tableSize];
+        this.mask = tableSize - 1;
+        this.evictionListener = evictionListener;
+    }
+
+    boolean touch(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        int node = table[slot] - 1;
+        unlink(node);
+        linkHead(node);
+        return true;
+    }
+
+    void add(long key) {
+        int node;
+        if (size == capacity) {
+            node = tail;
+            long evicted = keys[node];
+            removeSlot(find(evicted));
+            unlink(node);
+            evictionListener.accept(evicted);
+        } else {
+            node = size++;
+        }
+        keys[node] = key;
+        linkHead(node);
+        int slot = index(key);
+        while (table[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = node + 1;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long memoryBytes() {
+        return (long) keys.length * Long.BYTES + (long) (prev.length + next.length + table.length) * Integer.BYTES;
+    }
+
+    private int find(long key) {
+        int slot = index(key);
+        while (table[slot] != 0) {
+            if (keys[table[slot] - 1] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NONE;
+    }
+
+    // backward shift deletion keeps probe chains intact without tombstones
+    private void removeSlot(int slot) {
+        table[slot] = 0;
+        int hole = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (table[current] == 0) {
+                return;
+            }
+            int ideal = index(keys[table[current] - 1]);
+            boolean canMove = hole <= current
+                    ? ideal <= hole || ideal > current
+                    : ideal <= hole && ideal > current;
+            if (canMove) {
+                table[hole] = table[current];
+                table[current] = 0;
+                hole = current;
+            }
+        }
+    }
+
+    private void linkHead(int node) {
+        prev[node] = NONE;
+        next[node] = head;
+        if (head != NONE) {
+            prev[head] = node;
+        }
+        head = node;
+        if (tail == NONE) {
+            tail = node;
+        }
+    }
+
+    private void unlink(int node) {
+        if (prev[node] != NONE) {
+            next[prev[node]] = next[node];
+        } else {
+            head = next[node];
+        }
+        if (next[node] != NONE) {
+            prev[next[node]] = prev[node];
+        } else {
+            tail = prev[node];
+        }
+    }
+
+    private int index(long key) {
+        return (int) BloomFilter.mix(key) & mask;
+    }
+}
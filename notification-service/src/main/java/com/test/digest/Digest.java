@@ -0,0 +1,16 @@
+package com.test.digest;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.time.Instant;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class Digest {
+    private String recipient;
+    private Instant windowStart;
+    private Instant windowEnd;
+    private int eventCount;
+    private List<DigestEntry> entries;
+}
@@ -0,0 +1,109 @@
+package com.test.digest;
+
+import com.test.event.ResourceEvent;
+import com.test.service.NotificationService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class DigestAggregator {
+    public static final Logger logger = LogManager.getLogger(DigestAggregator.class);
+    public static final String METRIC_EVENTS = "notification.digest.events";
+    public static final String METRIC_ENTRIES = "notification.digest.entries";
+    public static final String METRIC_SENT = "notification.digest.sent";
+    public static final String METRIC_REDUCTION = "notification.digest.reduction.ratio";
+    private final NotificationService notificationService;
+    private final Duration window;
+    private final int maxResources;
+    private final Map<String, DigestWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong flushedEvents = new AtomicLong();
+    private final AtomicLong flushedEntries = new AtomicLong();
+    private final Counter events;
+    private final Counter sent;
+
+    public DigestAggregator(NotificationService notificationService,
+                            MeterRegistry meterRegistry,
+                            @Value("${notification.digest.window:30s}") Duration window,
+                            @Value("${notification.digest.max-resources:10000}") int maxResources) {
+        this.notificationService = notificationService;
+        this.window = window;
+        this.maxResources = maxResources;
+        this.events = Counter.builder(METRIC_EVENTS).register(meterRegistry);
+        this.sent = Counter.builder(METRIC_SENT).register(meterRegistry);
+        Gauge.builder(METRIC_ENTRIES, flushedEntries, AtomicLong::get)
+                .description("Resources reported in sent digests")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_REDUCTION, this, DigestAggregator::reductionRatio)
+                .description("Events received per resource entry sent")
+                .register(meterRegistry);
+    }
+
+    // a window is sent when it gets old enough or holds max-resources distinct resources, which bounds memory;
+    // the event's partition and offset stay held until the digest carrying it has been sent
+    public void add(String recipient, ResourceEvent event, TopicPartition partition, long offset) {
+        events.increment();
+        Long resourceId = event.resolveResourceId();
+        if (resourceId == null) {
+            return;
+        }
+        DigestWindow digestWindow = windows.computeIfAbsent(recipient, DigestWindow::new);
+        send(digestWindow, digestWindow.add(resourceId, event, partition, offset, maxResources, Instant.now()));
+    }
+
+    @Scheduled(fixedDelayString = "${notification.digest.check-interval-ms:1000}")
+    public void flushExpired() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minus(window);
+        windows.values().forEach(digestWindow -> send(digestWindow, digestWindow.drainIfOpenedBefore(cutoff, now)));
+    }
+
+    @PreDestroy
+    public void flushAll() {
+        Instant now = Instant.now();
+        windows.values().forEach(digestWindow -> send(digestWindow, digestWindow.drain(now)));
+    }
+
+    // the consumer may commit a partition up to, not including, the lowest offset a window still holds
+    public Map<TopicPartition, Long> lowestHeldOffsets() {
+        Map<TopicPartition, Long> lowest = new HashMap<>();
+        windows.values().forEach(digestWindow -> digestWindow.collectLowestOffsets(lowest));
+        return lowest;
+    }
+
+    public double reductionRatio() {
+        long entries = flushedEntries.get();
+        return entries == 0 ? 1.0 : (double) flushedEvents.get() / entries;
+    }
+
+    // a digest that cannot be sent is dropped and its offsets released, a retry would hold back every commit
+    private void send(DigestWindow digestWindow, Digest digest) {
+        if (digest == null) {
+            return;
+        }
+        try {
+            notificationService.sendDigest(digest);
+            sent.increment();
+            flushedEvents.addAndGet(digest.getEventCount());
+            flushedEntries.addAndGet(digest.getEntries().size());
+        } catch (RuntimeException ex) {
+            logger.warn("Cannot send digest to {} with {} resources", digest.getRecipient(),
+                    digest.getEntries().size(), ex);
+        } finally {
+            digestWindow.release(digest);
+        }
+    }
+}
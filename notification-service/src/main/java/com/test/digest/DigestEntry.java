@@ -0,0 +1,86 @@
+package com.test.digest;
+
+import com.test.event.FieldChange;
+import com.test.event.ResourceChangeType;
+import com.test.event.ResourceEvent;
+import com.test.model.Characteristic;
+import com.test.model.Resource;
+import lombok.Getter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+@Getter
+public class DigestEntry {
+    private final Long resourceId;
+    private ResourceChangeType changeType;
+    private Long version;
+    private Resource resource;
+    private final Map<String, FieldChange> changes = new LinkedHashMap<>();
+    private final List<Characteristic> addedCharacteristics = new ArrayList<>();
+    private final List<Characteristic> removedCharacteristics = new ArrayList<>();
+    private int eventCount;
+
+    public DigestEntry(Long resourceId) {
+        this.resourceId = resourceId;
+    }
+
+    // a field changed several times in one window is reported once, from its first old to its last new value
+    void merge(ResourceEvent event) {
+        if (version != null && event.getVersion() != null && event.getVersion() < version) {
+            return;
+        }
+        eventCount++;
+        version = event.getVersion();
+        changeType = changeType == ResourceChangeType.CREATED && event.getChangeType() == ResourceChangeType.UPDATED
+                ? ResourceChangeType.CREATED : event.getChangeType();
+        if (event.getResource() != null) {
+            resource = event.getResource();
+        }
+        if (event.getChanges() != null) {
+            for (FieldChange change : event.getChanges()) {
+                FieldChange previous = changes.get(change.getField());
+                String oldValue = previous == null ? change.getOldValue() : previous.getOldValue();
+                if (Objects.equals(oldValue, change.getNewValue())) {
+                    changes.remove(change.getField());
+                } else {
+                    changes.put(change.getField(), new FieldChange(change.getField(), oldValue, change.getNewValue()));
+                }
+            }
+        }
+        if (event.getAddedCharacteristics() != null) {
+            event.getAddedCharacteristics().forEach(characteristic ->
+                    netChange(characteristic, removedCharacteristics, addedCharacteristics));
+        }
+        if (event.getRemovedCharacteristics() != null) {
+            event.getRemovedCharacteristics().forEach(characteristic ->
+                    netChange(characteristic, addedCharacteristics, removedCharacteristics));
+        }
+    }
+
+    // a characteristic added and removed again in one window, or the other way round, is no change at all
+    private static void netChange(Characteristic characteristic, List<Characteristic> undone,
+                                  List<Characteristic> changed) {
+        List<Object> key = key(characteristic);
+        Iterator<Characteristic> iterator = undone.iterator();
+        while (iterator.hasNext()) {
+            if (key(iterator.next()).equals(key)) {
+                iterator.remove();
+                return;
+            }
+        }
+        if (changed.stream().noneMatch(other -> key(other).equals(key))) {
+            changed.add(characteristic);
+        }
+    }
+
+    // the same content the producer diffs characteristics by
+    private static List<Object> key(Characteristic characteristic) {
+        return Arrays.asList(characteristic.getCode(), characteristic.getCharacteristicType(),
+                characteristic.getCharacteristicValue());
+    }
+}
@@ -0,0 +1,62 @@
+package com.test.digest;
+
+import com.test.event.ResourceEvent;
+import org.apache.kafka.common.TopicPartition;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+class DigestWindow {
+    private final String recipient;
+    private Map<Long, DigestEntry> entries = new LinkedHashMap<>();
+    // lowest offset per partition among the events in the window, and in drained digests not yet sent
+    private Map<TopicPartition, Long> lowestOffsets = new HashMap<>();
+    private final Map<Digest, Map<TopicPartition, Long>> unsent = new IdentityHashMap<>();
+    private Instant openedAt;
+    private int eventCount;
+
+    DigestWindow(String recipient) {
+        this.recipient = recipient;
+    }
+
+    synchronized Digest add(Long resourceId, ResourceEvent event, TopicPartition partition, long offset,
+                            int maxResources, Instant now) {
+        if (openedAt == null) {
+            openedAt = now;
+        }
+        entries.computeIfAbsent(resourceId, DigestEntry::new).merge(event);
+        lowestOffsets.merge(partition, offset, Math::min);
+        eventCount++;
+        return entries.size() >= maxResources ? drain(now) : null;
+    }
+
+    synchronized Digest drainIfOpenedBefore(Instant cutoff, Instant now) {
+        return openedAt != null && openedAt.isBefore(cutoff) ? drain(now) : null;
+    }
+
+    synchronized Digest drain(Instant now) {
+        if (entries.isEmpty()) {
+            return null;
+        }
+        Digest digest = new Digest(recipient, openedAt, now, eventCount, new ArrayList<>(entries.values()));
+        unsent.put(digest, lowestOffsets);
+        entries = new LinkedHashMap<>();
+        lowestOffsets = new HashMap<>();
+        openedAt = null;
+        eventCount = 0;
+        return digest;
+    }
+
+    synchronized void release(Digest digest) {
+        unsent.remove(digest);
+    }
+
+    synchronized void collectLowestOffsets(Map<TopicPartition, Long> into) {
+        lowestOffsets.forEach((partition, offset) -> into.merge(partition, offset, Math::min));
+        unsent.values().forEach(offsets ->
+                offsets.forEach((partition, offset) -> into.merge(partition, offset, Math::min)));
+    }
+}
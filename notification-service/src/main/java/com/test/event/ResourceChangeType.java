@@ -0,0 +1,8 @@
+package com.test.event;
+
+public enum ResourceChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    SNAPSHOT
+}
@@ -1,13 +1,30 @@
 package com.test.event;
 
+import com.test.events.ResourceEventFields;
+import com.test.model.Characteristic;
 import com.test.model.Resource;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.util.List;
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ResourceEvent {
+public class ResourceEvent implements ResourceEventFields<ResourceChangeType, Resource, FieldChange, Characteristic> {
+    private ResourceChangeType changeType;
+    private Long resourceId;
+    private Long version;
     private Resource resource;
+    private List<FieldChange> changes;
+    private List<Characteristic> addedCharacteristics;
+    private List<Characteristic> removedCharacteristics;
+
+    // deltas carry only the id, snapshots and events from older producers only the resource
+    public Long resolveResourceId() {
+        if (resourceId != null) {
+            return resourceId;
+        }
+        return resource != null ? resource.getId() : null;
+    }
 }
@@ -0,0 +1,41 @@
+package com.test.event;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.events.ResourceEventFormat;
+import com.test.model.Characteristic;
+import com.test.model.CharacteristicType;
+import com.test.model.Location;
+import com.test.model.Resource;
+import com.test.model.ResourceType;
+import java.io.IOException;
+import static com.test.events.ResourceEventSchema.isBinary;
+
+// The field mapping lives in resource-events and is shared with the other side of the topic.
+public final class ResourceEventCodec {
+    private static final ResourceEventFormat<ResourceEvent, ResourceChangeType, Resource, ResourceType, Location,
+            Characteristic, CharacteristicType, FieldChange> FORMAT = new ResourceEventFormat<>(ResourceEvent::new,
+            ResourceChangeType.values(), Resource::new, ResourceType.values(), Location::new, Characteristic::new,
+            CharacteristicType.values(), FieldChange::new);
+    private static final ObjectMapper JSON = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private ResourceEventCodec() {
+    }
+
+    public static byte[] encode(ResourceEvent event) {
+        return FORMAT.encode(event);
+    }
+
+    // payloads written before the binary format (JSON from the old serializer or outbox rows) are still readable
+    public static ResourceEvent decode(byte[] data) {
+        if (!isBinary(data)) {
+            try {
+                return JSON.readValue(data, ResourceEvent.class);
+            } catch (IOException ex) {
+                throw new IllegalArgumentException("Cannot read JSON resource event", ex);
+            }
+        }
+        return FORMAT.decode(data);
+    }
+}
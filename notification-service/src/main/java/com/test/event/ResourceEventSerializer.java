@@ -0,0 +1,19 @@
+package com.test.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class ResourceEventSerializer implements Serializer<ResourceEvent> {
+
+    @Override
+    public byte[] serialize(String topic, ResourceEvent event) {
+        if (event == null) {
+            return null;
+        }
+        try {
+            return ResourceEventCodec.encode(event);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Cannot serialize resource event for topic " + topic, ex);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.test.exceptionHandler;
+
+import jakarta.validation.ConstraintViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+@ControllerAdvice
+public class GlobalExceptionHandler {
+    public static final String KEY_ERRORS = "errors";
+
+    @ExceptionHandler({ConstraintViolationException.class})
+    public ResponseEntity<Map<String, List<String>>> generateConstraintViolationException(
+            ConstraintViolationException ex) {
+        List<String> errors = new ArrayList<>();
+        ex.getConstraintViolations().forEach(err -> errors.add(err.getMessage()));
+        return new ResponseEntity<>(Map.of(KEY_ERRORS, errors), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler({HandlerMethodValidationException.class})
+    public ResponseEntity<Map<String, List<String>>> generateHandlerMethodValidationException(
+            HandlerMethodValidationException ex) {
+        List<String> errors = new ArrayList<>();
+        ex.getAllErrors().forEach(err -> errors.add(err.getDefaultMessage()));
+        return new ResponseEntity<>(Map.of(KEY_ERRORS, errors), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<Map<String, List<String>>> handleNoSuchElementException(NoSuchElementException ex) {
+        return new ResponseEntity<>(Map.of(KEY_ERRORS, List.of(ex.getMessage())), HttpStatus.NOT_FOUND);
+    }
+}
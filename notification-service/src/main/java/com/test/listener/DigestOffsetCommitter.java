@@ -0,0 +1,85 @@
+package com.test.listener;
+
+import com.test.digest.DigestAggregator;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.ContainerPostProcessor;
+import org.springframework.kafka.event.ConsumerStoppingEvent;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.AbstractMessageListenerContainer;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.stereotype.Component;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+// A polled record is only buffered in a digest window, so committing the batch would lose up to a window of events
+// if the service stops before the window is sent. The digest listeners commit each partition up to the lowest
+// offset a window still holds instead, which turns that loss into redelivery of the held events after a restart.
+@Component(DigestOffsetCommitter.BEAN_NAME)
+public class DigestOffsetCommitter
+        implements ContainerPostProcessor<Object, Object, AbstractMessageListenerContainer<Object, Object>> {
+    public static final String BEAN_NAME = "digestOffsetCommitter";
+    public static final Set<String> TOPICS = Set.of(ResourceEventListener.NOTIFICATION_TOPIC,
+            ResourceEventListener.NOTIFICATION_TOPIC_ALL_DATA);
+    private final DigestAggregator digestAggregator;
+    private final long idleCommitIntervalMs;
+    private final Map<TopicPartition, Long> committed = new ConcurrentHashMap<>();
+
+    public DigestOffsetCommitter(DigestAggregator digestAggregator,
+                                 @Value("${notification.digest.idle-commit-interval-ms:5000}")
+                                 long idleCommitIntervalMs) {
+        this.digestAggregator = digestAggregator;
+        this.idleCommitIntervalMs = idleCommitIntervalMs;
+    }
+
+    // only the digest listeners use this post processor, the projection listener keeps the configured ack mode
+    @Override
+    public void postProcess(AbstractMessageListenerContainer<Object, Object> container) {
+        container.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        container.getContainerProperties().setIdleEventInterval(idleCommitIntervalMs);
+    }
+
+    // on the consumer thread: after a batch, and when idle, since windows are sent while nothing is polled
+    public void commit(Consumer<?, ?> consumer) {
+        Map<TopicPartition, Long> held = digestAggregator.lowestHeldOffsets();
+        Map<TopicPartition, OffsetAndMetadata> offsets = new HashMap<>();
+        for (TopicPartition partition : consumer.assignment()) {
+            if (!TOPICS.contains(partition.topic())) {
+                continue;
+            }
+            long offset = consumer.position(partition);
+            Long lowest = held.get(partition);
+            if (lowest != null) {
+                offset = Math.min(offset, lowest);
+            }
+            if (!Long.valueOf(offset).equals(committed.get(partition))) {
+                offsets.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        if (!offsets.isEmpty()) {
+            consumer.commitSync(offsets);
+            offsets.forEach((partition, offset) -> committed.put(partition, offset.offset()));
+        }
+    }
+
+    // idle events come only from the digest containers, the interval is set on no other
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        commit(event.getConsumer());
+    }
+
+    // sending the windows early costs a smaller digest, not sending them means redelivery after the restart
+    @EventListener
+    public void onStopping(ConsumerStoppingEvent event) {
+        if (event.getPartitions() != null
+                && event.getPartitions().stream().anyMatch(partition -> TOPICS.contains(partition.topic()))) {
+            digestAggregator.flushAll();
+            commit(event.getConsumer());
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.test.listener;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+@Component
+public class KeyOrderedDispatcher {
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    // items sharing a key run one after another in their original order, different keys run in parallel;
+    // returns only when every item is done so the container commits offsets after the whole batch
+    public <T> void dispatch(List<T> items, Function<T, Object> key, Consumer<T> handler) {
+        Map<Object, List<T>> byKey = new LinkedHashMap<>();
+        for (T item : items) {
+            byKey.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+        }
+        List<Future<?>> tasks = new ArrayList<>(byKey.size());
+        for (List<T> group : byKey.values()) {
+            tasks.add(executor.submit(() -> group.forEach(handler)));
+        }
+        RuntimeException failure = null;
+        for (Future<?> task : tasks) {
+            try {
+                task.get();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while processing batch", ex);
+            } catch (ExecutionException ex) {
+                if (failure == null) {
+                    failure = new IllegalStateException("Batch processing failed", ex.getCause());
+                } else {
+                    failure.addSuppressed(ex.getCause());
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.close();
+    }
+}
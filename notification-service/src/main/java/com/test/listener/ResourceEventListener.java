@@ -0,0 +1,117 @@
+package com.test.listener;
+
+import com.test.dedupe.DedupeStore;
+import com.test.digest.DigestAggregator;
+import com.test.event.ResourceEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ResourceEventListener {
+    public static final String NOTIFICATION_TOPIC = "notificationTopic";
+    public static final String NOTIFICATION_TOPIC_ALL_DATA = "notificationTopicAllData";
+    public static final String METRIC_BATCH = "notification.listener.batch";
+    public static final String METRIC_LAG = "notification.listener.lag";
+    public static final String TAG_TOPIC = "topic";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    private final KeyOrderedDispatcher dispatcher;
+    private final DigestAggregator digestAggregator;
+    private final DedupeStore dedupeStore;
+    private final DigestOffsetCommitter offsetCommitter;
+    private final MeterRegistry meterRegistry;
+    private final String changeRecipient;
+    private final String allDataRecipient;
+
+    public ResourceEventListener(KeyOrderedDispatcher dispatcher,
+                                 DigestAggregator digestAggregator,
+                                 DedupeStore dedupeStore,
+                                 DigestOffsetCommitter offsetCommitter,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${notification.digest.change-recipient:stakeholders}") String changeRecipient,
+                                 @Value("${notification.digest.all-data-recipient:stakeholders-all-data}")
+                                 String allDataRecipient) {
+        this.dispatcher = dispatcher;
+        this.digestAggregator = digestAggregator;
+        this.dedupeStore = dedupeStore;
+        this.offsetCommitter = offsetCommitter;
+        this.meterRegistry = meterRegistry;
+        this.changeRecipient = changeRecipient;
+        this.allDataRecipient = allDataRecipient;
+    }
+
+    @KafkaListener(topics = NOTIFICATION_TOPIC, batch = "true",
+            containerPostProcessor = DigestOffsetCommitter.BEAN_NAME)
+    public void handleNotifications(List<ConsumerRecord<String, ResourceEvent>> records, Consumer<?, ?> consumer) {
+        process(NOTIFICATION_TOPIC, changeRecipient, records);
+        offsetCommitter.commit(consumer);
+    }
+
+    @KafkaListener(topics = NOTIFICATION_TOPIC_ALL_DATA, batch = "true",
+            containerPostProcessor = DigestOffsetCommitter.BEAN_NAME)
+    public void handleAllDataNotifications(List<ConsumerRecord<String, ResourceEvent>> records,
+                                           Consumer<?, ?> consumer) {
+        process(NOTIFICATION_TOPIC_ALL_DATA, allDataRecipient, records);
+        offsetCommitter.commit(consumer);
+    }
+
+    private void process(String topic, String recipient, List<ConsumerRecord<String, ResourceEvent>> records) {
+        recordLag(topic, records);
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = FAILURE;
+        try {
+            dispatcher.dispatch(withValues(records), ResourceEventListener::resourceKey,
+                    record -> accept(recipient, record));
+            outcome = SUCCESS;
+        } finally {
+            sample.stop(Timer.builder(METRIC_BATCH)
+                    .description("Time to process one polled batch")
+                    .tag(TAG_TOPIC, topic)
+                    .tag(TAG_OUTCOME, outcome)
+                    .register(meterRegistry));
+        }
+    }
+
+    // time from the producer timestamp to the poll, the consumer group lag in records is under kafka.consumer.*
+    private void recordLag(String topic, List<ConsumerRecord<String, ResourceEvent>> records) {
+        Timer lag = Timer.builder(METRIC_LAG)
+                .description("Delay between producing a record and consuming it")
+                .tag(TAG_TOPIC, topic)
+                .register(meterRegistry);
+        long now = System.currentTimeMillis();
+        for (ConsumerRecord<String, ResourceEvent> record : records) {
+            lag.record(Math.max(0, now - record.timestamp()), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // redeliveries and unchanged resources from repeated exports stop here, before any digest work
+    private void accept(String recipient, ConsumerRecord<String, ResourceEvent> record) {
+        if (dedupeStore.firstSeen(recipient, record.value())) {
+            digestAggregator.add(recipient, record.value(), new TopicPartition(record.topic(), record.partition()),
+                    record.offset());
+        }
+    }
+
+    // records that failed deserialization arrive without a value and are skipped
+    private static List<ConsumerRecord<String, ResourceEvent>> withValues(
+            List<ConsumerRecord<String, ResourceEvent>> records) {
+        return records.stream().filter(record -> record.value() != null).toList();
+    }
+
+    private static Object resourceKey(ConsumerRecord<String, ResourceEvent> record) {
+        Long resourceId = record.value().resolveResourceId();
+        if (resourceId != null) {
+            return String.valueOf(resourceId);
+        }
+        return record.key() != null ? record.key() : record.topic() + "-" + record.partition() + "@" + record.offset();
+    }
+}
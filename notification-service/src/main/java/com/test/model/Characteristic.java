@@ -1,10 +1,11 @@
 package com.test.model;
 
 
+import com.test.events.CharacteristicFields;
 import lombok.Data;
 
 @Data
-public class Characteristic {
+public class Characteristic implements CharacteristicFields<CharacteristicType> {
     private Long id;
     private String code;
     private CharacteristicType characteristicType;
@@ -1,12 +1,15 @@
 package com.test.model;
 
+import com.test.events.LocationFields;
 import lombok.Data;
 
 @Data
-public class Location {
+public class Location implements LocationFields {
     private Long id;
     private String streetAddress;
     private String city;
     private Integer postalCode;
     private String countryCode;
+    private Double latitude;
+    private Double longitude;
 }
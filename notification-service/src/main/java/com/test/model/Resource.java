@@ -1,14 +1,16 @@
 package com.test.model;
 
+import com.test.events.ResourceFields;
 import lombok.Data;
 
 import java.util.List;
 
 @Data
-public class Resource {
+public class Resource implements ResourceFields<ResourceType, Location, Characteristic> {
     private Long id;
     private ResourceType resourceType;
     private String countryCode;
     private Location location;
     private List<Characteristic> Characteristics;
+    private Long version;
 }
@@ -0,0 +1,11 @@
+package com.test.projection;
+
+import com.test.model.CharacteristicType;
+import lombok.Value;
+
+@Value
+public class ProjectedCharacteristic {
+    String code;
+    CharacteristicType characteristicType;
+    String value;
+}
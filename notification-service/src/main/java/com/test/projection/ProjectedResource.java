@@ -0,0 +1,42 @@
+package com.test.projection;
+
+import com.test.model.Characteristic;
+import com.test.model.Location;
+import com.test.model.Resource;
+import com.test.model.ResourceType;
+import lombok.Value;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+// Read-side copy of a resource. Immutable, so readers never see half of an update: a record replaces the instance.
+@Value
+public class ProjectedResource {
+    long id;
+    ResourceType resourceType;
+    String countryCode;
+    String streetAddress;
+    String city;
+    Integer postalCode;
+    String locationCountryCode;
+    List<ProjectedCharacteristic> characteristics;
+    Long version;
+
+    static ProjectedResource of(Resource resource, Long version, ValuePool pool) {
+        Location location = resource.getLocation();
+        List<ProjectedCharacteristic> characteristics = new ArrayList<>();
+        if (resource.getCharacteristics() != null) {
+            for (Characteristic characteristic : resource.getCharacteristics()) {
+                characteristics.add(pool.share(new ProjectedCharacteristic(characteristic.getCode(),
+                        characteristic.getCharacteristicType(), characteristic.getCharacteristicValue())));
+            }
+        }
+        return new ProjectedResource(resource.getId(), resource.getResourceType(),
+                pool.share(resource.getCountryCode()),
+                location == null ? null : location.getStreetAddress(),
+                location == null ? null : pool.share(location.getCity()),
+                location == null ? null : location.getPostalCode(),
+                location == null ? null : pool.share(location.getCountryCode()),
+                List.copyOf(new LinkedHashSet<>(characteristics)), version);
+    }
+}
@@ -0,0 +1,10 @@
+package com.test.projection;
+
+import lombok.Value;
+import java.util.List;
+
+@Value
+public class ProjectedResourcePage {
+    List<ProjectedResource> data;
+    Long nextCursor;
+}
@@ -0,0 +1,51 @@
+package com.test.projection;
+
+import com.test.model.ResourceType;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+// Read-only queries answered from the projection, eventually consistent with resource-service by the reported lag.
+@RestController
+@RequestMapping("/projection")
+@RequiredArgsConstructor
+@Validated
+public class ProjectionController {
+    public static final String DATA = "data";
+    public static final int MAX_PAGE_SIZE = 500;
+    private final ResourceProjection resourceProjection;
+    private final ProjectionLag projectionLag;
+
+    @GetMapping("/resources/{id}")
+    public Map<String, List<ProjectedResource>> get(@PathVariable Long id) {
+        ProjectedResource resource = resourceProjection.get(id)
+                .orElseThrow(() -> new NoSuchElementException("Resource with id " + id + " not found"));
+        return Map.of(DATA, List.of(resource));
+    }
+
+    @GetMapping("/resources")
+    public ProjectedResourcePage list(
+            @RequestParam(required = false) ResourceType resourceType,
+            @RequestParam(required = false) String countryCode,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        List<ProjectedResource> resources = resourceProjection.find(resourceType, countryCode, cursor, limit);
+        Long nextCursor = resources.size() == limit ? resources.get(resources.size() - 1).getId() : null;
+        return new ProjectedResourcePage(resources, nextCursor);
+    }
+
+    @GetMapping("/status")
+    public ProjectionStatus status() {
+        return new ProjectionStatus(resourceProjection.size(), projectionLag.recordsBehind(),
+                projectionLag.lagMs(System.currentTimeMillis()));
+    }
+}
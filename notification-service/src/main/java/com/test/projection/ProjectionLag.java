@@ -0,0 +1,56 @@
+package com.test.projection;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Value;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// How far the projection trails the writes, per partition: the records not yet consumed, and the age of the last
+// applied record while any remain. A caught-up partition reports no lag however long ago its last write was.
+@Component
+public class ProjectionLag {
+    public static final String METRIC_LAG_RECORDS = "projection.lag.records";
+    public static final String METRIC_LAG_MS = "projection.lag.ms";
+    public static final String METRIC_RESOURCES = "projection.resources";
+    private final Map<TopicPartition, PartitionLag> partitions = new ConcurrentHashMap<>();
+
+    public ProjectionLag(MeterRegistry meterRegistry, ResourceProjection resourceProjection) {
+        Gauge.builder(METRIC_LAG_RECORDS, this, ProjectionLag::recordsBehind)
+                .description("Records of the change topic not yet applied to the projection")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_LAG_MS, this, lag -> lag.lagMs(System.currentTimeMillis()))
+                .description("Age of the last applied change while the projection is behind")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_RESOURCES, resourceProjection, ResourceProjection::size)
+                .description("Resources held by the projection")
+                .register(meterRegistry);
+    }
+
+    // lastTimestamp is null when the batch held nothing of this partition, its previous record still applies
+    public void record(TopicPartition partition, Long lastTimestamp, long recordsBehind) {
+        partitions.compute(partition, (key, previous) -> new PartitionLag(lastTimestamp != null ? lastTimestamp
+                : previous != null ? previous.getLastTimestamp() : System.currentTimeMillis(), recordsBehind));
+    }
+
+    public long recordsBehind() {
+        return partitions.values().stream().mapToLong(PartitionLag::getRecordsBehind).sum();
+    }
+
+    public long lagMs(long now) {
+        return partitions.values().stream()
+                .filter(lag -> lag.getRecordsBehind() > 0)
+                .mapToLong(lag -> Math.max(0, now - lag.getLastTimestamp()))
+                .max()
+                .orElse(0);
+    }
+
+    @Value
+    private static class PartitionLag {
+        long lastTimestamp;
+        long recordsBehind;
+    }
+}
@@ -0,0 +1,10 @@
+package com.test.projection;
+
+import lombok.Value;
+
+@Value
+public class ProjectionStatus {
+    int resources;
+    long recordsBehind;
+    long lagMs;
+}
@@ -0,0 +1,150 @@
+package com.test.projection;
+
+import com.test.event.ResourceEvent;
+import com.test.model.ResourceType;
+import org.springframework.stereotype.Component;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-memory copy of every resource, built from the compacted state topic. Writes of one resource are serialized by
+// the per-key lock of the id map, which also keeps its type and country index entries in step with it; readers
+// take no locks and re-check each hit against the resource itself.
+@Component
+public class ResourceProjection {
+    private final ConcurrentSkipListMap<Long, ProjectedResource> byId = new ConcurrentSkipListMap<>();
+    private final Map<ResourceType, NavigableSet<Long>> byType = new EnumMap<>(ResourceType.class);
+    private final Map<String, NavigableSet<Long>> byCountry = new ConcurrentHashMap<>();
+    // version each deleted resource had at deletion; ids are never reused, so this only grows by the deletes
+    private final Map<Long, Long> deletedVersions = new ConcurrentHashMap<>();
+    private final ValuePool pool = new ValuePool();
+    // the skip list size is a full walk, so the count is kept next to it
+    private final AtomicInteger size = new AtomicInteger();
+
+    public ResourceProjection() {
+        for (ResourceType resourceType : ResourceType.values()) {
+            byType.put(resourceType, new ConcurrentSkipListSet<>());
+        }
+    }
+
+    // records carry the whole resource; one at or below the version already held is a redelivery or was
+    // overtaken by a newer record, and changes nothing
+    public void apply(ResourceEvent event) {
+        Long id = event.resolveResourceId();
+        if (id == null || event.getResource() == null) {
+            return;
+        }
+        byId.compute(id, (key, current) -> {
+            Long heldVersion = current != null ? current.getVersion() : deletedVersions.get(key);
+            if (isStale(heldVersion, event)) {
+                return current;
+            }
+            ProjectedResource next = ProjectedResource.of(event.getResource(), version(event), pool);
+            reindex(key, current, next);
+            return next;
+        });
+    }
+
+    // a tombstone of the state topic; a record of the resource at or below its version arriving later is older
+    // than the deletion and must not bring the resource back
+    public void remove(long id, Long deletedVersion) {
+        byId.compute(id, (key, current) -> {
+            if (deletedVersion != null) {
+                deletedVersions.merge(key, deletedVersion, Math::max);
+            }
+            if (current != null) {
+                reindex(key, current, null);
+            }
+            return null;
+        });
+    }
+
+    public Optional<ProjectedResource> get(long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    // ordered by id, cursor is the id of the last resource of the previous page; null filters match everything
+    public List<ProjectedResource> find(ResourceType resourceType, String countryCode, Long cursor, int limit) {
+        NavigableSet<Long> ids;
+        if (countryCode != null) {
+            // countries split the resources far finer than the two types, so walk the country and filter the type
+            ids = byCountry.get(countryCode);
+            if (ids == null) {
+                return List.of();
+            }
+        } else if (resourceType != null) {
+            ids = byType.get(resourceType);
+        } else {
+            ids = byId.navigableKeySet();
+        }
+        List<ProjectedResource> page = new ArrayList<>(Math.min(limit, 1024));
+        for (Long id : cursor == null ? ids : ids.tailSet(cursor, false)) {
+            ProjectedResource resource = byId.get(id);
+            if (resource != null && matches(resource, resourceType, countryCode)) {
+                page.add(resource);
+                if (page.size() == limit) {
+                    break;
+                }
+            }
+        }
+        return page;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    private void reindex(Long id, ProjectedResource current, ProjectedResource next) {
+        ResourceType currentType = current == null ? null : current.getResourceType();
+        ResourceType nextType = next == null ? null : next.getResourceType();
+        if (currentType != nextType) {
+            if (currentType != null) {
+                byType.get(currentType).remove(id);
+            }
+            if (nextType != null) {
+                byType.get(nextType).add(id);
+            }
+        }
+        String currentCountry = current == null ? null : current.getCountryCode();
+        String nextCountry = next == null ? null : next.getCountryCode();
+        if (!Objects.equals(currentCountry, nextCountry)) {
+            if (currentCountry != null) {
+                byCountry.get(currentCountry).remove(id);
+            }
+            if (nextCountry != null) {
+                byCountry.computeIfAbsent(nextCountry, country -> new ConcurrentSkipListSet<>()).add(id);
+            }
+        }
+        if (current == null && next != null) {
+            size.incrementAndGet();
+        } else if (current != null && next == null) {
+            size.decrementAndGet();
+        }
+    }
+
+    private static boolean isStale(Long heldVersion, ResourceEvent event) {
+        Long version = version(event);
+        return version != null && heldVersion != null && version <= heldVersion;
+    }
+
+    // events from older producers only carry the version inside the resource
+    private static Long version(ResourceEvent event) {
+        if (event.getVersion() != null || event.getResource() == null) {
+            return event.getVersion();
+        }
+        return event.getResource().getVersion();
+    }
+
+    private static boolean matches(ProjectedResource resource, ResourceType resourceType, String countryCode) {
+        return (resourceType == null || resource.getResourceType() == resourceType)
+                && (countryCode == null || countryCode.equals(resource.getCountryCode()));
+    }
+}
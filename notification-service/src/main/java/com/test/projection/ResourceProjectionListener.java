@@ -0,0 +1,63 @@
+package com.test.projection;
+
+import com.test.event.ResourceEvent;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.support.serializer.SerializationUtils;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+
+// Every instance needs every resource, so each one joins its own consumer group (a fresh id per start) and reads
+// the compacted state topic from the beginning: the latest record of each resource, keyed by its id.
+@Component
+public class ResourceProjectionListener {
+    public static final String RESOURCE_STATE_TOPIC = "resourceStateTopic";
+    public static final String VERSION_HEADER = "version";
+    private final ResourceProjection resourceProjection;
+    private final ProjectionLag projectionLag;
+
+    public ResourceProjectionListener(ResourceProjection resourceProjection, ProjectionLag projectionLag) {
+        this.resourceProjection = resourceProjection;
+        this.projectionLag = projectionLag;
+    }
+
+    @KafkaListener(topics = RESOURCE_STATE_TOPIC, groupId = "${notification.projection.group-id}", batch = "true",
+            properties = "auto.offset.reset=earliest")
+    public void handle(List<ConsumerRecord<String, ResourceEvent>> records, Consumer<?, ?> consumer) {
+        Map<TopicPartition, Long> lastTimestamps = new HashMap<>();
+        for (ConsumerRecord<String, ResourceEvent> record : records) {
+            if (record.value() != null) {
+                resourceProjection.apply(record.value());
+            } else if (isTombstone(record)) {
+                resourceProjection.remove(Long.parseLong(record.key()), deletedVersion(record));
+            }
+            lastTimestamps.put(new TopicPartition(record.topic(), record.partition()), record.timestamp());
+        }
+        // currentLag answers from the last fetch response, without a request to the broker
+        for (TopicPartition partition : consumer.assignment()) {
+            OptionalLong behind = consumer.currentLag(partition);
+            if (behind.isPresent()) {
+                projectionLag.record(partition, lastTimestamps.get(partition), behind.getAsLong());
+            }
+        }
+    }
+
+    // tombstones from before the header was added carry no version
+    private static Long deletedVersion(ConsumerRecord<String, ResourceEvent> record) {
+        Header header = record.headers().lastHeader(VERSION_HEADER);
+        return header == null ? null : Long.valueOf(new String(header.value(), StandardCharsets.UTF_8));
+    }
+
+    // records that failed deserialization also arrive without a value, but carry the failure in a header
+    private static boolean isTombstone(ConsumerRecord<String, ResourceEvent> record) {
+        return record.key() != null
+                && record.headers().lastHeader(SerializationUtils.VALUE_DESERIALIZER_EXCEPTION_HEADER) == null;
+    }
+}
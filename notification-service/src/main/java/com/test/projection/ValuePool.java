@@ -0,0 +1,15 @@
+package com.test.projection;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Country codes, cities and characteristics repeat across most resources; keeping one instance of each equal value
+// is most of what makes the projection compact. Bounded by the number of distinct values, which is small.
+class ValuePool {
+    private final Map<Object, Object> values = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    <T> T share(T value) {
+        return value == null ? null : (T) values.computeIfAbsent(value, key -> key);
+    }
+}
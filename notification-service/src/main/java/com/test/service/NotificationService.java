@@ -0,0 +1,7 @@
+package com.test.service;
+
+import com.test.digest.Digest;
+
+public interface NotificationService {
+    void sendDigest(Digest digest);
+}
@@ -0,0 +1,32 @@
+package com.test.service.impl;
+
+import com.test.digest.Digest;
+import com.test.digest.DigestEntry;
+import com.test.event.ResourceChangeType;
+import com.test.service.NotificationService;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.stereotype.Service;
+
+@Service
+public class NotificationServiceImpl implements NotificationService {
+    public static final Logger logger = LogManager.getLogger(NotificationServiceImpl.class);
+
+    @Override
+    public void sendDigest(Digest digest) {
+        // send out on email notification
+        logger.info("Sending digest to {} - {} resources from {} events between {} and {}",
+                digest.getRecipient(), digest.getEntries().size(), digest.getEventCount(),
+                digest.getWindowStart(), digest.getWindowEnd());
+        for (DigestEntry entry : digest.getEntries()) {
+            if (entry.getChangeType() == ResourceChangeType.UPDATED) {
+                logger.debug("Resource {} v{} UPDATED: {}, added {}, removed {}", entry.getResourceId(),
+                        entry.getVersion(), entry.getChanges().values(), entry.getAddedCharacteristics(),
+                        entry.getRemovedCharacteristics());
+            } else {
+                logger.debug("Resource {} v{} {}: {}", entry.getResourceId(), entry.getVersion(),
+                        entry.getChangeType(), entry.getResource());
+            }
+        }
+    }
+}
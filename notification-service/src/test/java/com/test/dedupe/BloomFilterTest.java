@@ -0,0 +1,53 @@
+package com.test.dedupe;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BloomFilterTest {
+    public static final int EXPECTED_INSERTIONS = 10_000;
+    public static final double FPP = 0.01;
+    public static final int PROBES = 200_000;
+    public static final long PROBE_OFFSET = 1L << 40;
+
+    @Test
+    void mightContain_ShouldFindEveryInsertedKey() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FPP);
+        for (long key = 0; key < EXPECTED_INSERTIONS; key++) {
+            filter.put(key);
+        }
+        for (long key = 0; key < EXPECTED_INSERTIONS; key++) {
+            assertTrue(filter.mightContain(key));
+        }
+        assertTrue(filter.isFull());
+    }
+
+    @Test
+    void mightContain_WhenFilledToExpectedInsertions_ShouldHaveFalsePositiveRateNearFpp() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FPP);
+        for (long key = 0; key < EXPECTED_INSERTIONS; key++) {
+            filter.put(key);
+        }
+        int falsePositives = 0;
+        for (long key = PROBE_OFFSET; key < PROBE_OFFSET + PROBES; key++) {
+            if (filter.mightContain(key)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / PROBES;
+        assertEquals(FPP, observed, FPP / 2);
+        assertEquals(filter.expectedFpp(), observed, FPP / 2);
+    }
+
+    @Test
+    void isFull_ShouldTurnTrueAtExpectedInsertions() {
+        BloomFilter filter = new BloomFilter(EXPECTED_INSERTIONS, FPP);
+        for (long key = 0; key < EXPECTED_INSERTIONS - 1; key++) {
+            filter.put(key);
+        }
+        assertFalse(filter.isFull());
+        filter.put(EXPECTED_INSERTIONS);
+        assertTrue(filter.isFull());
+    }
+}
@@ -0,0 +1,115 @@
+package com.test.dedupe;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LongLruSetTest {
+    public static final int CAPACITY = 4;
+    // the index of a 4 entry set has 8 slots
+    public static final int TABLE_MASK = 7;
+    public static final long SEED = 42L;
+    public static final int OPERATIONS = 100_000;
+    public static final int KEY_RANGE = 16;
+
+    @Test
+    void add_WhenFull_ShouldEvictLeastRecentlyUsed() {
+        List<Long> evicted = new ArrayList<>();
+        LongLruSet set = new LongLruSet(3, evicted::add);
+        set.add(1L);
+        set.add(2L);
+        set.add(3L);
+        assertTrue(set.touch(1L));
+        set.add(4L);
+        set.add(5L);
+        assertEquals(List.of(2L, 3L), evicted);
+        assertEquals(3, set.size());
+        assertTrue(set.touch(1L));
+        assertTrue(set.touch(4L));
+        assertTrue(set.touch(5L));
+        assertFalse(set.touch(2L));
+        assertFalse(set.touch(3L));
+    }
+
+    @Test
+    void add_WhenEvictedKeyProbeChainWrapsAround_ShouldKeepOtherKeysReachable() {
+        // three keys whose home is the last slot sit in slots 7, 0 and 1
+        long[] colliding = keysWithHomeSlot(TABLE_MASK, 3);
+        long other = keysWithHomeSlot(3, 1)[0];
+        List<Long> evicted = new ArrayList<>();
+        LongLruSet set = new LongLruSet(CAPACITY, evicted::add);
+        for (long key : colliding) {
+            set.add(key);
+        }
+        set.add(other);
+        // evicting the first one empties slot 7, the other two must shift back across the wrap
+        set.add(keysWithHomeSlot(5, 1)[0]);
+        assertEquals(List.of(colliding[0]), evicted);
+        assertFalse(set.touch(colliding[0]));
+        assertTrue(set.touch(colliding[1]));
+        assertTrue(set.touch(colliding[2]));
+        assertTrue(set.touch(other));
+    }
+
+    @Test
+    void add_WhenKeyReinsertedAfterEviction_ShouldFindItAgain() {
+        long[] colliding = keysWithHomeSlot(TABLE_MASK, 5);
+        List<Long> evicted = new ArrayList<>();
+        LongLruSet set = new LongLruSet(CAPACITY, evicted::add);
+        for (int i = 0; i < CAPACITY; i++) {
+            set.add(colliding[i]);
+        }
+        set.add(colliding[4]);
+        assertFalse(set.touch(colliding[0]));
+        set.add(colliding[0]);
+        assertEquals(List.of(colliding[0], colliding[1]), evicted);
+        assertTrue(set.touch(colliding[0]));
+        assertTrue(set.touch(colliding[2]));
+        assertTrue(set.touch(colliding[3]));
+        assertTrue(set.touch(colliding[4]));
+        assertEquals(CAPACITY, set.size());
+    }
+
+    @Test
+    void touchAndAdd_ShouldBehaveLikeAccessOrderedSet() {
+        Random random = new Random(SEED);
+        List<Long> evicted = new ArrayList<>();
+        LongLruSet set = new LongLruSet(CAPACITY, evicted::add);
+        // insertion order is recency order, least recent first
+        LinkedHashSet<Long> expected = new LinkedHashSet<>();
+        List<Long> expectedEvicted = new ArrayList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            long key = random.nextInt(KEY_RANGE);
+            boolean present = expected.remove(key);
+            assertEquals(present, set.touch(key));
+            if (!present) {
+                if (expected.size() == CAPACITY) {
+                    Iterator<Long> oldest = expected.iterator();
+                    expectedEvicted.add(oldest.next());
+                    oldest.remove();
+                }
+                set.add(key);
+            }
+            expected.add(key);
+        }
+        assertEquals(expectedEvicted, evicted);
+        assertEquals(expected.size(), set.size());
+    }
+
+    private static long[] keysWithHomeSlot(int slot, int count) {
+        long[] keys = new long[count];
+        int found = 0;
+        for (long key = 0; found < count; key++) {
+            if (((int) BloomFilter.mix(key) & TABLE_MASK) == slot) {
+                keys[found++] = key;
+            }
+        }
+        return keys;
+    }
+}
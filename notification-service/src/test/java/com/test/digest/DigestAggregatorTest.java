@@ -0,0 +1,141 @@
+package com.test.digest;
+
+import com.test.event.FieldChange;
+import com.test.event.ResourceChangeType;
+import com.test.event.ResourceEvent;
+import com.test.service.NotificationService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+public class DigestAggregatorTest {
+    public static final String RECIPIENT = "stakeholders";
+    public static final String OTHER_RECIPIENT = "stakeholders-all-data";
+    public static final String COUNTRY_CODE = "countryCode";
+    public static final String EE = "EE";
+    public static final String FI = "FI";
+    public static final String LV = "LV";
+    public static final Duration LONG_WINDOW = Duration.ofHours(1);
+    public static final Duration SHORT_WINDOW = Duration.ofMillis(1);
+    public static final int MAX_RESOURCES = 3;
+    public static final TopicPartition PARTITION = new TopicPartition("notificationTopic", 0);
+    public static final TopicPartition OTHER_PARTITION = new TopicPartition("notificationTopic", 1);
+    @Mock
+    private NotificationService notificationService;
+
+    @Test
+    void add_ShouldMergeEventsOfOneResourceIntoOneEntry() {
+        DigestAggregator aggregator = aggregator(LONG_WINDOW, MAX_RESOURCES);
+        aggregator.add(RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 0L);
+        aggregator.add(RECIPIENT, updated(1L, 3L, FI, LV), PARTITION, 1L);
+        aggregator.flushAll();
+        Digest digest = sentDigest();
+        assertEquals(RECIPIENT, digest.getRecipient());
+        assertEquals(2, digest.getEventCount());
+        assertEquals(1, digest.getEntries().size());
+        assertEquals(new FieldChange(COUNTRY_CODE, EE, LV), digest.getEntries().get(0).getChanges().get(COUNTRY_CODE));
+        assertEquals(2.0, aggregator.reductionRatio());
+    }
+
+    @Test
+    void add_WhenMaxResourcesReached_ShouldSendWithoutWaitingForWindow() {
+        DigestAggregator aggregator = aggregator(LONG_WINDOW, MAX_RESOURCES);
+        aggregator.add(RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 0L);
+        aggregator.add(RECIPIENT, updated(2L, 2L, EE, FI), PARTITION, 1L);
+        verify(notificationService, never()).sendDigest(any());
+        aggregator.add(RECIPIENT, updated(3L, 2L, EE, FI), PARTITION, 2L);
+        assertEquals(MAX_RESOURCES, sentDigest().getEntries().size());
+        aggregator.add(RECIPIENT, updated(4L, 2L, EE, FI), PARTITION, 3L);
+        aggregator.flushAll();
+        verify(notificationService, times(2)).sendDigest(any());
+    }
+
+    @Test
+    void add_WhenOlderVersionArrivesAfterNewer_ShouldKeepNewer() {
+        DigestAggregator aggregator = aggregator(LONG_WINDOW, MAX_RESOURCES);
+        aggregator.add(RECIPIENT, updated(1L, 3L, FI, LV), PARTITION, 0L);
+        aggregator.add(RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 1L);
+        aggregator.flushAll();
+        DigestEntry entry = sentDigest().getEntries().get(0);
+        assertEquals(3L, entry.getVersion());
+        assertEquals(new FieldChange(COUNTRY_CODE, FI, LV), entry.getChanges().get(COUNTRY_CODE));
+    }
+
+    @Test
+    void add_WhenEventHasNoResourceId_ShouldNotCreateEntry() {
+        DigestAggregator aggregator = aggregator(LONG_WINDOW, MAX_RESOURCES);
+        aggregator.add(RECIPIENT, new ResourceEvent(ResourceChangeType.UPDATED, null, 2L, null, null, null, null),
+                PARTITION, 0L);
+        aggregator.flushAll();
+        verify(notificationService, never()).sendDigest(any());
+    }
+
+    @Test
+    void flushExpired_WhenWindowNotElapsed_ShouldSendNothing() {
+        DigestAggregator aggregator = aggregator(LONG_WINDOW, MAX_RESOURCES);
+        aggregator.add(RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 0L);
+        aggregator.flushExpired();
+        verify(notificationService, never()).sendDigest(any());
+    }
+
+    @Test
+    void flushExpired_WhenWindowElapsed_ShouldSendEachRecipientOnce() throws InterruptedException {
+        DigestAggregator aggregator = aggregator(SHORT_WINDOW, MAX_RESOURCES);
+        aggregator.add(RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 0L);
+        aggregator.add(OTHER_RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 1L);
+        Thread.sleep(SHORT_WINDOW.toMillis() * 10);
+        aggregator.flushExpired();
+        aggregator.flushExpired();
+        verify(notificationService, times(2)).sendDigest(any());
+    }
+
+    @Test
+    void lowestHeldOffsets_ShouldHoldEachPartitionAtItsLowestUnsentOffset() {
+        DigestAggregator aggregator = aggregator(LONG_WINDOW, MAX_RESOURCES);
+        aggregator.add(RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 12L);
+        aggregator.add(RECIPIENT, updated(2L, 2L, EE, FI), PARTITION, 10L);
+        aggregator.add(OTHER_RECIPIENT, updated(1L, 2L, EE, FI), OTHER_PARTITION, 40L);
+        assertEquals(Map.of(PARTITION, 10L, OTHER_PARTITION, 40L), aggregator.lowestHeldOffsets());
+        aggregator.flushAll();
+        assertTrue(aggregator.lowestHeldOffsets().isEmpty());
+    }
+
+    @Test
+    void lowestHeldOffsets_WhenSendFails_ShouldReleaseOffsets() {
+        DigestAggregator aggregator = aggregator(LONG_WINDOW, MAX_RESOURCES);
+        doThrow(new IllegalStateException(EE)).when(notificationService).sendDigest(any());
+        aggregator.add(RECIPIENT, updated(1L, 2L, EE, FI), PARTITION, 12L);
+        aggregator.flushAll();
+        assertTrue(aggregator.lowestHeldOffsets().isEmpty());
+    }
+
+    private DigestAggregator aggregator(Duration window, int maxResources) {
+        return new DigestAggregator(notificationService, new SimpleMeterRegistry(), window, maxResources);
+    }
+
+    private Digest sentDigest() {
+        ArgumentCaptor<Digest> captor = ArgumentCaptor.forClass(Digest.class);
+        verify(notificationService).sendDigest(captor.capture());
+        return captor.getValue();
+    }
+
+    private static ResourceEvent updated(Long resourceId, Long version, String oldValue, String newValue) {
+        return new ResourceEvent(ResourceChangeType.UPDATED, resourceId, version, null,
+                List.of(new FieldChange(COUNTRY_CODE, oldValue, newValue)), null, null);
+    }
+}
@@ -0,0 +1,98 @@
+package com.test.digest;
+
+import com.test.event.FieldChange;
+import com.test.event.ResourceChangeType;
+import com.test.event.ResourceEvent;
+import com.test.model.Characteristic;
+import com.test.model.CharacteristicType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DigestEntryTest {
+    public static final long RESOURCE_ID = 1L;
+    public static final String COUNTRY_CODE = "countryCode";
+    public static final String EE = "EE";
+    public static final String FI = "FI";
+    public static final String LV = "LV";
+    public static final String CODE_1 = "1";
+    public static final String CODE_2 = "2";
+    public static final String NUMBER_220 = "220";
+
+    @Test
+    void merge_ShouldReportFieldFromFirstOldToLastNewValue() {
+        DigestEntry entry = new DigestEntry(RESOURCE_ID);
+        entry.merge(updated(2L, List.of(new FieldChange(COUNTRY_CODE, EE, FI)), null, null));
+        entry.merge(updated(3L, List.of(new FieldChange(COUNTRY_CODE, FI, LV)), null, null));
+        assertEquals(new FieldChange(COUNTRY_CODE, EE, LV), entry.getChanges().get(COUNTRY_CODE));
+        assertEquals(3L, entry.getVersion());
+        assertEquals(2, entry.getEventCount());
+    }
+
+    @Test
+    void merge_WhenFieldChangedBack_ShouldDropIt() {
+        DigestEntry entry = new DigestEntry(RESOURCE_ID);
+        entry.merge(updated(2L, List.of(new FieldChange(COUNTRY_CODE, EE, FI)), null, null));
+        entry.merge(updated(3L, List.of(new FieldChange(COUNTRY_CODE, FI, EE)), null, null));
+        assertTrue(entry.getChanges().isEmpty());
+    }
+
+    @Test
+    void merge_WhenOlderVersionArrivesLate_ShouldIgnoreIt() {
+        DigestEntry entry = new DigestEntry(RESOURCE_ID);
+        entry.merge(updated(3L, List.of(new FieldChange(COUNTRY_CODE, FI, LV)), null, null));
+        entry.merge(updated(2L, List.of(new FieldChange(COUNTRY_CODE, EE, FI)), null, null));
+        assertEquals(new FieldChange(COUNTRY_CODE, FI, LV), entry.getChanges().get(COUNTRY_CODE));
+        assertEquals(3L, entry.getVersion());
+        assertEquals(1, entry.getEventCount());
+    }
+
+    @Test
+    void merge_WhenUpdatedAfterCreated_ShouldStayCreated() {
+        DigestEntry entry = new DigestEntry(RESOURCE_ID);
+        entry.merge(new ResourceEvent(ResourceChangeType.CREATED, RESOURCE_ID, 1L, null, null, null, null));
+        entry.merge(updated(2L, List.of(new FieldChange(COUNTRY_CODE, EE, FI)), null, null));
+        assertEquals(ResourceChangeType.CREATED, entry.getChangeType());
+    }
+
+    @Test
+    void merge_WhenCharacteristicAddedThenRemoved_ShouldReportNoChange() {
+        DigestEntry entry = new DigestEntry(RESOURCE_ID);
+        entry.merge(updated(2L, null, List.of(characteristic(CODE_1)), null));
+        entry.merge(updated(3L, null, null, List.of(characteristic(CODE_1))));
+        assertTrue(entry.getAddedCharacteristics().isEmpty());
+        assertTrue(entry.getRemovedCharacteristics().isEmpty());
+    }
+
+    @Test
+    void merge_WhenCharacteristicRemovedThenAdded_ShouldReportNoChange() {
+        DigestEntry entry = new DigestEntry(RESOURCE_ID);
+        entry.merge(updated(2L, null, null, List.of(characteristic(CODE_1))));
+        entry.merge(updated(3L, null, List.of(characteristic(CODE_1)), null));
+        assertTrue(entry.getAddedCharacteristics().isEmpty());
+        assertTrue(entry.getRemovedCharacteristics().isEmpty());
+    }
+
+    @Test
+    void merge_ShouldKeepOtherCharacteristicChanges() {
+        DigestEntry entry = new DigestEntry(RESOURCE_ID);
+        entry.merge(updated(2L, null, List.of(characteristic(CODE_1), characteristic(CODE_2)), null));
+        entry.merge(updated(3L, null, null, List.of(characteristic(CODE_1))));
+        assertEquals(List.of(characteristic(CODE_2)), entry.getAddedCharacteristics());
+        assertTrue(entry.getRemovedCharacteristics().isEmpty());
+    }
+
+    private static ResourceEvent updated(Long version, List<FieldChange> changes, List<Characteristic> added,
+                                         List<Characteristic> removed) {
+        return new ResourceEvent(ResourceChangeType.UPDATED, RESOURCE_ID, version, null, changes, added, removed);
+    }
+
+    private static Characteristic characteristic(String code) {
+        Characteristic characteristic = new Characteristic();
+        characteristic.setCode(code);
+        characteristic.setCharacteristicType(CharacteristicType.CONSUMPTION_TYPE);
+        characteristic.setCharacteristicValue(NUMBER_220);
+        return characteristic;
+    }
+}
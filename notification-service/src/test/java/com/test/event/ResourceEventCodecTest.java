@@ -0,0 +1,49 @@
+package com.test.event;
+
+import com.test.model.Characteristic;
+import com.test.model.CharacteristicType;
+import com.test.model.Location;
+import com.test.model.Resource;
+import com.test.model.ResourceType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResourceEventCodecTest {
+    public static final String TALLINN = "Tallinn";
+    public static final String EE = "EE";
+    public static final String CH_1 = "CH1";
+    public static final String FAST = "Fast";
+
+    static Resource resource() {
+        Location location = new Location();
+        location.setId(300_000L);
+        location.setCity(TALLINN);
+        location.setCountryCode(EE);
+        location.setLatitude(59.437);
+        location.setLongitude(24.7536);
+        Characteristic characteristic = new Characteristic();
+        characteristic.setId(900_001L);
+        characteristic.setCode(CH_1);
+        characteristic.setCharacteristicType(CharacteristicType.CHARGING_POINT);
+        characteristic.setCharacteristicValue(FAST);
+        Resource resource = new Resource();
+        resource.setId(1_234_567L);
+        resource.setResourceType(ResourceType.CONNECTION_POINT);
+        resource.setCountryCode(EE);
+        resource.setLocation(location);
+        resource.setCharacteristics(List.of(characteristic));
+        resource.setVersion(3L);
+        return resource;
+    }
+
+    @Test
+    void encode_ShouldRoundTripResourceWithCoordinates() {
+        ResourceEvent event = new ResourceEvent(ResourceChangeType.SNAPSHOT, 1_234_567L, 3L, resource(),
+                List.of(), List.of(), List.of());
+
+        ResourceEvent decoded = ResourceEventCodec.decode(ResourceEventCodec.encode(event));
+
+        assertEquals(event, decoded);
+    }
+}
@@ -0,0 +1,61 @@
+package com.test.listener;
+
+import com.test.digest.DigestAggregator;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.Map;
+import java.util.Set;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class DigestOffsetCommitterTest {
+    public static final TopicPartition HELD = new TopicPartition(ResourceEventListener.NOTIFICATION_TOPIC, 0);
+    public static final TopicPartition SENT = new TopicPartition(ResourceEventListener.NOTIFICATION_TOPIC, 1);
+    public static final TopicPartition OTHER = new TopicPartition("resourceStateTopic", 0);
+    @Mock
+    private DigestAggregator digestAggregator;
+    @Mock
+    private Consumer<String, Object> consumer;
+    private DigestOffsetCommitter committer;
+
+    @BeforeEach
+    void setUp() {
+        committer = new DigestOffsetCommitter(digestAggregator, 5000);
+        when(consumer.assignment()).thenReturn(Set.of(HELD, SENT, OTHER));
+        when(consumer.position(HELD)).thenReturn(20L);
+        when(consumer.position(SENT)).thenReturn(30L);
+    }
+
+    @Test
+    void commit_ShouldStopAtLowestHeldOffsetAndSkipOtherTopics() {
+        when(digestAggregator.lowestHeldOffsets()).thenReturn(Map.of(HELD, 12L));
+        committer.commit(consumer);
+        verify(consumer).commitSync(Map.of(HELD, new OffsetAndMetadata(12L), SENT, new OffsetAndMetadata(30L)));
+    }
+
+    @Test
+    void commit_WhenNothingMoved_ShouldNotCommitAgain() {
+        when(digestAggregator.lowestHeldOffsets()).thenReturn(Map.of());
+        committer.commit(consumer);
+        verify(consumer).commitSync(Map.of(HELD, new OffsetAndMetadata(20L), SENT, new OffsetAndMetadata(30L)));
+        committer.commit(consumer);
+        verify(consumer).commitSync(anyMap());
+    }
+
+    @Test
+    void commit_WhenWindowSent_ShouldCommitUpToPosition() {
+        when(digestAggregator.lowestHeldOffsets()).thenReturn(Map.of(HELD, 12L), Map.of());
+        committer.commit(consumer);
+        committer.commit(consumer);
+        verify(consumer).commitSync(Map.of(HELD, new OffsetAndMetadata(12L), SENT, new OffsetAndMetadata(30L)));
+        verify(consumer).commitSync(Map.of(HELD, new OffsetAndMetadata(20L)));
+    }
+}
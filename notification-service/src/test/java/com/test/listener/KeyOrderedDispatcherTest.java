@@ -0,0 +1,103 @@
+package com.test.listener;
+
+import lombok.Value;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KeyOrderedDispatcherTest {
+    public static final String SLOW = "slow";
+    public static final String FAST = "fast";
+    public static final String FAILING = "failing";
+    public static final int KEYS = 8;
+    public static final int ITEMS_PER_KEY = 200;
+    public static final long TIMEOUT_SECONDS = 10;
+    private final KeyOrderedDispatcher dispatcher = new KeyOrderedDispatcher();
+
+    @AfterEach
+    void tearDown() {
+        dispatcher.shutdown();
+    }
+
+    @Test
+    void dispatch_WhenKeysInterleaved_ShouldHandleEachKeyInOrder() {
+        List<Item> items = new ArrayList<>();
+        for (int sequence = 0; sequence < ITEMS_PER_KEY; sequence++) {
+            for (int key = 0; key < KEYS; key++) {
+                items.add(new Item(String.valueOf(key), sequence));
+            }
+        }
+        Map<String, Queue<Integer>> handled = new ConcurrentHashMap<>();
+        dispatcher.dispatch(items, Item::getKey, item ->
+                handled.computeIfAbsent(item.getKey(), k -> new ConcurrentLinkedQueue<>()).add(item.getSequence()));
+        assertEquals(KEYS, handled.size());
+        for (Queue<Integer> sequences : handled.values()) {
+            List<Integer> expected = new ArrayList<>();
+            for (int sequence = 0; sequence < ITEMS_PER_KEY; sequence++) {
+                expected.add(sequence);
+            }
+            assertEquals(expected, new ArrayList<>(sequences));
+        }
+    }
+
+    @Test
+    void dispatch_WhenOneKeyIsSlow_ShouldNotHoldUpOtherKeys() {
+        // the slow key's first item waits until every fast item is done, which never happens if they queue behind it
+        CountDownLatch fastDone = new CountDownLatch(ITEMS_PER_KEY);
+        AtomicBoolean slowSawFastDone = new AtomicBoolean();
+        List<Item> items = new ArrayList<>();
+        items.add(new Item(SLOW, 0));
+        for (int sequence = 0; sequence < ITEMS_PER_KEY; sequence++) {
+            items.add(new Item(FAST, sequence));
+        }
+        dispatcher.dispatch(items, Item::getKey, item -> {
+            if (SLOW.equals(item.getKey())) {
+                slowSawFastDone.set(await(fastDone));
+            } else {
+                fastDone.countDown();
+            }
+        });
+        assertTrue(slowSawFastDone.get());
+    }
+
+    @Test
+    void dispatch_WhenHandlerFails_ShouldFinishOtherKeysAndThenThrow() {
+        Queue<Integer> handled = new ConcurrentLinkedQueue<>();
+        List<Item> items = List.of(new Item(FAILING, 0), new Item(FAST, 0), new Item(FAST, 1));
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () ->
+                dispatcher.dispatch(items, Item::getKey, item -> {
+                    if (FAILING.equals(item.getKey())) {
+                        throw new IllegalArgumentException(FAILING);
+                    }
+                    handled.add(item.getSequence());
+                }));
+        assertEquals(FAILING, ex.getCause().getMessage());
+        assertEquals(List.of(0, 1), new ArrayList<>(handled));
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @Value
+    private static class Item {
+        String key;
+        int sequence;
+    }
+}
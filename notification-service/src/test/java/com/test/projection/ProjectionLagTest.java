@@ -0,0 +1,53 @@
+package com.test.projection;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProjectionLagTest {
+    public static final String TOPIC = "resourceStateTopic";
+    public static final TopicPartition PARTITION_0 = new TopicPartition(TOPIC, 0);
+    public static final TopicPartition PARTITION_1 = new TopicPartition(TOPIC, 1);
+    public static final long TIMESTAMP = 1_000_000L;
+    public static final long SECOND = 1_000L;
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ProjectionLag projectionLag = new ProjectionLag(meterRegistry, new ResourceProjection());
+
+    @Test
+    void lagMs_ShouldBeAgeOfLastAppliedRecordWhileBehind() {
+        projectionLag.record(PARTITION_0, TIMESTAMP, 5);
+        assertEquals(SECOND, projectionLag.lagMs(TIMESTAMP + SECOND));
+        assertEquals(5, projectionLag.recordsBehind());
+        assertEquals(5.0, meterRegistry.get(ProjectionLag.METRIC_LAG_RECORDS).gauge().value());
+    }
+
+    @Test
+    void record_WhenBatchHasNoRecordsOfPartition_ShouldKeepPreviousTimestamp() {
+        projectionLag.record(PARTITION_0, TIMESTAMP, 5);
+        projectionLag.record(PARTITION_0, null, 3);
+        assertEquals(2 * SECOND, projectionLag.lagMs(TIMESTAMP + 2 * SECOND));
+        assertEquals(3, projectionLag.recordsBehind());
+    }
+
+    @Test
+    void record_WhenPartitionNeverHadRecords_ShouldStartCountingFromNow() {
+        long before = System.currentTimeMillis();
+        projectionLag.record(PARTITION_0, null, 2);
+        long after = System.currentTimeMillis();
+        long lagMs = projectionLag.lagMs(after + SECOND);
+        assertTrue(lagMs >= SECOND && lagMs <= SECOND + after - before);
+    }
+
+    @Test
+    void lagMs_WhenCaughtUp_ShouldIgnorePartition() {
+        projectionLag.record(PARTITION_0, TIMESTAMP, 0);
+        projectionLag.record(PARTITION_1, TIMESTAMP + SECOND, 4);
+        assertEquals(SECOND, projectionLag.lagMs(TIMESTAMP + 2 * SECOND));
+        projectionLag.record(PARTITION_1, null, 0);
+        assertEquals(0, projectionLag.lagMs(TIMESTAMP + 2 * SECOND));
+        assertEquals(0, projectionLag.recordsBehind());
+    }
+}
@@ -0,0 +1,128 @@
+package com.test.projection;
+
+import com.test.event.ResourceChangeType;
+import com.test.event.ResourceEvent;
+import com.test.model.Characteristic;
+import com.test.model.CharacteristicType;
+import com.test.model.Location;
+import com.test.model.Resource;
+import com.test.model.ResourceType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceProjectionTest {
+    public static final String EE = "EE";
+    public static final String FI = "FI";
+    public static final String TALLINN = "Tallinn";
+    public static final String CODE_1 = "1";
+    public static final String NUMBER_220 = "220";
+    public static final int LIMIT = 10;
+    private final ResourceProjection projection = new ResourceProjection();
+
+    @Test
+    void apply_ShouldHoldResourceWithItsVersion() {
+        projection.apply(snapshot(1L, 1L, ResourceType.METERING_POINT, EE));
+        ProjectedResource resource = projection.get(1L).orElseThrow();
+        assertEquals(ResourceType.METERING_POINT, resource.getResourceType());
+        assertEquals(EE, resource.getCountryCode());
+        assertEquals(TALLINN, resource.getCity());
+        assertEquals(List.of(new ProjectedCharacteristic(CODE_1, CharacteristicType.CONSUMPTION_TYPE, NUMBER_220)),
+                resource.getCharacteristics());
+        assertEquals(1L, resource.getVersion());
+        assertEquals(1, projection.size());
+    }
+
+    @Test
+    void apply_WhenVersionNotNewer_ShouldKeepHeldResource() {
+        projection.apply(snapshot(1L, 2L, ResourceType.METERING_POINT, EE));
+        ProjectedResource held = projection.get(1L).orElseThrow();
+        projection.apply(snapshot(1L, 1L, ResourceType.CONNECTION_POINT, FI));
+        projection.apply(snapshot(1L, 2L, ResourceType.CONNECTION_POINT, FI));
+        assertSame(held, projection.get(1L).orElseThrow());
+        assertEquals(List.of(held), projection.find(ResourceType.METERING_POINT, EE, null, LIMIT));
+        assertTrue(projection.find(ResourceType.CONNECTION_POINT, null, null, LIMIT).isEmpty());
+        assertEquals(1, projection.size());
+    }
+
+    @Test
+    void apply_WhenTypeAndCountryChange_ShouldMoveResourceBetweenIndexes() {
+        projection.apply(snapshot(1L, 1L, ResourceType.METERING_POINT, EE));
+        projection.apply(snapshot(1L, 2L, ResourceType.CONNECTION_POINT, FI));
+        assertTrue(projection.find(ResourceType.METERING_POINT, null, null, LIMIT).isEmpty());
+        assertTrue(projection.find(null, EE, null, LIMIT).isEmpty());
+        assertEquals(List.of(1L), ids(projection.find(ResourceType.CONNECTION_POINT, null, null, LIMIT)));
+        assertEquals(List.of(1L), ids(projection.find(null, FI, null, LIMIT)));
+        assertEquals(1, projection.size());
+    }
+
+    @Test
+    void remove_ShouldDropResourceFromEveryIndex() {
+        projection.apply(snapshot(1L, 1L, ResourceType.METERING_POINT, EE));
+        projection.remove(1L, 2L);
+        assertTrue(projection.get(1L).isEmpty());
+        assertTrue(projection.find(ResourceType.METERING_POINT, null, null, LIMIT).isEmpty());
+        assertTrue(projection.find(null, EE, null, LIMIT).isEmpty());
+        assertTrue(projection.find(null, null, null, LIMIT).isEmpty());
+        assertEquals(0, projection.size());
+    }
+
+    @Test
+    void apply_WhenRedeliveredAfterRemove_ShouldNotBringResourceBack() {
+        projection.apply(snapshot(1L, 1L, ResourceType.METERING_POINT, EE));
+        projection.remove(1L, 2L);
+        projection.apply(snapshot(1L, 1L, ResourceType.METERING_POINT, EE));
+        projection.apply(snapshot(1L, 2L, ResourceType.METERING_POINT, EE));
+        assertTrue(projection.get(1L).isEmpty());
+        assertEquals(0, projection.size());
+    }
+
+    @Test
+    void remove_WhenResourceNotHeld_ShouldStillRejectOlderRecords() {
+        projection.remove(1L, 3L);
+        projection.apply(snapshot(1L, 2L, ResourceType.METERING_POINT, EE));
+        assertTrue(projection.get(1L).isEmpty());
+        projection.apply(snapshot(1L, 4L, ResourceType.METERING_POINT, EE));
+        assertEquals(4L, projection.get(1L).orElseThrow().getVersion());
+    }
+
+    @Test
+    void find_WithCursor_ShouldPageInIdOrderAcrossFilters() {
+        projection.apply(snapshot(5L, 1L, ResourceType.METERING_POINT, EE));
+        projection.apply(snapshot(1L, 1L, ResourceType.METERING_POINT, EE));
+        projection.apply(snapshot(3L, 1L, ResourceType.CONNECTION_POINT, EE));
+        projection.apply(snapshot(2L, 1L, ResourceType.METERING_POINT, FI));
+        projection.apply(snapshot(4L, 1L, ResourceType.METERING_POINT, EE));
+        assertEquals(List.of(1L, 4L), ids(projection.find(ResourceType.METERING_POINT, EE, null, 2)));
+        assertEquals(List.of(5L), ids(projection.find(ResourceType.METERING_POINT, EE, 4L, 2)));
+        assertEquals(List.of(2L, 4L), ids(projection.find(ResourceType.METERING_POINT, null, 1L, 2)));
+        assertEquals(List.of(3L, 4L, 5L), ids(projection.find(null, EE, 1L, LIMIT)));
+        assertEquals(List.of(3L, 4L), ids(projection.find(null, null, 2L, 2)));
+        assertTrue(projection.find(ResourceType.METERING_POINT, EE, 5L, LIMIT).isEmpty());
+        assertTrue(projection.find(null, "LV", null, LIMIT).isEmpty());
+    }
+
+    private static List<Long> ids(List<ProjectedResource> resources) {
+        return resources.stream().map(ProjectedResource::getId).toList();
+    }
+
+    private static ResourceEvent snapshot(Long id, Long version, ResourceType resourceType, String countryCode) {
+        Location location = new Location();
+        location.setCity(TALLINN);
+        location.setCountryCode(countryCode);
+        Characteristic characteristic = new Characteristic();
+        characteristic.setCode(CODE_1);
+        characteristic.setCharacteristicType(CharacteristicType.CONSUMPTION_TYPE);
+        characteristic.setCharacteristicValue(NUMBER_220);
+        Resource resource = new Resource();
+        resource.setId(id);
+        resource.setResourceType(resourceType);
+        resource.setCountryCode(countryCode);
+        resource.setLocation(location);
+        resource.setCharacteristics(List.of(characteristic));
+        resource.setVersion(version);
+        return new ResourceEvent(ResourceChangeType.SNAPSHOT, id, version, resource, null, null, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.test.events;
+
+public interface CharacteristicFields<K extends Enum<K>> {
+    Long getId();
+
+    void setId(Long id);
+
+    String getCode();
+
+    void setCode(String code);
+
+    K getCharacteristicType();
+
+    void setCharacteristicType(K characteristicType);
+
+    String getCharacteristicValue();
+
+    void setCharacteristicValue(String characteristicValue);
+}
@@ -0,0 +1,127 @@
+package com.test.events;
+
+import java.nio.charset.StandardCharsets;
+
+public final class EventReader {
+    private final byte[] data;
+    private final int limit;
+    private int position;
+    private int wireType;
+
+    private EventReader(byte[] data, int offset, int limit) {
+        this.data = data;
+        this.position = offset;
+        this.limit = limit;
+    }
+
+    public static EventReader of(byte[] data) {
+        if (!ResourceEventSchema.isBinary(data)) {
+            throw new IllegalArgumentException("Payload is not a binary resource event");
+        }
+        if (data[1] != ResourceEventSchema.VERSION) {
+            throw new IllegalArgumentException("Unsupported resource event schema version " + data[1]);
+        }
+        return new EventReader(data, 2, data.length);
+    }
+
+    public boolean hasNext() {
+        return position < limit;
+    }
+
+    public int nextField() {
+        long tag = readVarint();
+        wireType = (int) (tag & 0x7);
+        return (int) (tag >>> 3);
+    }
+
+    public Long readLong() {
+        expect(WireType.VARINT);
+        return readVarint();
+    }
+
+    public Integer readInt() {
+        expect(WireType.VARINT);
+        int value = (int) readVarint();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    public Double readDouble() {
+        expect(WireType.FIXED64);
+        return Double.longBitsToDouble(readFixed64());
+    }
+
+    // unknown ordinals come from a newer producer; they read as null instead of failing the whole event
+    public <E extends Enum<E>> E readEnum(E[] values) {
+        expect(WireType.VARINT);
+        long ordinal = readVarint();
+        return ordinal < values.length ? values[(int) ordinal] : null;
+    }
+
+    public String readString() {
+        expect(WireType.LENGTH_DELIMITED);
+        int length = readLength();
+        String value = new String(data, position, length, StandardCharsets.UTF_8);
+        position += length;
+        return value;
+    }
+
+    public EventReader readMessage() {
+        expect(WireType.LENGTH_DELIMITED);
+        int length = readLength();
+        EventReader message = new EventReader(data, position, position + length);
+        position += length;
+        return message;
+    }
+
+    public void skip() {
+        switch (wireType) {
+            case WireType.VARINT -> readVarint();
+            case WireType.FIXED64 -> readFixed64();
+            case WireType.LENGTH_DELIMITED -> {
+                int length = readLength();
+                position += length;
+            }
+            default -> throw new IllegalArgumentException("Unknown wire type " + wireType);
+        }
+    }
+
+    private int readLength() {
+        long length = readVarint();
+        if (length < 0 || length > limit - position) {
+            throw new IllegalArgumentException("Truncated resource event");
+        }
+        return (int) length;
+    }
+
+    private long readVarint() {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            if (position >= limit) {
+                throw new IllegalArgumentException("Truncated resource event");
+            }
+            byte b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint in resource event");
+    }
+
+    private long readFixed64() {
+        if (limit - position < Long.BYTES) {
+            throw new IllegalArgumentException("Truncated resource event");
+        }
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value |= (long) (data[position++] & 0xFF) << (i * 8);
+        }
+        return value;
+    }
+
+    private void expect(int expected) {
+        if (wireType != expected) {
+            throw new IllegalArgumentException("Unexpected wire type " + wireType + ", expected " + expected);
+        }
+    }
+}
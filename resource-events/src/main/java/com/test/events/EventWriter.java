@@ -0,0 +1,119 @@
+package com.test.events;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public final class EventWriter {
+    private byte[] buffer;
+    private int position;
+
+    public EventWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(initialCapacity, 16)];
+        ensureCapacity(2);
+        buffer[position++] = ResourceEventSchema.MAGIC;
+        buffer[position++] = ResourceEventSchema.VERSION;
+    }
+
+    public EventWriter writeLong(int fieldId, Long value) {
+        if (value != null) {
+            writeTag(fieldId, WireType.VARINT);
+            writeVarint(value);
+        }
+        return this;
+    }
+
+    public EventWriter writeInt(int fieldId, Integer value) {
+        if (value != null) {
+            writeTag(fieldId, WireType.VARINT);
+            writeVarint(Integer.toUnsignedLong((value << 1) ^ (value >> 31)));
+        }
+        return this;
+    }
+
+    // IEEE 754 bits, little-endian: always 8 bytes, where a varint of the bits of a typical coordinate takes 10
+    public EventWriter writeDouble(int fieldId, Double value) {
+        if (value != null) {
+            writeTag(fieldId, WireType.FIXED64);
+            long bits = Double.doubleToRawLongBits(value);
+            ensureCapacity(Long.BYTES);
+            for (int i = 0; i < Long.BYTES; i++) {
+                buffer[position++] = (byte) (bits >>> (i * 8));
+            }
+        }
+        return this;
+    }
+
+    public EventWriter writeEnum(int fieldId, Enum<?> value) {
+        if (value != null) {
+            writeTag(fieldId, WireType.VARINT);
+            writeVarint(value.ordinal());
+        }
+        return this;
+    }
+
+    public EventWriter writeString(int fieldId, String value) {
+        if (value != null) {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            writeTag(fieldId, WireType.LENGTH_DELIMITED);
+            writeVarint(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+        return this;
+    }
+
+    // reserves one length byte and shifts the body in endMessage only when the nested message exceeds 127 bytes
+    public int beginMessage(int fieldId) {
+        writeTag(fieldId, WireType.LENGTH_DELIMITED);
+        ensureCapacity(1);
+        return position++;
+    }
+
+    public EventWriter endMessage(int mark) {
+        int length = position - mark - 1;
+        int lengthSize = varintSize(length);
+        if (lengthSize > 1) {
+            ensureCapacity(lengthSize - 1);
+            System.arraycopy(buffer, mark + 1, buffer, mark + lengthSize, length);
+            position += lengthSize - 1;
+        }
+        int end = position;
+        position = mark;
+        writeVarint(length);
+        position = end;
+        return this;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    private void writeTag(int fieldId, int wireType) {
+        writeVarint(((long) fieldId << 3) | wireType);
+    }
+
+    private void writeVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    private void ensureCapacity(int additional) {
+        if (position + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + additional));
+        }
+    }
+}
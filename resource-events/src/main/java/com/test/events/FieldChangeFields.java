@@ -0,0 +1,15 @@
+package com.test.events;
+
+public interface FieldChangeFields {
+    String getField();
+
+    void setField(String field);
+
+    String getOldValue();
+
+    void setOldValue(String oldValue);
+
+    String getNewValue();
+
+    void setNewValue(String newValue);
+}
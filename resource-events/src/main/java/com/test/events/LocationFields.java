@@ -0,0 +1,31 @@
+package com.test.events;
+
+public interface LocationFields {
+    Long getId();
+
+    void setId(Long id);
+
+    String getStreetAddress();
+
+    void setStreetAddress(String streetAddress);
+
+    String getCity();
+
+    void setCity(String city);
+
+    Integer getPostalCode();
+
+    void setPostalCode(Integer postalCode);
+
+    String getCountryCode();
+
+    void setCountryCode(String countryCode);
+
+    Double getLatitude();
+
+    void setLatitude(Double latitude);
+
+    Double getLongitude();
+
+    void setLongitude(Double longitude);
+}
@@ -0,0 +1,36 @@
+package com.test.events;
+
+import java.util.List;
+
+// What a service's event class exposes to ResourceEventFormat; its model classes implement the other *Fields
+// interfaces, so the Lombok accessors they already have are all the format needs.
+public interface ResourceEventFields<X extends Enum<X>, R extends ResourceFields<?, ?, C>,
+        F extends FieldChangeFields, C extends CharacteristicFields<?>> {
+    X getChangeType();
+
+    void setChangeType(X changeType);
+
+    Long getResourceId();
+
+    void setResourceId(Long resourceId);
+
+    Long getVersion();
+
+    void setVersion(Long version);
+
+    R getResource();
+
+    void setResource(R resource);
+
+    List<F> getChanges();
+
+    void setChanges(List<F> changes);
+
+    List<C> getAddedCharacteristics();
+
+    void setAddedCharacteristics(List<C> addedCharacteristics);
+
+    List<C> getRemovedCharacteristics();
+
+    void setRemovedCharacteristics(List<C> removedCharacteristics);
+}
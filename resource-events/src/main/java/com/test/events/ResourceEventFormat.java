@@ -0,0 +1,207 @@
+package com.test.events;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import static com.test.events.ResourceEventSchema.CHARACTERISTIC_CODE;
+import static com.test.events.ResourceEventSchema.CHARACTERISTIC_ID;
+import static com.test.events.ResourceEventSchema.CHARACTERISTIC_TYPE;
+import static com.test.events.ResourceEventSchema.CHARACTERISTIC_VALUE;
+import static com.test.events.ResourceEventSchema.EVENT_ADDED_CHARACTERISTIC;
+import static com.test.events.ResourceEventSchema.EVENT_CHANGE_TYPE;
+import static com.test.events.ResourceEventSchema.EVENT_FIELD_CHANGE;
+import static com.test.events.ResourceEventSchema.EVENT_REMOVED_CHARACTERISTIC;
+import static com.test.events.ResourceEventSchema.EVENT_RESOURCE;
+import static com.test.events.ResourceEventSchema.EVENT_RESOURCE_ID;
+import static com.test.events.ResourceEventSchema.EVENT_VERSION;
+import static com.test.events.ResourceEventSchema.FIELD_CHANGE_FIELD;
+import static com.test.events.ResourceEventSchema.FIELD_CHANGE_NEW_VALUE;
+import static com.test.events.ResourceEventSchema.FIELD_CHANGE_OLD_VALUE;
+import static com.test.events.ResourceEventSchema.LOCATION_CITY;
+import static com.test.events.ResourceEventSchema.LOCATION_COUNTRY_CODE;
+import static com.test.events.ResourceEventSchema.LOCATION_ID;
+import static com.test.events.ResourceEventSchema.LOCATION_LATITUDE;
+import static com.test.events.ResourceEventSchema.LOCATION_LONGITUDE;
+import static com.test.events.ResourceEventSchema.LOCATION_POSTAL_CODE;
+import static com.test.events.ResourceEventSchema.LOCATION_STREET_ADDRESS;
+import static com.test.events.ResourceEventSchema.RESOURCE_CHARACTERISTIC;
+import static com.test.events.ResourceEventSchema.RESOURCE_COUNTRY_CODE;
+import static com.test.events.ResourceEventSchema.RESOURCE_ID;
+import static com.test.events.ResourceEventSchema.RESOURCE_LOCATION;
+import static com.test.events.ResourceEventSchema.RESOURCE_TYPE;
+import static com.test.events.ResourceEventSchema.RESOURCE_VERSION;
+
+// The one mapping between the resource event classes and the binary format. Producer and consumer have their own
+// event and model classes, so each passes in how to create them and the constants of its enums; a field added here
+// is written and read by both.
+public final class ResourceEventFormat<E extends ResourceEventFields<X, R, F, C>, X extends Enum<X>,
+        R extends ResourceFields<T, L, C>, T extends Enum<T>, L extends LocationFields,
+        C extends CharacteristicFields<K>, K extends Enum<K>, F extends FieldChangeFields> {
+    private static final int INITIAL_CAPACITY = 256;
+    private final Supplier<E> events;
+    private final X[] changeTypes;
+    private final Supplier<R> resources;
+    private final T[] resourceTypes;
+    private final Supplier<L> locations;
+    private final Supplier<C> characteristics;
+    private final K[] characteristicTypes;
+    private final Supplier<F> fieldChanges;
+
+    public ResourceEventFormat(Supplier<E> events, X[] changeTypes, Supplier<R> resources, T[] resourceTypes,
+                               Supplier<L> locations, Supplier<C> characteristics, K[] characteristicTypes,
+                               Supplier<F> fieldChanges) {
+        this.events = events;
+        this.changeTypes = changeTypes;
+        this.resources = resources;
+        this.resourceTypes = resourceTypes;
+        this.locations = locations;
+        this.characteristics = characteristics;
+        this.characteristicTypes = characteristicTypes;
+        this.fieldChanges = fieldChanges;
+    }
+
+    public byte[] encode(E event) {
+        EventWriter writer = new EventWriter(INITIAL_CAPACITY);
+        writer.writeEnum(EVENT_CHANGE_TYPE, event.getChangeType())
+                .writeLong(EVENT_RESOURCE_ID, event.getResourceId())
+                .writeLong(EVENT_VERSION, event.getVersion());
+        R resource = event.getResource();
+        if (resource != null) {
+            int mark = writer.beginMessage(EVENT_RESOURCE);
+            writeResource(writer, resource);
+            writer.endMessage(mark);
+        }
+        if (event.getChanges() != null) {
+            for (F change : event.getChanges()) {
+                int mark = writer.beginMessage(EVENT_FIELD_CHANGE);
+                writer.writeString(FIELD_CHANGE_FIELD, change.getField())
+                        .writeString(FIELD_CHANGE_OLD_VALUE, change.getOldValue())
+                        .writeString(FIELD_CHANGE_NEW_VALUE, change.getNewValue());
+                writer.endMessage(mark);
+            }
+        }
+        writeCharacteristics(writer, EVENT_ADDED_CHARACTERISTIC, event.getAddedCharacteristics());
+        writeCharacteristics(writer, EVENT_REMOVED_CHARACTERISTIC, event.getRemovedCharacteristics());
+        return writer.toByteArray();
+    }
+
+    public E decode(byte[] data) {
+        EventReader reader = EventReader.of(data);
+        E event = events.get();
+        List<F> changes = new ArrayList<>();
+        List<C> added = new ArrayList<>();
+        List<C> removed = new ArrayList<>();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case EVENT_RESOURCE -> event.setResource(readResource(reader.readMessage()));
+                case EVENT_CHANGE_TYPE -> event.setChangeType(reader.readEnum(changeTypes));
+                case EVENT_RESOURCE_ID -> event.setResourceId(reader.readLong());
+                case EVENT_VERSION -> event.setVersion(reader.readLong());
+                case EVENT_FIELD_CHANGE -> changes.add(readFieldChange(reader.readMessage()));
+                case EVENT_ADDED_CHARACTERISTIC -> added.add(readCharacteristic(reader.readMessage()));
+                case EVENT_REMOVED_CHARACTERISTIC -> removed.add(readCharacteristic(reader.readMessage()));
+                default -> reader.skip();
+            }
+        }
+        event.setChanges(changes);
+        event.setAddedCharacteristics(added);
+        event.setRemovedCharacteristics(removed);
+        return event;
+    }
+
+    private void writeResource(EventWriter writer, R resource) {
+        writer.writeLong(RESOURCE_ID, resource.getId())
+                .writeEnum(RESOURCE_TYPE, resource.getResourceType())
+                .writeString(RESOURCE_COUNTRY_CODE, resource.getCountryCode())
+                .writeLong(RESOURCE_VERSION, resource.getVersion());
+        L location = resource.getLocation();
+        if (location != null) {
+            int mark = writer.beginMessage(RESOURCE_LOCATION);
+            writer.writeLong(LOCATION_ID, location.getId())
+                    .writeString(LOCATION_STREET_ADDRESS, location.getStreetAddress())
+                    .writeString(LOCATION_CITY, location.getCity())
+                    .writeInt(LOCATION_POSTAL_CODE, location.getPostalCode())
+                    .writeString(LOCATION_COUNTRY_CODE, location.getCountryCode())
+                    .writeDouble(LOCATION_LATITUDE, location.getLatitude())
+                    .writeDouble(LOCATION_LONGITUDE, location.getLongitude());
+            writer.endMessage(mark);
+        }
+        writeCharacteristics(writer, RESOURCE_CHARACTERISTIC, resource.getCharacteristics());
+    }
+
+    private void writeCharacteristics(EventWriter writer, int fieldId, List<C> characteristics) {
+        if (characteristics == null) {
+            return;
+        }
+        for (C characteristic : characteristics) {
+            int mark = writer.beginMessage(fieldId);
+            writer.writeLong(CHARACTERISTIC_ID, characteristic.getId())
+                    .writeString(CHARACTERISTIC_CODE, characteristic.getCode())
+                    .writeEnum(CHARACTERISTIC_TYPE, characteristic.getCharacteristicType())
+                    .writeString(CHARACTERISTIC_VALUE, characteristic.getCharacteristicValue());
+            writer.endMessage(mark);
+        }
+    }
+
+    private R readResource(EventReader reader) {
+        R resource = resources.get();
+        List<C> resourceCharacteristics = new ArrayList<>();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case RESOURCE_ID -> resource.setId(reader.readLong());
+                case RESOURCE_TYPE -> resource.setResourceType(reader.readEnum(resourceTypes));
+                case RESOURCE_COUNTRY_CODE -> resource.setCountryCode(reader.readString());
+                case RESOURCE_LOCATION -> resource.setLocation(readLocation(reader.readMessage()));
+                case RESOURCE_CHARACTERISTIC -> resourceCharacteristics.add(readCharacteristic(reader.readMessage()));
+                case RESOURCE_VERSION -> resource.setVersion(reader.readLong());
+                default -> reader.skip();
+            }
+        }
+        resource.setCharacteristics(resourceCharacteristics);
+        return resource;
+    }
+
+    private L readLocation(EventReader reader) {
+        L location = locations.get();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case LOCATION_ID -> location.setId(reader.readLong());
+                case LOCATION_STREET_ADDRESS -> location.setStreetAddress(reader.readString());
+                case LOCATION_CITY -> location.setCity(reader.readString());
+                case LOCATION_POSTAL_CODE -> location.setPostalCode(reader.readInt());
+                case LOCATION_COUNTRY_CODE -> location.setCountryCode(reader.readString());
+                case LOCATION_LATITUDE -> location.setLatitude(reader.readDouble());
+                case LOCATION_LONGITUDE -> location.setLongitude(reader.readDouble());
+                default -> reader.skip();
+            }
+        }
+        return location;
+    }
+
+    private C readCharacteristic(EventReader reader) {
+        C characteristic = characteristics.get();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case CHARACTERISTIC_ID -> characteristic.setId(reader.readLong());
+                case CHARACTERISTIC_CODE -> characteristic.setCode(reader.readString());
+                case CHARACTERISTIC_TYPE -> characteristic.setCharacteristicType(reader.readEnum(characteristicTypes));
+                case CHARACTERISTIC_VALUE -> characteristic.setCharacteristicValue(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return characteristic;
+    }
+
+    private F readFieldChange(EventReader reader) {
+        F change = fieldChanges.get();
+        while (reader.hasNext()) {
+            switch (reader.nextField()) {
+                case FIELD_CHANGE_FIELD -> change.setField(reader.readString());
+                case FIELD_CHANGE_OLD_VALUE -> change.setOldValue(reader.readString());
+                case FIELD_CHANGE_NEW_VALUE -> change.setNewValue(reader.readString());
+                default -> reader.skip();
+            }
+        }
+        return change;
+    }
+}
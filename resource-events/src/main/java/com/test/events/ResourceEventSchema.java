@@ -0,0 +1,48 @@
+package com.test.events;
+
+// Enums travel as ordinals: constants of ResourceType, CharacteristicType and ResourceChangeType may only be appended,
+// never reordered.
+// Field ids are never reused; new fields get new ids and older readers skip them.
+public final class ResourceEventSchema {
+    public static final byte MAGIC = (byte) 0xB1;
+    public static final byte VERSION = 1;
+
+    public static final int EVENT_RESOURCE = 1;
+    public static final int EVENT_CHANGE_TYPE = 2;
+    public static final int EVENT_RESOURCE_ID = 3;
+    public static final int EVENT_VERSION = 4;
+    public static final int EVENT_FIELD_CHANGE = 5;
+    public static final int EVENT_ADDED_CHARACTERISTIC = 6;
+    public static final int EVENT_REMOVED_CHARACTERISTIC = 7;
+
+    public static final int RESOURCE_ID = 1;
+    public static final int RESOURCE_TYPE = 2;
+    public static final int RESOURCE_COUNTRY_CODE = 3;
+    public static final int RESOURCE_LOCATION = 4;
+    public static final int RESOURCE_CHARACTERISTIC = 5;
+    public static final int RESOURCE_VERSION = 6;
+
+    public static final int LOCATION_ID = 1;
+    public static final int LOCATION_STREET_ADDRESS = 2;
+    public static final int LOCATION_CITY = 3;
+    public static final int LOCATION_POSTAL_CODE = 4;
+    public static final int LOCATION_COUNTRY_CODE = 5;
+    public static final int LOCATION_LATITUDE = 6;
+    public static final int LOCATION_LONGITUDE = 7;
+
+    public static final int CHARACTERISTIC_ID = 1;
+    public static final int CHARACTERISTIC_CODE = 2;
+    public static final int CHARACTERISTIC_TYPE = 3;
+    public static final int CHARACTERISTIC_VALUE = 4;
+
+    public static final int FIELD_CHANGE_FIELD = 1;
+    public static final int FIELD_CHANGE_OLD_VALUE = 2;
+    public static final int FIELD_CHANGE_NEW_VALUE = 3;
+
+    private ResourceEventSchema() {
+    }
+
+    public static boolean isBinary(byte[] data) {
+        return data != null && data.length >= 2 && data[0] == MAGIC;
+    }
+}
@@ -0,0 +1,29 @@
+package com.test.events;
+
+import java.util.List;
+
+public interface ResourceFields<T extends Enum<T>, L extends LocationFields, C extends CharacteristicFields<?>> {
+    Long getId();
+
+    void setId(Long id);
+
+    T getResourceType();
+
+    void setResourceType(T resourceType);
+
+    String getCountryCode();
+
+    void setCountryCode(String countryCode);
+
+    L getLocation();
+
+    void setLocation(L location);
+
+    List<C> getCharacteristics();
+
+    void setCharacteristics(List<C> characteristics);
+
+    Long getVersion();
+
+    void setVersion(Long version);
+}
@@ -0,0 +1,10 @@
+package com.test.events;
+
+public final class WireType {
+    public static final int VARINT = 0;
+    public static final int FIXED64 = 1;
+    public static final int LENGTH_DELIMITED = 2;
+
+    private WireType() {
+    }
+}
@@ -0,0 +1,163 @@
+package com.test.events;
+
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class EventReaderTest {
+    public static final String TALLINN = "Tallinn";
+    public static final String UNKNOWN = "unknown";
+    public static final int HEADER_SIZE = 2;
+
+    enum Colour { RED, GREEN }
+
+    @Test
+    void read_ShouldRoundTripEveryFieldType() {
+        EventWriter writer = new EventWriter(16)
+                .writeLong(1, Long.MAX_VALUE)
+                .writeLong(2, -1L)
+                .writeInt(3, Integer.MIN_VALUE)
+                .writeInt(4, -1)
+                .writeInt(5, 10115)
+                .writeDouble(6, 59.437)
+                .writeDouble(7, -0.0)
+                .writeEnum(8, Colour.GREEN)
+                .writeString(9, TALLINN);
+
+        EventReader reader = EventReader.of(writer.toByteArray());
+
+        assertEquals(1, reader.nextField());
+        assertEquals(Long.MAX_VALUE, reader.readLong());
+        assertEquals(2, reader.nextField());
+        assertEquals(-1L, reader.readLong());
+        assertEquals(3, reader.nextField());
+        assertEquals(Integer.MIN_VALUE, reader.readInt());
+        assertEquals(4, reader.nextField());
+        assertEquals(-1, reader.readInt());
+        assertEquals(5, reader.nextField());
+        assertEquals(10115, reader.readInt());
+        assertEquals(6, reader.nextField());
+        assertEquals(59.437, reader.readDouble());
+        assertEquals(7, reader.nextField());
+        assertEquals(-0.0, reader.readDouble());
+        assertEquals(8, reader.nextField());
+        assertEquals(Colour.GREEN, reader.readEnum(Colour.values()));
+        assertEquals(9, reader.nextField());
+        assertEquals(TALLINN, reader.readString());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void writeDouble_ShouldTakeEightBytesAfterTheTag() {
+        byte[] data = new EventWriter(16).writeDouble(1, 24.7536).toByteArray();
+
+        assertEquals(HEADER_SIZE + 1 + Long.BYTES, data.length);
+        assertEquals((1 << 3) | WireType.FIXED64, data[HEADER_SIZE]);
+    }
+
+    @Test
+    void write_ShouldOmitNullFields() {
+        byte[] data = new EventWriter(16)
+                .writeLong(1, null)
+                .writeInt(2, null)
+                .writeDouble(3, null)
+                .writeEnum(4, null)
+                .writeString(5, null)
+                .toByteArray();
+
+        assertEquals(HEADER_SIZE, data.length);
+        assertFalse(EventReader.of(data).hasNext());
+    }
+
+    @Test
+    void skip_ShouldStepOverUnknownFieldsOfEveryWireType() {
+        EventWriter writer = new EventWriter(16)
+                .writeLong(100, 300L)
+                .writeDouble(101, 1.5)
+                .writeString(102, UNKNOWN);
+        int mark = writer.beginMessage(103);
+        writer.writeString(1, UNKNOWN);
+        writer.endMessage(mark);
+        writer.writeString(1, TALLINN);
+
+        EventReader reader = EventReader.of(writer.toByteArray());
+        int field = reader.nextField();
+        while (field != 1) {
+            reader.skip();
+            field = reader.nextField();
+        }
+
+        assertEquals(TALLINN, reader.readString());
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void readEnum_WhenOrdinalIsUnknown_ShouldReturnNull() {
+        byte[] data = new EventWriter(16).writeLong(1, (long) Colour.values().length).toByteArray();
+
+        EventReader reader = EventReader.of(data);
+        reader.nextField();
+
+        assertNull(reader.readEnum(Colour.values()));
+        assertFalse(reader.hasNext());
+    }
+
+    @Test
+    void readMessage_ShouldRoundTripMessagesLongerThanOneLengthByte() {
+        String street = "x".repeat(200);
+        EventWriter writer = new EventWriter(16);
+        int mark = writer.beginMessage(1);
+        writer.writeString(1, street).writeLong(2, 7L);
+        writer.endMessage(mark);
+        writer.writeLong(2, 8L);
+
+        EventReader reader = EventReader.of(writer.toByteArray());
+        reader.nextField();
+        EventReader message = reader.readMessage();
+
+        message.nextField();
+        assertEquals(street, message.readString());
+        message.nextField();
+        assertEquals(7L, message.readLong());
+        assertFalse(message.hasNext());
+        assertEquals(2, reader.nextField());
+        assertEquals(8L, reader.readLong());
+    }
+
+    @Test
+    void read_WhenWireTypeDoesNotMatch_ShouldThrow() {
+        EventReader reader = EventReader.of(new EventWriter(16).writeString(1, TALLINN).toByteArray());
+        reader.nextField();
+
+        assertThrows(IllegalArgumentException.class, reader::readLong);
+    }
+
+    @Test
+    void read_WhenTruncated_ShouldThrow() {
+        byte[] string = new EventWriter(16).writeString(1, TALLINN).toByteArray();
+        byte[] fixed = new EventWriter(16).writeDouble(1, 1.5).toByteArray();
+
+        EventReader stringReader = EventReader.of(Arrays.copyOf(string, string.length - 1));
+        stringReader.nextField();
+        EventReader fixedReader = EventReader.of(Arrays.copyOf(fixed, fixed.length - 1));
+        fixedReader.nextField();
+
+        assertThrows(IllegalArgumentException.class, stringReader::readString);
+        assertThrows(IllegalArgumentException.class, fixedReader::skip);
+    }
+
+    @Test
+    void of_WhenHeaderIsWrong_ShouldThrow() {
+        byte[] data = new EventWriter(16).toByteArray();
+        byte[] newer = data.clone();
+        newer[1]++;
+
+        assertArrayEquals(new byte[]{ResourceEventSchema.MAGIC, ResourceEventSchema.VERSION}, data);
+        assertThrows(IllegalArgumentException.class, () -> EventReader.of(newer));
+        assertThrows(IllegalArgumentException.class, () -> EventReader.of("{}".getBytes()));
+    }
+}
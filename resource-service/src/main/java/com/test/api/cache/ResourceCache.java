@@ -0,0 +1,96 @@
+package com.test.api.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventPublisher;
+import com.test.api.model.Resource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+@Component
+public class ResourceCache {
+    public static final Logger logger = LogManager.getLogger(ResourceCache.class);
+    public static final String CACHE_NAME = "resources";
+    public static final String INVALIDATION_TOPIC = "resourceCacheInvalidationTopic";
+    public static final String ORIGIN_HEADER = "origin";
+    private final Cache<Long, Resource> cache;
+    private final ResourceEventPublisher resourceEventPublisher;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public ResourceCache(ResourceEventPublisher resourceEventPublisher,
+                         MeterRegistry meterRegistry,
+                         @Value("${resource.cache.maximum-size:10000}") long maximumSize,
+                         @Value("${resource.cache.expire-after-write:30s}") Duration expireAfterWrite) {
+        this.resourceEventPublisher = resourceEventPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public Resource get(Long id, Function<Long, Resource> loader) {
+        return cache.get(id, loader);
+    }
+
+    public Resource getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public Map<Long, Resource> getAllPresent(Collection<Long> ids) {
+        return cache.getAllPresent(ids);
+    }
+
+    public void invalidate(Long id) {
+        evictLocal(id);
+        // evict again once the change is visible, otherwise a concurrent read could cache the old row
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictLocal(id);
+                    broadcast(id);
+                }
+            });
+        } else {
+            broadcast(id);
+        }
+    }
+
+    public void evictLocal(Long id) {
+        cache.invalidate(id);
+    }
+
+    public boolean isOwnEvent(String origin) {
+        return instanceId.equals(origin);
+    }
+
+    private void broadcast(Long id) {
+        List<Header> headers = List.of(new RecordHeader(ORIGIN_HEADER, instanceId.getBytes(StandardCharsets.UTF_8)));
+        ProducerRecord<String, ResourceEvent> record =
+                new ProducerRecord<>(INVALIDATION_TOPIC, null, String.valueOf(id), null, headers);
+        resourceEventPublisher.publish(record).whenComplete((result, ex) -> {
+            if (ex != null) {
+                logger.warn("Failed to broadcast cache invalidation for resource {}", id, ex);
+            }
+        });
+    }
+}
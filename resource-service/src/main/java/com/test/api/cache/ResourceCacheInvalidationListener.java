@@ -0,0 +1,27 @@
+package com.test.api.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+import java.nio.charset.StandardCharsets;
+
+@Component
+@RequiredArgsConstructor
+public class ResourceCacheInvalidationListener {
+    private final ResourceCache resourceCache;
+
+    // every replica needs every invalidation, so each instance consumes with its own group
+    @KafkaListener(topics = ResourceCache.INVALIDATION_TOPIC,
+            groupId = "#{'resource-cache-' + T(java.util.UUID).randomUUID()}")
+    public void handleInvalidation(ConsumerRecord<String, String> record) {
+        Header origin = record.headers().lastHeader(ResourceCache.ORIGIN_HEADER);
+        if (origin != null && resourceCache.isOwnEvent(new String(origin.value(), StandardCharsets.UTF_8))) {
+            return;
+        }
+        if (record.key() != null) {
+            resourceCache.evictLocal(Long.valueOf(record.key()));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.test.api.config;
+
+import com.test.api.cache.ResourceCache;
+import com.test.api.service.impl.ResourceExportServiceImpl;
+import com.test.api.service.impl.ResourcesServiceImpl;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.TopicBuilder;
+
+@Configuration
+public class KafkaTopicConfig {
+    @Value("${resource.kafka.notification-partitions:6}")
+    private int notificationPartitions;
+    @Value("${resource.kafka.state-tombstone-retention-ms:86400000}")
+    private long tombstoneRetentionMs;
+
+    @Bean
+    public NewTopic notificationTopic() {
+        return TopicBuilder.name(ResourcesServiceImpl.NOTIFICATION_TOPIC)
+                .partitions(notificationPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    @Bean
+    public NewTopic notificationTopicAllData() {
+        return TopicBuilder.name(ResourceExportServiceImpl.NOTIFICATION_TOPIC_ALL_DATA)
+                .partitions(notificationPartitions)
+                .replicas(1)
+                .build();
+    }
+
+    // latest state per resource id, compaction drops superseded records and deleted resources after their tombstone
+    @Bean
+    public NewTopic resourceStateTopic() {
+        return TopicBuilder.name(ResourcesServiceImpl.RESOURCE_STATE_TOPIC)
+                .partitions(notificationPartitions)
+                .replicas(1)
+                .compact()
+                .config(TopicConfig.DELETE_RETENTION_MS_CONFIG, String.valueOf(tombstoneRetentionMs))
+                .build();
+    }
+
+    @Bean
+    public NewTopic resourceCacheInvalidationTopic() {
+        return TopicBuilder.name(ResourceCache.INVALIDATION_TOPIC)
+                .partitions(1)
+                .replicas(1)
+                .build();
+    }
+}
@@ -28,31 +28,31 @@ public class DataInitializer {
     @GetMapping
     public void inject() {
         Location location1 = new Location(null, "Rand tee 1", "Tallinn",
-                10001,"EE");
+                10001,"EE", 59.437, 24.7536);
         Characteristic characteristic1 = new Characteristic(null, "1",
                 CharacteristicType.CONSUMPTION_TYPE, "220");
         Characteristic characteristic12 = new Characteristic(null, "2",
                 CharacteristicType.CONSUMPTION_TYPE, "380");
         Resource resource1 = new Resource(null, ResourceType.CONNECTION_POINT, "EE",
-                location1, List.of(characteristic1, characteristic12));
+                location1, List.of(characteristic1, characteristic12), null);
         resourceService.add(resource1);
         Location location2 = new Location(null, "Pine tee 2", "Tartu",
-                20002,"EE");
+                20002,"EE", 58.378, 26.729);
         Characteristic characteristic21 = new Characteristic(null, "3",
                 CharacteristicType.CHARGING_POINT, "2 socket");
         Characteristic characteristic22 = new Characteristic(null, "4",
                 CharacteristicType.CONSUMPTION_TYPE, "220");
         Resource resource2 = new Resource(null, ResourceType.METERING_POINT, "EE",
-                location2, List.of(characteristic21, characteristic22));
+                location2, List.of(characteristic21, characteristic22), null);
         resourceService.add(resource2);
         Location location3 = new Location(null, "Silver tee 3", "Helsinki",
-                30003,"FI");
+                30003,"FI", 60.1699, 24.9384);
         Characteristic characteristic31 = new Characteristic(null, "5",
                 CharacteristicType.CONNECTION_POINT_STATUS, "Available");
         Characteristic characteristic32 = new Characteristic(null, "6",
                 CharacteristicType.CONSUMPTION_TYPE, "380");
         Resource resource3 = new Resource(null, ResourceType.CONNECTION_POINT, "FI",
-                location3, List.of(characteristic31, characteristic32));
+                location3, List.of(characteristic31, characteristic32), null);
         resourceService.add(resource3);
     }
 }
@@ -3,8 +3,19 @@ package com.test.api.controller;
 import com.test.api.mapper.RequestMapper;
 import com.test.api.mapper.ResponseMapper;
 import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.model.dto.request.ResourceFilterDto;
 import com.test.api.model.dto.request.ResourceRequestDto;
+import com.test.api.model.dto.response.BulkResponseDto;
+import com.test.api.model.dto.response.ExportJobResponseDto;
+import com.test.api.model.dto.response.NearbyResourceResponseDto;
+import com.test.api.model.dto.response.ResourceBatchResponseDto;
+import com.test.api.model.dto.response.ResourcePageResponseDto;
 import com.test.api.model.dto.response.ResourceResponseDto;
+import com.test.api.model.dto.response.ResourceSearchResponseDto;
+import com.test.api.model.dto.response.ResourceStatResponseDto;
+import com.test.api.search.SearchCursor;
+import com.test.api.service.ResourceExportService;
 import com.test.api.service.ResourcesService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -14,7 +25,23 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -23,8 +50,11 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
@@ -35,9 +65,16 @@ import java.util.Map;
 @Tag(name = "Resource", description = "Resource management APIs")
 public class ResourceController {
     public static final String DATA = "data";
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final int MAX_QUERY_LENGTH = 200;
     private final RequestMapper resourceRequestMapper;
     private final ResponseMapper resourceResponseMapper;
     private final ResourcesService resourceService;
+    private final ResourceExportService resourceExportService;
+    @Value("${resource.http.cache-control.max-age:0s}")
+    private Duration cacheMaxAge;
+    @Value("${resource.http.cache-control.public:false}")
+    private boolean cachePublic;
 
     @Operation(summary = "Add resource.",
             description = "This method add resource to application.",
@@ -75,8 +112,39 @@ public class ResourceController {
         return Map.of(DATA, List.of(resourceResponseMapper.toDto(resource)));
     }
 
+    @Operation(summary = "Add resources in bulk.",
+            description = "This method add many resources to application using batched inserts.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resources created successfully",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = BulkResponseDto.class),
+                                    examples = @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"created\": 2, \"ids\": [1, 2]}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "400",
+                            description = "Invalid input data"
+                    )
+            }
+    )
+    @PostMapping("/bulk")
+    public BulkResponseDto addBulk(
+            @Parameter(description = "Resources data to be created", required = true)
+            @RequestBody @NotEmpty(message = "Resources list cannot be empty")
+            List<@Valid ResourceRequestDto> resourceRequestDtos) {
+        List<Resource> resources = resourceService.addAll(resourceRequestMapper.fromDtos(resourceRequestDtos));
+        return new BulkResponseDto(resources.size(), resources.stream().map(Resource::getId).toList());
+    }
+
     @Operation(summary = "Get resource by id.",
-            description = "This method get resource by id from database.",
+            description = "This method get resource by id from database. The response carries the version as "
+                    + "ETag; send it back in If-None-Match to get 304 while the resource is unchanged.",
             responses = {
                     @ApiResponse(
                             responseCode = "200",
@@ -90,6 +158,7 @@ public class ResourceController {
                                     )
                             )
                     ),
+                    @ApiResponse(responseCode = "304", description = "Resource has not changed since the given ETag"),
                     @ApiResponse(
                             responseCode = "404",
                             description = "Resource not found",
@@ -104,35 +173,246 @@ public class ResourceController {
             }
     )
     @GetMapping("/{id}")
-    public Map<String, List<ResourceResponseDto>>  get(
+    public ResponseEntity<Map<String, List<ResourceResponseDto>>> get(
             @Parameter(description = "Resource ID", required = true, example = "1")
-            @PathVariable Long id) {
-        return Map.of(DATA, List.of(resourceResponseMapper.toDto(resourceService.get(id))));
+            @PathVariable Long id,
+            @Parameter(description = "Entity tags of representations the client already has", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Long version = resourceService.getVersion(id);
+            if (ResourceETag.matchesIfNoneMatch(ifNoneMatch, version)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(ResourceETag.of(version))
+                        .cacheControl(cacheControl())
+                        .build();
+            }
+        }
+        Resource resource = resourceService.get(id);
+        return ResponseEntity.ok()
+                .eTag(ResourceETag.of(resource.getVersion()))
+                .cacheControl(cacheControl())
+                .body(Map.of(DATA, List.of(resourceResponseMapper.toDto(resource))));
+    }
+
+    @Operation(summary = "List resources.",
+            description = "This method lists resources ordered by id using cursor pagination. "
+                    + "Pass nextCursor from the previous page as cursor to get the next page.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resources page",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ResourcePageResponseDto.class),
+                                    examples = @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"data\": [{\"id\": 1, \"resourceType\": \"METERING_POINT\"}], \"nextCursor\": 1}"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping
+    public ResourcePageResponseDto list(
+            @ParameterObject ResourceFilterDto filter,
+            @Parameter(description = "Id of the last resource of the previous page", example = "100")
+            @RequestParam(required = false) Long cursor,
+            @Parameter(description = "Page size", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        List<Resource> resources = resourceService.list(filter, cursor, limit);
+        Long nextCursor = resources.size() == limit ? resources.get(resources.size() - 1).getId() : null;
+        return new ResourcePageResponseDto(resourceResponseMapper.toDtos(resources), nextCursor);
+    }
+
+    @Operation(summary = "Get many resources by id.",
+            description = "This method returns the resources with the given ids in request order, loaded together "
+                    + "in one query. Ids that do not exist are listed in missingIds instead of failing the request.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Found resources and missing ids",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ResourceBatchResponseDto.class),
+                                    examples = @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"data\": [{\"id\": 1, \"resourceType\": \"METERING_POINT\"}], \"missingIds\": [7]}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "No ids or more than 500 ids")
+            }
+    )
+    @GetMapping(params = "ids")
+    public ResourceBatchResponseDto getAll(
+            @Parameter(description = "Comma separated resource ids", required = true, example = "1,2,3")
+            @RequestParam @NotEmpty(message = "Ids cannot be empty")
+            @Size(max = MAX_PAGE_SIZE, message = "At most " + MAX_PAGE_SIZE + " ids per request")
+            List<@NotNull Long> ids) {
+        return resourceResponseMapper.toDto(resourceService.getAll(ids));
+    }
+
+    @Operation(summary = "Get many resources by id.",
+            description = "Same as GET /resources?ids=... with the ids in the body, for id lists too long for a URL.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Found resources and missing ids",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ResourceBatchResponseDto.class)
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "No ids or more than 500 ids")
+            }
+    )
+    @PostMapping("/batch-get")
+    public ResourceBatchResponseDto batchGet(
+            @Parameter(description = "Resource ids", required = true)
+            @RequestBody @NotEmpty(message = "Ids cannot be empty")
+            @Size(max = MAX_PAGE_SIZE, message = "At most " + MAX_PAGE_SIZE + " ids per request")
+            List<@NotNull Long> ids) {
+        return resourceResponseMapper.toDto(resourceService.getAll(ids));
+    }
+
+    @Operation(summary = "Get resource counts.",
+            description = "This method returns how many resources there are per country and resource type "
+                    + "(dimension RESOURCE_TYPE) and per country, characteristic type and value (dimension "
+                    + "CHARACTERISTIC). The counts are maintained on every write, so the cost does not depend on "
+                    + "the number of resources.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resource counts",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class),
+                                    examples = @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"data\": [{\"dimension\": \"CHARACTERISTIC\", \"countryCode\": \"EE\", \"name\": \"CHARGING_POINT\", \"value\": \"2 socket\", \"count\": 12}]}"
+                                    )
+                            )
+                    )
+            }
+    )
+    @GetMapping("/stats")
+    public Map<String, List<ResourceStatResponseDto>> stats(
+            @Parameter(description = "Only counts of this country", example = "EE")
+            @RequestParam(required = false) String countryCode) {
+        return Map.of(DATA, resourceResponseMapper.toStatDtos(resourceService.stats(countryCode)));
+    }
+
+    @Operation(summary = "Search resources by address.",
+            description = "This method finds resources whose street address or city resembles the query, best "
+                    + "match first. Prefixes and misspellings match too, score is the word similarity from 0 to 1. "
+                    + "Pass nextCursor from the previous page as cursor to get the next page. The listing ends "
+                    + "after the first resource.search.max-depth matches.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Matching resources page",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = ResourceSearchResponseDto.class),
+                                    examples = @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"data\": [{\"score\": 1.0, \"resource\": {\"id\": 1}}], \"nextCursor\": \"0.0_1\"}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Empty or too long query, or invalid cursor")
+            }
+    )
+    @GetMapping("/search")
+    public ResourceSearchResponseDto search(
+            @Parameter(description = "Street address or city, whole or in part", required = true,
+                    example = "Rand tee")
+            @RequestParam @NotBlank @Size(max = MAX_QUERY_LENGTH) String q,
+            @Parameter(description = "nextCursor of the previous page", example = "0.125_42")
+            @RequestParam(required = false) @Pattern(regexp = SearchCursor.PATTERN,
+                    message = "Invalid search cursor") String cursor,
+            @Parameter(description = "Page size", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit) {
+        return resourceResponseMapper.toDto(resourceService.search(q.trim(), cursor, limit));
+    }
+
+    @Operation(summary = "Find resources near a point.",
+            description = "This method returns resources whose location has coordinates, nearest first, with the "
+                    + "great-circle distance in kilometres. With radiusKm only resources within that radius are "
+                    + "returned, without it the limit nearest ones.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200",
+                            description = "Resources nearest first",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class),
+                                    examples = @ExampleObject(
+                                            name = "Success Response",
+                                            value = "{\"data\": [{\"distanceKm\": 0.42, \"resource\": {\"id\": 1}}]}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(responseCode = "400", description = "Coordinates, radius or limit out of range")
+            }
+    )
+    @GetMapping("/near")
+    public Map<String, List<NearbyResourceResponseDto>> near(
+            @Parameter(description = "Latitude in degrees", required = true, example = "59.437")
+            @RequestParam @DecimalMin("-90") @DecimalMax("90") double lat,
+            @Parameter(description = "Longitude in degrees", required = true, example = "24.7536")
+            @RequestParam @DecimalMin("-180") @DecimalMax("180") double lon,
+            @Parameter(description = "Search radius in kilometres", example = "5")
+            @RequestParam(required = false) @Positive Double radiusKm,
+            @Parameter(description = "Maximum number of resources", example = "50")
+            @RequestParam(defaultValue = "50") @Min(1) @Max(MAX_PAGE_SIZE) int limit,
+            @Parameter(description = "Only resources of this type", example = "CONNECTION_POINT")
+            @RequestParam(required = false) ResourceType resourceType) {
+        return Map.of(DATA, resourceResponseMapper.toNearbyDtos(
+                resourceService.findNear(lat, lon, radiusKm, limit, resourceType)));
     }
 
     @Operation(summary = "Partly update resource by id",
-            description = "This method partly update resource by id.")
+            description = "This method partly update resource by id. With If-Match the update is applied only "
+                    + "if the resource still has that version.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Resource updated successfully"),
+                    @ApiResponse(responseCode = "409", description = "Resource was changed by a concurrent update"),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
+            }
+    )
     @PatchMapping("/{id}")
-    public Map<String, List<ResourceResponseDto>> updatePatch(
+    public ResponseEntity<Map<String, List<ResourceResponseDto>>> updatePatch(
             @Parameter(description = "Resource ID", required = true, example = "1")
             @PathVariable Long id,
+            @Parameter(description = "Expected resource version as an entity tag", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Partial resource data to be updated", required = true)
             @RequestBody @Valid ResourceRequestDto resourceRequestDto) {
-        return Map.of(DATA, List.of(resourceResponseMapper.toDto(
-                resourceService.updatePartial(resourceRequestDto, id))));
+        return withETag(resourceService.updatePartial(resourceRequestDto, id, ResourceETag.parseIfMatch(ifMatch)));
     }
 
     @Operation(summary = "Update resource by id",
-            description = "This method update resource by id.")
+            description = "This method update resource by id. With If-Match the update is applied only "
+                    + "if the resource still has that version.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Resource updated successfully"),
+                    @ApiResponse(responseCode = "409", description = "Resource was changed by a concurrent update"),
+                    @ApiResponse(responseCode = "412", description = "If-Match does not match the current version")
+            }
+    )
     @PutMapping("/{id}")
-    public Map<String, List<ResourceResponseDto>> updatePut(
+    public ResponseEntity<Map<String, List<ResourceResponseDto>>> updatePut(
             @Parameter(description = "Resource ID", required = true, example = "1")
             @PathVariable Long id,
+            @Parameter(description = "Expected resource version as an entity tag", example = "\"3\"")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Parameter(description = "Complete resource data for replacement", required = true)
             @RequestBody @Valid ResourceRequestDto resourceRequestDto) {
+        Long expectedVersion = ResourceETag.parseIfMatch(ifMatch);
         Resource resource = resourceRequestMapper.fromDto(resourceRequestDto);
         resource.setId(id);
-        return Map.of(DATA, List.of(resourceResponseMapper.toDto(resourceService.update(resource))));
+        return withETag(resourceService.update(resource, expectedVersion));
     }
 
     @Operation(summary = "Delete resource by id",
@@ -145,9 +425,46 @@ public class ResourceController {
     }
 
     @Operation(summary = "Send all resources from application to kafka.",
-            description = "This method send all resources from application to kafka.")
+            description = "This method starts a background job that sends all resources from application to kafka. "
+                    + "If an export is already running its status is returned instead.",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "202",
+                            description = "Export job accepted",
+                            content = @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = Map.class),
+                                    examples = @ExampleObject(
+                                            name = "Accepted Response",
+                                            value = "{\"data\": [{\"id\": \"3f0c...\", \"status\": \"PENDING\"}]}"
+                                    )
+                            )
+                    )
+            }
+    )
     @GetMapping("/sendAll")
-    public String getAll() {
-        return resourceService.sendAll();
+    public ResponseEntity<Map<String, List<ExportJobResponseDto>>> getAll() {
+        return ResponseEntity.accepted().body(Map.of(DATA, List.of(resourceExportService.start())));
+    }
+
+    @Operation(summary = "Get send all job status.",
+            description = "This method returns status and progress of the send all job.")
+    @GetMapping("/sendAll/{jobId}")
+    public Map<String, List<ExportJobResponseDto>> getAllStatus(
+            @Parameter(description = "Export job ID", required = true)
+            @PathVariable String jobId) {
+        return Map.of(DATA, List.of(resourceExportService.getStatus(jobId)));
+    }
+
+    private ResponseEntity<Map<String, List<ResourceResponseDto>>> withETag(Resource resource) {
+        return ResponseEntity.ok()
+                .eTag(ResourceETag.of(resource.getVersion()))
+                .body(Map.of(DATA, List.of(resourceResponseMapper.toDto(resource))));
+    }
+
+    // max-age 0 means clients and proxies keep the copy but revalidate it with If-None-Match on every read
+    private CacheControl cacheControl() {
+        CacheControl cacheControl = cacheMaxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(cacheMaxAge);
+        return cachePublic ? cacheControl.cachePublic() : cacheControl.cachePrivate();
     }
 }
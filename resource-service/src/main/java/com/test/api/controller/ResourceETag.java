@@ -0,0 +1,53 @@
+package com.test.api.controller;
+
+import com.test.api.exception.ResourceVersionMismatchException;
+
+// Strong entity tags built from the resource version, e.g. "3".
+public final class ResourceETag {
+    public static final String WILDCARD = "*";
+    private static final String QUOTE = "\"";
+    private static final String WEAK_PREFIX = "W/";
+    private static final String LIST_SEPARATOR = ",";
+    private static final int MAX_DIGITS = 18;
+
+    private ResourceETag() {
+    }
+
+    public static String of(Long version) {
+        return QUOTE + version + QUOTE;
+    }
+
+    // null when the header is absent or "*", both of which accept whatever version is current;
+    // If-Match compares strongly, so weak tags (W/"3") and anything unparsable never match
+    public static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || WILDCARD.equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith(QUOTE) && tag.endsWith(QUOTE)) {
+            String version = tag.substring(1, tag.length() - 1);
+            if (version.length() <= MAX_DIGITS && version.chars().allMatch(Character::isDigit)) {
+                return Long.parseLong(version);
+            }
+        }
+        throw new ResourceVersionMismatchException("If-Match " + ifMatch + " does not match the current version");
+    }
+
+    // If-None-Match compares weakly, so W/"3" matches "3"; "*" matches any existing resource
+    public static boolean matchesIfNoneMatch(String ifNoneMatch, Long version) {
+        if (ifNoneMatch == null || version == null) {
+            return false;
+        }
+        String current = of(version);
+        for (String tag : ifNoneMatch.split(LIST_SEPARATOR)) {
+            String candidate = tag.trim();
+            if (candidate.startsWith(WEAK_PREFIX)) {
+                candidate = candidate.substring(WEAK_PREFIX.length());
+            }
+            if (WILDCARD.equals(candidate) || current.equals(candidate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,45 @@
+package com.test.api.diagnostics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+@Component
+public class RequestQueryMetrics implements ObservationHandler<ServerRequestObservationContext> {
+    public static final String METRIC_QUERIES = "resource.http.server.requests.queries";
+    public static final String TAG_METHOD = "method";
+    public static final String TAG_URI = "uri";
+    public static final String UNKNOWN = "UNKNOWN";
+    private final QueryCounter queryCounter;
+    private final MeterRegistry meterRegistry;
+
+    public RequestQueryMetrics(QueryCounter queryCounter, MeterRegistry meterRegistry) {
+        this.queryCounter = queryCounter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof ServerRequestObservationContext;
+    }
+
+    @Override
+    public void onStart(ServerRequestObservationContext context) {
+        queryCounter.start();
+    }
+
+    @Override
+    public void onStop(ServerRequestObservationContext context) {
+        int queries = queryCounter.stop();
+        String uri = context.getPathPattern() != null ? context.getPathPattern() : UNKNOWN;
+        DistributionSummary.builder(METRIC_QUERIES)
+                .description("SQL statements executed per HTTP request")
+                .tag(TAG_METHOD, context.getCarrier().getMethod())
+                .tag(TAG_URI, uri)
+                .register(meterRegistry)
+                .record(queries);
+    }
+}
@@ -0,0 +1,15 @@
+package com.test.api.event;
+
+import com.test.events.FieldChangeFields;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FieldChange implements FieldChangeFields {
+    private String field;
+    private String oldValue;
+    private String newValue;
+}
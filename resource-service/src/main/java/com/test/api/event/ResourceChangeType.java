@@ -0,0 +1,8 @@
+package com.test.api.event;
+
+public enum ResourceChangeType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    SNAPSHOT
+}
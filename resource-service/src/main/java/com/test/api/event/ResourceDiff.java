@@ -0,0 +1,94 @@
+package com.test.api.event;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public final class ResourceDiff {
+    public static final String RESOURCE_TYPE = "resourceType";
+    public static final String COUNTRY_CODE = "countryCode";
+    public static final String LOCATION_STREET_ADDRESS = "location.streetAddress";
+    public static final String LOCATION_CITY = "location.city";
+    public static final String LOCATION_POSTAL_CODE = "location.postalCode";
+    public static final String LOCATION_COUNTRY_CODE = "location.countryCode";
+    public static final String LOCATION_LATITUDE = "location.latitude";
+    public static final String LOCATION_LONGITUDE = "location.longitude";
+    private final Map<String, String> fields;
+    private final List<Characteristic> characteristics;
+
+    private ResourceDiff(Map<String, String> fields, List<Characteristic> characteristics) {
+        this.fields = fields;
+        this.characteristics = characteristics;
+    }
+
+    // copies the values, the mapper and merge update the same entity instances in place
+    public static ResourceDiff of(Resource resource) {
+        List<Characteristic> characteristics = new ArrayList<>();
+        if (resource.getCharacteristics() != null) {
+            for (Characteristic characteristic : resource.getCharacteristics()) {
+                characteristics.add(new Characteristic(characteristic.getId(), characteristic.getCode(),
+                        characteristic.getCharacteristicType(), characteristic.getCharacteristicValue()));
+            }
+        }
+        return new ResourceDiff(fields(resource), characteristics);
+    }
+
+    public boolean isChanged(Resource after) {
+        return !fields.equals(fields(after)) || !keys(characteristics).equals(keys(after.getCharacteristics()));
+    }
+
+    public ResourceEvent toEvent(Resource after) {
+        Map<String, String> afterFields = fields(after);
+        List<FieldChange> changes = new ArrayList<>();
+        fields.forEach((field, oldValue) -> {
+            String newValue = afterFields.get(field);
+            if (!Objects.equals(oldValue, newValue)) {
+                changes.add(new FieldChange(field, oldValue, newValue));
+            }
+        });
+        return ResourceEvent.updated(after.getId(), after.getVersion(), changes,
+                difference(after.getCharacteristics(), characteristics),
+                difference(characteristics, after.getCharacteristics()));
+    }
+
+    private static Map<String, String> fields(Resource resource) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put(RESOURCE_TYPE, Objects.toString(resource.getResourceType(), null));
+        fields.put(COUNTRY_CODE, resource.getCountryCode());
+        Location location = resource.getLocation();
+        fields.put(LOCATION_STREET_ADDRESS, location == null ? null : location.getStreetAddress());
+        fields.put(LOCATION_CITY, location == null ? null : location.getCity());
+        fields.put(LOCATION_POSTAL_CODE, location == null ? null : Objects.toString(location.getPostalCode(), null));
+        fields.put(LOCATION_COUNTRY_CODE, location == null ? null : location.getCountryCode());
+        fields.put(LOCATION_LATITUDE, location == null ? null : Objects.toString(location.getLatitude(), null));
+        fields.put(LOCATION_LONGITUDE, location == null ? null : Objects.toString(location.getLongitude(), null));
+        return fields;
+    }
+
+    // characteristics sent in a PUT body have no ids yet, so they are matched by content
+    private static List<Characteristic> difference(List<Characteristic> from, List<Characteristic> other) {
+        if (from == null) {
+            return List.of();
+        }
+        Set<List<Object>> otherKeys = keys(other);
+        return from.stream().filter(characteristic -> !otherKeys.contains(key(characteristic))).toList();
+    }
+
+    private static Set<List<Object>> keys(List<Characteristic> characteristics) {
+        return characteristics == null ? Set.of()
+                : characteristics.stream().map(ResourceDiff::key).collect(Collectors.toSet());
+    }
+
+    private static List<Object> key(Characteristic characteristic) {
+        return Arrays.asList(characteristic.getCode(), characteristic.getCharacteristicType(),
+                characteristic.getCharacteristicValue());
+    }
+}
@@ -1,14 +1,47 @@
 package com.test.api.event;
 
+import com.test.api.model.Characteristic;
 import com.test.api.model.Resource;
+import com.test.events.ResourceEventFields;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import java.util.List;
 
 
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
-public class ResourceEvent {
+public class ResourceEvent implements ResourceEventFields<ResourceChangeType, Resource, FieldChange, Characteristic> {
+    private ResourceChangeType changeType;
+    private Long resourceId;
+    private Long version;
     private Resource resource;
+    private List<FieldChange> changes;
+    private List<Characteristic> addedCharacteristics;
+    private List<Characteristic> removedCharacteristics;
+
+    public static ResourceEvent created(Resource resource) {
+        return withResource(ResourceChangeType.CREATED, resource);
+    }
+
+    public static ResourceEvent snapshot(Resource resource) {
+        return withResource(ResourceChangeType.SNAPSHOT, resource);
+    }
+
+    public static ResourceEvent updated(Long resourceId, Long version, List<FieldChange> changes,
+                                        List<Characteristic> addedCharacteristics,
+                                        List<Characteristic> removedCharacteristics) {
+        return new ResourceEvent(ResourceChangeType.UPDATED, resourceId, version, null, changes,
+                addedCharacteristics, removedCharacteristics);
+    }
+
+    public static ResourceEvent deleted(Long resourceId, Long version) {
+        return new ResourceEvent(ResourceChangeType.DELETED, resourceId, version, null, List.of(), List.of(), List.of());
+    }
+
+    private static ResourceEvent withResource(ResourceChangeType changeType, Resource resource) {
+        return new ResourceEvent(changeType, resource.getId(), resource.getVersion(), resource, List.of(), List.of(),
+                List.of());
+    }
 }
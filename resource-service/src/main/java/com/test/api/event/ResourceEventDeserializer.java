@@ -0,0 +1,19 @@
+package com.test.api.event;
+
+import org.apache.kafka.common.errors.SerializationException;
+import org.apache.kafka.common.serialization.Deserializer;
+
+public class ResourceEventDeserializer implements Deserializer<ResourceEvent> {
+
+    @Override
+    public ResourceEvent deserialize(String topic, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+        try {
+            return ResourceEventCodec.decode(data);
+        } catch (RuntimeException ex) {
+            throw new SerializationException("Cannot deserialize resource event from topic " + topic, ex);
+        }
+    }
+}
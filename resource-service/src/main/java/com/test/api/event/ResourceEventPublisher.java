@@ -0,0 +1,89 @@
+package com.test.api.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class ResourceEventPublisher {
+    public static final String METRIC_PUBLISH = "resource.kafka.publish";
+    public static final String METRIC_REJECTED = "resource.kafka.publish.rejected";
+    public static final String METRIC_IN_FLIGHT = "resource.kafka.publish.in.flight";
+    public static final String TAG_TOPIC = "topic";
+    public static final String TAG_OUTCOME = "outcome";
+    public static final String SUCCESS = "success";
+    public static final String FAILURE = "failure";
+    private final KafkaTemplate<String, ResourceEvent> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+    private final long acquireTimeoutMs;
+
+    public ResourceEventPublisher(KafkaTemplate<String, ResourceEvent> kafkaTemplate,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${resource.kafka.publish.max-in-flight:10000}") int maxInFlight,
+                                  @Value("${resource.kafka.publish.acquire-timeout-ms:100}") long acquireTimeoutMs) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.meterRegistry = meterRegistry;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+        Gauge.builder(METRIC_IN_FLIGHT, inFlight, semaphore -> maxInFlight - semaphore.availablePermits())
+                .description("Kafka sends waiting for acknowledgement")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, ResourceEvent>> publish(String topic, String key, ResourceEvent event) {
+        return publish(new ProducerRecord<>(topic, key, event));
+    }
+
+    public CompletableFuture<SendResult<String, ResourceEvent>> publish(ProducerRecord<String, ResourceEvent> record) {
+        String topic = record.topic();
+        if (!acquire()) {
+            Counter.builder(METRIC_REJECTED).tag(TAG_TOPIC, topic).register(meterRegistry).increment();
+            return CompletableFuture.failedFuture(new RejectedExecutionException(
+                    "More than " + maxInFlight + " Kafka sends are waiting for acknowledgement"));
+        }
+        long start = System.nanoTime();
+        CompletableFuture<SendResult<String, ResourceEvent>> future;
+        try {
+            future = kafkaTemplate.send(record);
+        } catch (RuntimeException ex) {
+            complete(topic, start, ex);
+            return CompletableFuture.failedFuture(ex);
+        }
+        return future.whenComplete((result, ex) -> complete(topic, start, ex));
+    }
+
+    public int getInFlight() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    private boolean acquire() {
+        try {
+            return inFlight.tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private void complete(String topic, long start, Throwable ex) {
+        inFlight.release();
+        Timer.builder(METRIC_PUBLISH)
+                .tag(TAG_TOPIC, topic)
+                .tag(TAG_OUTCOME, ex == null ? SUCCESS : FAILURE)
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,8 @@
+package com.test.api.exception;
+
+public class ResourceVersionMismatchException extends RuntimeException {
+
+    public ResourceVersionMismatchException(String message) {
+        super(message);
+    }
+}
@@ -1,12 +1,15 @@
 package com.test.api.exceptionHandler;
 
+import com.test.api.exception.ResourceVersionMismatchException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -18,6 +21,7 @@ public class GlobalExceptionHandler {
     public static final String KEY_ERRORS = "errors";
     public static final String AN_UNEXPECTED_ERROR_OCCURRED = "An unexpected error occurred";
     public static final String INVALID_VALUE_FOR_PARAMETER_S_S = "Invalid value for parameter '%s': '%s'";
+    public static final String CONCURRENT_MODIFICATION = "Resource was modified concurrently, reload it and retry";
 
     @ExceptionHandler({MethodArgumentNotValidException.class})
     public ResponseEntity<?> generateNotValidException(MethodArgumentNotValidException ex) {
@@ -37,6 +41,15 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(result, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler({HandlerMethodValidationException.class})
+    public ResponseEntity<?> generateHandlerMethodValidationException(HandlerMethodValidationException ex) {
+        List<String> errors = new ArrayList<>();
+        ex.getAllErrors().forEach(err -> errors.add(err.getDefaultMessage()));
+        Map<String, List<String>> result = new HashMap<>();
+        result.put(KEY_ERRORS, errors);
+        return new ResponseEntity<>(result, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<Map<String, List<String>>> handleEntityNotFoundException(EntityNotFoundException ex) {
         String errorMessage = ex.getMessage() != null ? ex.getMessage() : AN_UNEXPECTED_ERROR_OCCURRED;
@@ -45,6 +58,19 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(result, HttpStatus.NOT_FOUND);
     }
 
+    @ExceptionHandler(ResourceVersionMismatchException.class)
+    public ResponseEntity<Map<String, List<String>>> handleVersionMismatch(ResourceVersionMismatchException ex) {
+        Map<String, List<String>> result = Map.of(KEY_ERRORS, List.of(ex.getMessage()));
+        return new ResponseEntity<>(result, HttpStatus.PRECONDITION_FAILED);
+    }
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Map<String, List<String>>> handleOptimisticLockingFailure(
+            OptimisticLockingFailureException ex) {
+        Map<String, List<String>> result = Map.of(KEY_ERRORS, List.of(CONCURRENT_MODIFICATION));
+        return new ResponseEntity<>(result, HttpStatus.CONFLICT);
+    }
+
     @ExceptionHandler(RuntimeException.class)
     public ResponseEntity<Map<String, List<String>>> handleRuntimeException(RuntimeException ex) {
         String errorMessage = ex.getMessage() != null ? ex.getMessage() : AN_UNEXPECTED_ERROR_OCCURRED;
@@ -0,0 +1,196 @@
+package com.test.api.geo;
+
+import com.test.api.model.ResourceType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+// Equal-angle latitude/longitude cells, each holding a copy-on-write array of points: queries read without locks
+// and a write copies only the cells it touches. A radius query visits the cells overlapping the circle's bounding
+// box; nearest-k widens a radius query until it holds k points.
+public class GeoGrid {
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+    public static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180;
+    public static final double MAX_DISTANCE_KM = Math.PI * EARTH_RADIUS_KM;
+    public static final int NEAREST_GROWTH = 4;
+    private static final GeoPoint[] EMPTY = new GeoPoint[0];
+    private static final Comparator<GeoHit> BY_DISTANCE = Comparator.comparingDouble(GeoHit::getDistanceKm);
+    private final double cellDegrees;
+    private final int rows;
+    private final int columns;
+    private final Map<Long, GeoPoint[]> cells = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, GeoPoint> points = new ConcurrentHashMap<>();
+
+    public GeoGrid(double cellDegrees) {
+        double perHalfCircle = 180 / cellDegrees;
+        if (!(cellDegrees > 0) || Math.abs(perHalfCircle - Math.rint(perHalfCircle)) > 1e-6) {
+            throw new IllegalArgumentException("Cell size must divide 180 degrees, got " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.rows = (int) Math.rint(perHalfCircle);
+        this.columns = rows * 2;
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    // fills an empty grid without copying a cell per point
+    public void load(Stream<GeoPoint> source) {
+        Map<Long, List<GeoPoint>> grouped = new HashMap<>();
+        source.forEach(point -> {
+            points.put(point.getId(), point);
+            grouped.computeIfAbsent(cellOf(point), cell -> new ArrayList<>()).add(point);
+        });
+        grouped.forEach((cell, cellPoints) -> cells.put(cell, cellPoints.toArray(EMPTY)));
+    }
+
+    // the per-id lock of the points map orders concurrent writes of one resource; cells are always locked second.
+    // A point older than the one held is a late record of a change this instance already applied, and is dropped
+    public void put(GeoPoint point) {
+        points.compute(point.getId(), (id, previous) -> {
+            if (previous != null) {
+                if (previous.getVersion() > point.getVersion()) {
+                    return previous;
+                }
+                cells.computeIfPresent(cellOf(previous), (cell, cellPoints) -> without(cellPoints, id));
+            }
+            cells.merge(cellOf(point), new GeoPoint[]{point}, GeoGrid::concat);
+            return point;
+        });
+    }
+
+    public void remove(long id) {
+        points.computeIfPresent(id, (key, previous) -> {
+            cells.computeIfPresent(cellOf(previous), (cell, cellPoints) -> without(cellPoints, key));
+            return null;
+        });
+    }
+
+    // nearest first, at most limit hits; resourceType null matches every type
+    public List<GeoHit> within(double latitude, double longitude, double radiusKm, ResourceType resourceType,
+                               int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        PriorityQueue<GeoHit> nearest = new PriorityQueue<>(limit, BY_DISTANCE.reversed());
+        double latitudeDelta = radiusKm / KM_PER_DEGREE;
+        int fromRow = row(latitude - latitudeDelta);
+        int toRow = row(latitude + latitudeDelta);
+        int fromColumn = 0;
+        int columnCount = columns;
+        // a circle around a pole spans every longitude, otherwise its widest point bounds the columns
+        if (latitude + latitudeDelta < 90 && latitude - latitudeDelta > -90) {
+            double longitudeDelta = Math.toDegrees(Math.asin(Math.sin(radiusKm / EARTH_RADIUS_KM)
+                    / Math.cos(Math.toRadians(latitude))));
+            fromColumn = column(longitude - longitudeDelta);
+            columnCount = Math.min(column(longitude + longitudeDelta) - fromColumn + 1, columns);
+        }
+        if ((long) (toRow - fromRow + 1) * columnCount > cells.size()) {
+            // the box has more cells than are populated, walking the populated ones is cheaper
+            collect(cells.values(), latitude, longitude, radiusKm, resourceType, limit, nearest);
+        } else {
+            List<GeoPoint[]> candidates = new ArrayList<>();
+            for (int row = fromRow; row <= toRow; row++) {
+                for (int offset = 0; offset < columnCount; offset++) {
+                    GeoPoint[] cellPoints = cells.get(key(row, Math.floorMod(fromColumn + offset, columns)));
+                    if (cellPoints != null) {
+                        candidates.add(cellPoints);
+                    }
+                }
+            }
+            collect(candidates, latitude, longitude, radiusKm, resourceType, limit, nearest);
+        }
+        List<GeoHit> hits = new ArrayList<>(nearest);
+        hits.sort(BY_DISTANCE);
+        return hits;
+    }
+
+    // if a circle holds k points, those are the k nearest overall; it only degrades to a full walk of the
+    // populated cells when fewer than k points match at all
+    public List<GeoHit> nearest(double latitude, double longitude, int k, ResourceType resourceType) {
+        double radiusKm = cellDegrees * KM_PER_DEGREE;
+        while (true) {
+            List<GeoHit> hits = within(latitude, longitude, radiusKm, resourceType, k);
+            if (hits.size() >= k || radiusKm >= MAX_DISTANCE_KM) {
+                return hits;
+            }
+            radiusKm = Math.min(radiusKm * NEAREST_GROWTH, MAX_DISTANCE_KM);
+        }
+    }
+
+    public static double distanceKm(double fromLatitude, double fromLongitude, double toLatitude,
+                                    double toLongitude) {
+        double latitudeSin = Math.sin(Math.toRadians(toLatitude - fromLatitude) / 2);
+        double longitudeSin = Math.sin(Math.toRadians(toLongitude - fromLongitude) / 2);
+        double a = latitudeSin * latitudeSin + Math.cos(Math.toRadians(fromLatitude))
+                * Math.cos(Math.toRadians(toLatitude)) * longitudeSin * longitudeSin;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1, Math.sqrt(a)));
+    }
+
+    private static void collect(Collection<GeoPoint[]> candidates, double latitude, double longitude,
+                                double radiusKm, ResourceType resourceType, int limit,
+                                PriorityQueue<GeoHit> nearest) {
+        for (GeoPoint[] cellPoints : candidates) {
+            for (GeoPoint point : cellPoints) {
+                if (resourceType != null && point.getResourceType() != resourceType) {
+                    continue;
+                }
+                double distance = distanceKm(latitude, longitude, point.getLatitude(), point.getLongitude());
+                if (distance > radiusKm) {
+                    continue;
+                }
+                if (nearest.size() < limit) {
+                    nearest.add(new GeoHit(point.getId(), distance));
+                } else if (distance < nearest.peek().getDistanceKm()) {
+                    nearest.poll();
+                    nearest.add(new GeoHit(point.getId(), distance));
+                }
+            }
+        }
+    }
+
+    private static GeoPoint[] concat(GeoPoint[] cellPoints, GeoPoint[] added) {
+        GeoPoint[] merged = Arrays.copyOf(cellPoints, cellPoints.length + added.length);
+        System.arraycopy(added, 0, merged, cellPoints.length, added.length);
+        return merged;
+    }
+
+    private static GeoPoint[] without(GeoPoint[] cellPoints, long id) {
+        for (int i = 0; i < cellPoints.length; i++) {
+            if (cellPoints[i].getId() == id) {
+                if (cellPoints.length == 1) {
+                    return null;
+                }
+                GeoPoint[] remaining = new GeoPoint[cellPoints.length - 1];
+                System.arraycopy(cellPoints, 0, remaining, 0, i);
+                System.arraycopy(cellPoints, i + 1, remaining, i, cellPoints.length - i - 1);
+                return remaining;
+            }
+        }
+        return cellPoints;
+    }
+
+    private long cellOf(GeoPoint point) {
+        return key(row(point.getLatitude()), Math.floorMod(column(point.getLongitude()), columns));
+    }
+
+    private long key(int row, int column) {
+        return (long) row * columns + column;
+    }
+
+    private int row(double latitude) {
+        return Math.min(rows - 1, Math.max(0, (int) Math.floor((latitude + 90) / cellDegrees)));
+    }
+
+    private int column(double longitude) {
+        return (int) Math.floor((longitude + 180) / cellDegrees);
+    }
+}
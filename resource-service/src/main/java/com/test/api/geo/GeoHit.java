@@ -0,0 +1,9 @@
+package com.test.api.geo;
+
+import lombok.Value;
+
+@Value
+public class GeoHit {
+    long id;
+    double distanceKm;
+}
@@ -0,0 +1,22 @@
+package com.test.api.geo;
+
+import com.test.api.model.ResourceType;
+import lombok.Value;
+
+@Value
+public class GeoPoint {
+    long id;
+    ResourceType resourceType;
+    double latitude;
+    double longitude;
+    long version;
+
+    // boxed parameters so the constructor expressions in ResourceRepository match the selected columns
+    public GeoPoint(Long id, ResourceType resourceType, Double latitude, Double longitude, Long version) {
+        this.id = id;
+        this.resourceType = resourceType;
+        this.latitude = latitude;
+        this.longitude = longitude;
+        this.version = version;
+    }
+}
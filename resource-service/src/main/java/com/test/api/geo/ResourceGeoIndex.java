@@ -0,0 +1,89 @@
+package com.test.api.geo;
+
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.repository.ResourceRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.stream.Stream;
+
+// In-process index of resource coordinates. Loaded once at startup, then kept in sync by the service writes of this
+// instance and by the state topic, which carries the committed state of every write of every replica.
+@Component
+public class ResourceGeoIndex {
+    public static final Logger logger = LogManager.getLogger(ResourceGeoIndex.class);
+    private final ResourceRepository resourceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final GeoGrid grid;
+
+    public ResourceGeoIndex(ResourceRepository resourceRepository,
+                            TransactionTemplate transactionTemplate,
+                            @Value("${resource.geo.cell-degrees:0.01}") double cellDegrees) {
+        this.resourceRepository = resourceRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.grid = new GeoGrid(cellDegrees);
+    }
+
+    // ResourceGeoStateListener calls this once it knows where in the state topic to pick up afterwards
+    public void load() {
+        long started = System.nanoTime();
+        // the stream keeps a cursor open, which needs a transaction
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<GeoPoint> points = resourceRepository.streamGeoPoints()) {
+                grid.load(points);
+            }
+        });
+        logger.info("Loaded {} resource locations into the geo index in {} ms", grid.size(),
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public int size() {
+        return grid.size();
+    }
+
+    public List<GeoHit> within(double latitude, double longitude, double radiusKm, ResourceType resourceType,
+                               int limit) {
+        return grid.within(latitude, longitude, radiusKm, resourceType, limit);
+    }
+
+    public List<GeoHit> nearest(double latitude, double longitude, int k, ResourceType resourceType) {
+        return grid.nearest(latitude, longitude, k, resourceType);
+    }
+
+    // reads the saved state now, the index only changes once the transaction commits
+    public void index(Resource resource) {
+        Long id = resource.getId();
+        Location location = resource.getLocation();
+        if (location == null || location.getLatitude() == null || location.getLongitude() == null) {
+            afterCommit(() -> grid.remove(id));
+        } else {
+            GeoPoint point = new GeoPoint(id, resource.getResourceType(), location.getLatitude(),
+                    location.getLongitude(), resource.getVersion());
+            afterCommit(() -> grid.put(point));
+        }
+    }
+
+    public void remove(Long id) {
+        afterCommit(() -> grid.remove(id));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.test.api.geo;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.service.impl.ResourcesServiceImpl;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+import java.util.List;
+import java.util.Map;
+
+// Applies the state topic to the geo index: each record is the whole committed resource, so a batch of any size is
+// applied in memory, without reading the rows back. The topic's end offsets are taken before the index is loaded
+// from the database and consumption starts there, so no write falls between the two.
+@Component
+public class ResourceGeoStateListener implements SmartInitializingSingleton, ConsumerSeekAware {
+    public static final Logger logger = LogManager.getLogger(ResourceGeoStateListener.class);
+    private final ResourceGeoIndex resourceGeoIndex;
+    private final ConsumerFactory<?, ?> consumerFactory;
+    private volatile Map<TopicPartition, Long> startOffsets = Map.of();
+
+    public ResourceGeoStateListener(ResourceGeoIndex resourceGeoIndex, ConsumerFactory<?, ?> consumerFactory) {
+        this.resourceGeoIndex = resourceGeoIndex;
+        this.consumerFactory = consumerFactory;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        startOffsets = endOffsets();
+        resourceGeoIndex.load();
+    }
+
+    // partitions without a recorded offset are read from the start, which replays more but misses nothing
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        assignments.keySet().forEach(partition -> {
+            Long offset = startOffsets.get(partition);
+            if (offset != null) {
+                callback.seek(partition.topic(), partition.partition(), offset);
+            }
+        });
+    }
+
+    // every replica needs every record, so each instance consumes with its own group
+    @KafkaListener(topics = ResourcesServiceImpl.RESOURCE_STATE_TOPIC,
+            groupId = "#{'resource-geo-' + T(java.util.UUID).randomUUID()}", batch = "true",
+            properties = {"auto.offset.reset=earliest",
+                    "value.deserializer=com.test.api.event.ResourceEventDeserializer"})
+    public void handle(List<ConsumerRecord<String, ResourceEvent>> records) {
+        for (ConsumerRecord<String, ResourceEvent> record : records) {
+            if (record.value() != null && record.value().getResource() != null) {
+                resourceGeoIndex.index(record.value().getResource());
+            } else if (record.value() == null && record.key() != null) {
+                resourceGeoIndex.remove(Long.valueOf(record.key()));
+            }
+        }
+    }
+
+    private Map<TopicPartition, Long> endOffsets() {
+        try (Consumer<?, ?> consumer = consumerFactory.createConsumer()) {
+            List<TopicPartition> partitions = consumer.partitionsFor(ResourcesServiceImpl.RESOURCE_STATE_TOPIC)
+                    .stream()
+                    .map(info -> new TopicPartition(info.topic(), info.partition()))
+                    .toList();
+            return Map.copyOf(consumer.endOffsets(partitions));
+        } catch (RuntimeException ex) {
+            logger.warn("Cannot read the end offsets of {}, the geo index will replay it from the start",
+                    ResourcesServiceImpl.RESOURCE_STATE_TOPIC, ex);
+            return Map.of();
+        }
+    }
+}
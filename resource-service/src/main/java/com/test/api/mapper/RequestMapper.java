@@ -3,14 +3,20 @@ package com.test.api.mapper;
 import com.test.api.model.Resource;
 import com.test.api.model.dto.request.ResourceRequestDto;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
+import java.util.List;
 
 
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface RequestMapper {
+    @Mapping(target = "version", ignore = true)
     Resource fromDto(ResourceRequestDto dto);
 
+    List<Resource> fromDtos(List<ResourceRequestDto> dtos);
+
+    @Mapping(target = "version", ignore = true)
     void updateResourcesFromDto(ResourceRequestDto dto, @MappingTarget Resource resource);
 }
 
@@ -1,11 +1,41 @@
 package com.test.api.mapper;
 
+import com.test.api.model.MatchedResource;
+import com.test.api.model.NearbyResource;
 import com.test.api.model.Resource;
+import com.test.api.model.ResourceBatch;
+import com.test.api.model.ResourceSearchPage;
+import com.test.api.model.dto.response.MatchedResourceResponseDto;
+import com.test.api.model.dto.response.NearbyResourceResponseDto;
+import com.test.api.model.dto.response.ResourceBatchResponseDto;
 import com.test.api.model.dto.response.ResourceResponseDto;
+import com.test.api.model.dto.response.ResourceSearchResponseDto;
+import com.test.api.model.dto.response.ResourceStatResponseDto;
+import com.test.api.stats.ResourceStat;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import java.util.List;
 
 @Mapper(componentModel = "spring")
 public interface ResponseMapper {
 
     ResourceResponseDto toDto(Resource resource);
+
+    List<ResourceResponseDto> toDtos(List<Resource> resources);
+
+    @Mapping(source = "resources", target = "data")
+    ResourceBatchResponseDto toDto(ResourceBatch resourceBatch);
+
+    NearbyResourceResponseDto toDto(NearbyResource nearbyResource);
+
+    List<NearbyResourceResponseDto> toNearbyDtos(List<NearbyResource> nearbyResources);
+
+    MatchedResourceResponseDto toDto(MatchedResource matchedResource);
+
+    @Mapping(source = "matches", target = "data")
+    ResourceSearchResponseDto toDto(ResourceSearchPage resourceSearchPage);
+
+    ResourceStatResponseDto toDto(ResourceStat resourceStat);
+
+    List<ResourceStatResponseDto> toStatDtos(List<ResourceStat> resourceStats);
 }
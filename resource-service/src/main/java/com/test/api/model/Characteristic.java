@@ -1,12 +1,14 @@
 package com.test.api.model;
 
 
+import com.test.events.CharacteristicFields;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
@@ -19,9 +21,10 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "characteristics")
-public class Characteristic {
+public class Characteristic implements CharacteristicFields<CharacteristicType> {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "characteristics_seq")
+    @SequenceGenerator(name = "characteristics_seq", sequenceName = "characteristics_seq", allocationSize = 1)
     private Long id;
     @NotBlank(message = "Code is required field.")
     @Size(max = 5, message = "Code must be at most 5 characters")
@@ -0,0 +1,8 @@
+package com.test.api.model;
+
+public enum ExportJobStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
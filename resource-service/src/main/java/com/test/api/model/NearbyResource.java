@@ -0,0 +1,11 @@
+package com.test.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class NearbyResource {
+    private Resource resource;
+    private double distanceKm;
+}
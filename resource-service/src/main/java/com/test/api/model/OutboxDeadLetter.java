@@ -0,0 +1,31 @@
+package com.test.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "resource_outbox_dead_letter")
+public class OutboxDeadLetter {
+    // the id the message had in the outbox
+    @Id
+    private Long id;
+    private String topic;
+    private String messageKey;
+    private byte[] payload;
+    @Column(nullable = false)
+    private Instant createdAt;
+    private boolean tombstone;
+    private int attempts;
+    private String error;
+    @Column(nullable = false)
+    private Instant deadLetteredAt;
+}
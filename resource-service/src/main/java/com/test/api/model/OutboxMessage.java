@@ -0,0 +1,34 @@
+package com.test.api.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.Instant;
+
+@Data
+@Entity
+@AllArgsConstructor
+@NoArgsConstructor
+@Table(name = "resource_outbox")
+public class OutboxMessage {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resource_outbox_seq")
+    @SequenceGenerator(name = "resource_outbox_seq", sequenceName = "resource_outbox_seq", allocationSize = 50)
+    private Long id;
+    private String topic;
+    private String messageKey;
+    private byte[] payload;
+    @Column(nullable = false)
+    private Instant createdAt;
+    // sent without a value, so that compaction drops the resource; the payload only supplies the version
+    private boolean tombstone;
+    // failures of this row itself, not of the broker; the relay gives up on it at resource.outbox.max-attempts
+    private int attempts;
+}
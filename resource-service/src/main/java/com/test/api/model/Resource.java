@@ -1,6 +1,7 @@
 package com.test.api.model;
 
 
+import com.test.events.ResourceFields;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
@@ -8,16 +9,17 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.PrePersist;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.Cascade;
-import org.hibernate.annotations.CascadeType;
 import java.util.List;
 
 @Entity
@@ -25,20 +27,32 @@ import java.util.List;
 @AllArgsConstructor
 @NoArgsConstructor
 @Table(name = "resources")
-public class Resource {
+public class Resource implements ResourceFields<ResourceType, Location, Characteristic> {
+    // the version column's default, so rows inserted by the service and by migrations start at the same value
+    public static final long INITIAL_VERSION = 1L;
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "resources_seq")
+    @SequenceGenerator(name = "resources_seq", sequenceName = "resources_seq", allocationSize = 50)
     private Long id;
     @Enumerated(EnumType.STRING)
     private ResourceType resourceType;
     private String countryCode;
-    @Cascade({CascadeType.REFRESH, CascadeType.MERGE, CascadeType.PERSIST})
-    @ManyToOne
+    // shared rows resolved by ReferenceInterner, so nothing cascades from a resource to them
+    @ManyToOne(fetch = FetchType.LAZY)
     private Location location;
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "resources_characteristics",
             joinColumns = @JoinColumn(name = "resource_id"),
             inverseJoinColumns = @JoinColumn(name = "characteristic_id"))
-    @Cascade({CascadeType.REFRESH, CascadeType.MERGE, CascadeType.PERSIST})
     private List<Characteristic> Characteristics;
+    @Version
+    private Long version;
+
+    // runs before Hibernate seeds the version, which would otherwise start a Long at 0
+    @PrePersist
+    void seedVersion() {
+        if (version == null) {
+            version = INITIAL_VERSION;
+        }
+    }
 }
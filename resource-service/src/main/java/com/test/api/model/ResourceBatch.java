@@ -0,0 +1,12 @@
+package com.test.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ResourceBatch {
+    private List<Resource> resources;
+    private List<Long> missingIds;
+}
@@ -0,0 +1,12 @@
+package com.test.api.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class ResourceSearchPage {
+    private List<MatchedResource> matches;
+    private String nextCursor;
+}
@@ -0,0 +1,15 @@
+package com.test.api.model.dto.request;
+
+import com.test.api.model.CharacteristicType;
+import com.test.api.model.ResourceType;
+import lombok.Data;
+
+@Data
+public class ResourceFilterDto {
+    private ResourceType resourceType;
+    private String countryCode;
+    private String city;
+    private Integer postalCode;
+    private CharacteristicType characteristicType;
+    private String characteristicValue;
+}
@@ -3,6 +3,7 @@ package com.test.api.model.dto.request;
 import com.test.api.model.Characteristic;
 import com.test.api.model.Location;
 import com.test.api.model.ResourceType;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -13,6 +14,7 @@ public class ResourceRequestDto {
     @NotNull(message = "ResourceType cannot be null")
     private ResourceType resourceType;
     private String countryCode;
+    @Valid
     private Location location;
     private List<Characteristic> Characteristics;
 }
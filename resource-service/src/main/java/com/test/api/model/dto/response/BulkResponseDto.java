@@ -0,0 +1,14 @@
+package com.test.api.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkResponseDto {
+    private int created;
+    private List<Long> ids;
+}
@@ -0,0 +1,17 @@
+package com.test.api.model.dto.response;
+
+import com.test.api.model.ExportJobStatus;
+import lombok.Data;
+import java.time.Instant;
+
+@Data
+public class ExportJobResponseDto {
+    private String id;
+    private ExportJobStatus status;
+    private long itemsSent;
+    private long errors;
+    private double itemsPerSecond;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private String lastError;
+}
@@ -0,0 +1,9 @@
+package com.test.api.model.dto.response;
+
+import lombok.Data;
+
+@Data
+public class MatchedResourceResponseDto {
+    private double score;
+    private ResourceResponseDto resource;
+}
@@ -0,0 +1,9 @@
+package com.test.api.model.dto.response;
+
+import lombok.Data;
+
+@Data
+public class NearbyResourceResponseDto {
+    private double distanceKm;
+    private ResourceResponseDto resource;
+}
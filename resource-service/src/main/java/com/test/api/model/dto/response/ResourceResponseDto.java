@@ -13,4 +13,5 @@ public class ResourceResponseDto {
     private String countryCode;
     private Location location;
     private List<Characteristic> Characteristics;
+    private Long version;
 }
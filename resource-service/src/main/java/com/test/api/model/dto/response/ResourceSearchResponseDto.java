@@ -0,0 +1,14 @@
+package com.test.api.model.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ResourceSearchResponseDto {
+    private List<MatchedResourceResponseDto> data;
+    private String nextCursor;
+}
@@ -0,0 +1,12 @@
+package com.test.api.model.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ResourceStatResponseDto {
+    private String dimension;
+    private String countryCode;
+    private String name;
+    private String value;
+    private long count;
+}
@@ -0,0 +1,260 @@
+package com.test.api.outbox;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventPublisher;
+import com.test.api.model.OutboxDeadLetter;
+import com.test.api.model.OutboxMessage;
+import com.test.api.repository.OutboxDeadLetterRepository;
+import com.test.api.repository.OutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RetriableException;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class OutboxRelay {
+    public static final Logger logger = LogManager.getLogger(OutboxRelay.class);
+    public static final String METRIC_PENDING = "resource.outbox.pending";
+    public static final String METRIC_LAG = "resource.outbox.lag.seconds";
+    public static final String METRIC_RELAYED = "resource.outbox.relayed";
+    public static final String METRIC_FAILURES = "resource.outbox.failures";
+    public static final String METRIC_DEAD_LETTERED = "resource.outbox.dead.lettered";
+    public static final String OVERTAKEN = "Overtaken by a later message with the same key";
+    public static final String VERSION_HEADER = "version";
+    // first half of the two-part advisory lock key, the bucket is the second
+    public static final int RELAY_LOCK_SPACE = "resource_outbox".hashCode();
+    private final OutboxRepository outboxRepository;
+    private final OutboxDeadLetterRepository outboxDeadLetterRepository;
+    private final OutboxWriter outboxWriter;
+    private final ResourceEventPublisher resourceEventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long sendTimeoutMs;
+    private final int maxAttempts;
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+    private final Counter relayed;
+    private final Counter failures;
+    private final Counter deadLettered;
+
+    public OutboxRelay(OutboxRepository outboxRepository,
+                       OutboxDeadLetterRepository outboxDeadLetterRepository,
+                       OutboxWriter outboxWriter,
+                       ResourceEventPublisher resourceEventPublisher,
+                       TransactionTemplate transactionTemplate,
+                       MeterRegistry meterRegistry,
+                       @Value("${resource.outbox.batch-size:500}") int batchSize,
+                       @Value("${resource.outbox.send-timeout-ms:30000}") long sendTimeoutMs,
+                       @Value("${resource.outbox.max-attempts:10}") int maxAttempts) {
+        this.outboxRepository = outboxRepository;
+        this.outboxDeadLetterRepository = outboxDeadLetterRepository;
+        this.outboxWriter = outboxWriter;
+        this.resourceEventPublisher = resourceEventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.maxAttempts = maxAttempts;
+        Gauge.builder(METRIC_PENDING, pending, AtomicLong::get)
+                .description("Outbox messages waiting to be relayed")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_LAG, lagSeconds, AtomicLong::get)
+                .description("Age of the oldest outbox message")
+                .register(meterRegistry);
+        this.relayed = Counter.builder(METRIC_RELAYED).register(meterRegistry);
+        this.failures = Counter.builder(METRIC_FAILURES).register(meterRegistry);
+        this.deadLettered = Counter.builder(METRIC_DEAD_LETTERED).register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${resource.outbox.poll-interval-ms:200}")
+    public void relay() {
+        try {
+            List<Integer> buckets = new ArrayList<>(outboxRepository.findPendingBuckets());
+            // replicas start on different buckets instead of all queueing for the first one
+            Collections.shuffle(buckets);
+            for (int bucket : buckets) {
+                relayBucket(bucket);
+            }
+        } catch (RuntimeException ex) {
+            failures.increment();
+            logger.warn("Cannot read pending outbox buckets", ex);
+        }
+        updateLag();
+    }
+
+    private void relayBucket(int bucket) {
+        try {
+            Integer count;
+            do {
+                count = transactionTemplate.execute(status -> relayBatch(bucket));
+            } while (count != null && count == batchSize);
+        } catch (RuntimeException ex) {
+            failures.increment();
+            logger.warn("Outbox relay of bucket {} failed, batch will be retried", bucket, ex);
+        }
+    }
+
+    // one replica relays a bucket at a time: batches of one key sent side by side could deliver a later change of a
+    // resource before an earlier one, and on the compacted state topic the earlier one would then be the state kept.
+    // A bucket another replica holds is skipped. Returns the rows taken out of the outbox; fewer than the batch means
+    // the bucket is drained or held elsewhere.
+    private int relayBatch(int bucket) {
+        if (!outboxRepository.tryLock(RELAY_LOCK_SPACE, bucket)) {
+            return 0;
+        }
+        List<OutboxMessage> batch = outboxRepository.findNextBatch(bucket, batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxMessage message : batch) {
+            sends.add(publish(message));
+        }
+        awaitAll(sends);
+        List<Long> done = new ArrayList<>(batch.size());
+        List<OutboxDeadLetter> deadLetters = new ArrayList<>();
+        Set<String> deliveredKeys = new HashSet<>();
+        Instant now = Instant.now();
+        // newest first, so a failed row knows whether a later message with its key has already gone out
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            OutboxMessage message = batch.get(i);
+            String key = message.getTopic() + ":" + message.getMessageKey();
+            Throwable error = failure(sends.get(i));
+            if (error == null) {
+                done.add(message.getId());
+                deliveredKeys.add(key);
+                continue;
+            }
+            failures.increment();
+            if (deliveredKeys.contains(key)) {
+                // sending it now would put it after the newer one
+                deadLetters.add(deadLetter(message, OVERTAKEN, now));
+                done.add(message.getId());
+            } else if (!isTransient(error)) {
+                // the entity is managed, the new count is written on commit
+                message.setAttempts(message.getAttempts() + 1);
+                if (message.getAttempts() >= maxAttempts) {
+                    deadLetters.add(deadLetter(message, rootCause(error), now));
+                    done.add(message.getId());
+                }
+            }
+            logger.warn("Cannot relay outbox message {} to {}, {} failed attempts", message.getId(),
+                    message.getTopic(), message.getAttempts(), error);
+        }
+        Collections.reverse(done);
+        Collections.reverse(deadLetters);
+        if (!deadLetters.isEmpty()) {
+            outboxDeadLetterRepository.saveAll(deadLetters);
+            deadLettered.increment(deadLetters.size());
+            logger.error("Moved {} outbox messages to the dead letter table", deadLetters.size());
+        }
+        if (!done.isEmpty()) {
+            outboxRepository.deleteAllByIdInBatch(done);
+        }
+        relayed.increment(done.size() - deadLetters.size());
+        return done.size();
+    }
+
+    private CompletableFuture<?> publish(OutboxMessage message) {
+        try {
+            ResourceEvent event = outboxWriter.read(message);
+            if (!message.isTombstone()) {
+                return resourceEventPublisher.publish(message.getTopic(), message.getMessageKey(), event);
+            }
+            // the deleted version lets consumers drop an older record of the resource that reaches them afterwards
+            List<Header> headers = List.of(new RecordHeader(VERSION_HEADER,
+                    String.valueOf(event.getVersion()).getBytes(StandardCharsets.UTF_8)));
+            return resourceEventPublisher.publish(
+                    new ProducerRecord<>(message.getTopic(), null, message.getMessageKey(), null, headers));
+        } catch (RuntimeException ex) {
+            return CompletableFuture.failedFuture(ex);
+        }
+    }
+
+    // a failed send does not fail the batch, the outcome of each one is read on its own afterwards
+    private void awaitAll(List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new)).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while relaying outbox batch", ex);
+        } catch (ExecutionException | TimeoutException ex) {
+            logger.debug("Not every outbox message was acknowledged by Kafka", ex);
+        }
+    }
+
+    private Throwable failure(CompletableFuture<?> send) {
+        if (!send.isDone()) {
+            return new TimeoutException("Not acknowledged by Kafka within " + sendTimeoutMs + " ms");
+        }
+        try {
+            send.join();
+            return null;
+        } catch (CompletionException ex) {
+            return ex.getCause() != null ? ex.getCause() : ex;
+        } catch (CancellationException ex) {
+            return ex;
+        }
+    }
+
+    // broker outages, timeouts and back-pressure pass by themselves and must not use up a row's attempts, or an
+    // outage would empty the outbox into the dead letter table; anything else is the row's own problem
+    private static boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException || cause instanceof TimeoutException
+                    || cause instanceof RejectedExecutionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // the send wrappers say little, the innermost exception says why the broker or the codec refused the row
+    private static String rootCause(Throwable error) {
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.toString();
+    }
+
+    private static OutboxDeadLetter deadLetter(OutboxMessage message, String error, Instant now) {
+        return new OutboxDeadLetter(message.getId(), message.getTopic(), message.getMessageKey(),
+                message.getPayload(), message.getCreatedAt(), message.isTombstone(), message.getAttempts(), error,
+                now);
+    }
+
+    private void updateLag() {
+        try {
+            pending.set(outboxRepository.count());
+            Instant oldest = outboxRepository.findOldestCreatedAt();
+            lagSeconds.set(oldest == null ? 0 : Duration.between(oldest, Instant.now()).toSeconds());
+        } catch (RuntimeException ex) {
+            logger.warn("Cannot read outbox lag", ex);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.test.api.outbox;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventCodec;
+import com.test.api.model.OutboxMessage;
+import com.test.api.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Instant;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class OutboxWriter {
+    private final OutboxRepository outboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void write(String topic, ResourceEvent event) {
+        outboxRepository.save(toMessage(topic, event));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void writeAll(String topic, List<ResourceEvent> events) {
+        outboxRepository.saveAll(events.stream().map(event -> toMessage(topic, event)).toList());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void writeTombstone(String topic, ResourceEvent deleted) {
+        OutboxMessage message = toMessage(topic, deleted);
+        message.setTombstone(true);
+        outboxRepository.save(message);
+    }
+
+    public ResourceEvent read(OutboxMessage message) {
+        try {
+            return ResourceEventCodec.decode(message.getPayload());
+        } catch (IllegalArgumentException ex) {
+            throw new IllegalStateException("Cannot read outbox message " + message.getId(), ex);
+        }
+    }
+
+    private OutboxMessage toMessage(String topic, ResourceEvent event) {
+        // keyed by resource id so all changes of one resource land on the same partition in order
+        return new OutboxMessage(null, topic, String.valueOf(event.getResourceId()), ResourceEventCodec.encode(event),
+                Instant.now(), false, 0);
+    }
+}
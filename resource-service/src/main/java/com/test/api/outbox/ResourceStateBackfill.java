@@ -0,0 +1,72 @@
+package com.test.api.outbox;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.model.Resource;
+import com.test.api.repository.ResourceRepository;
+import com.test.api.service.impl.ResourcesServiceImpl;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+
+// Seeds the state topic with the resources that existed before it did, through the outbox like every other write.
+// A resource changed while the backfill runs gets a record from both; consumers keep the higher version.
+@Component
+public class ResourceStateBackfill {
+    public static final Logger logger = LogManager.getLogger(ResourceStateBackfill.class);
+    private final ResourceRepository resourceRepository;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int chunkSize;
+
+    public ResourceStateBackfill(ResourceRepository resourceRepository,
+                                 OutboxWriter outboxWriter,
+                                 TransactionTemplate transactionTemplate,
+                                 @Value("${resource.state.backfill-on-startup:false}") boolean enabled,
+                                 @Value("${resource.export.chunk-size:500}") int chunkSize) {
+        this.resourceRepository = resourceRepository;
+        this.outboxWriter = outboxWriter;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.chunkSize = chunkSize;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        if (enabled) {
+            run();
+        }
+    }
+
+    public long run() {
+        Long maxId = resourceRepository.findMaxId();
+        if (maxId == null) {
+            return 0;
+        }
+        long written = 0;
+        long cursor = Long.MIN_VALUE;
+        while (true) {
+            long after = cursor;
+            List<Long> ids = resourceRepository.findIdsInRange(after, maxId, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            Integer count = transactionTemplate.execute(status -> {
+                List<Resource> chunk = resourceRepository.findAllWithDetailsByIdIn(ids);
+                outboxWriter.writeAll(ResourcesServiceImpl.RESOURCE_STATE_TOPIC,
+                        chunk.stream().map(ResourceEvent::snapshot).toList());
+                return chunk.size();
+            });
+            written += count == null ? 0 : count;
+            cursor = ids.get(ids.size() - 1);
+        }
+        logger.info("Backfilled {} resources into {}", written, ResourcesServiceImpl.RESOURCE_STATE_TOPIC);
+        return written;
+    }
+}
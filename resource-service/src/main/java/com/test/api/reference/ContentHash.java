@@ -0,0 +1,52 @@
+package com.test.api.reference;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.Location;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Objects;
+
+// Hex SHA-256 over length-prefixed fields, "-" for null. The alter-tables-reference-content-hash changelog
+// computes the same value in SQL for rows that existed before, so both must change together.
+public final class ContentHash {
+    public static final String ALGORITHM = "SHA-256";
+    private static final String NULL_FIELD = "-";
+    private static final String LENGTH_SEPARATOR = ":";
+
+    private ContentHash() {
+    }
+
+    // coordinates only take part when set, so rows hashed before they existed keep their hash
+    public static String of(Location location) {
+        String postalCode = Objects.toString(location.getPostalCode(), null);
+        if (location.getLatitude() == null && location.getLongitude() == null) {
+            return hash(location.getStreetAddress(), location.getCity(), postalCode, location.getCountryCode());
+        }
+        return hash(location.getStreetAddress(), location.getCity(), postalCode, location.getCountryCode(),
+                Objects.toString(location.getLatitude(), null), Objects.toString(location.getLongitude(), null));
+    }
+
+    public static String of(Characteristic characteristic) {
+        return hash(characteristic.getCode(), Objects.toString(characteristic.getCharacteristicType(), null),
+                characteristic.getCharacteristicValue());
+    }
+
+    private static String hash(String... fields) {
+        StringBuilder content = new StringBuilder();
+        for (String field : fields) {
+            if (field == null) {
+                content.append(NULL_FIELD);
+            } else {
+                content.append(field.codePointCount(0, field.length())).append(LENGTH_SEPARATOR).append(field);
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance(ALGORITHM);
+            return HexFormat.of().formatHex(digest.digest(content.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
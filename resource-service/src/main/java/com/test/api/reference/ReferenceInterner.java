@@ -0,0 +1,110 @@
+package com.test.api.reference;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.test.api.model.Characteristic;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.repository.ReferenceDataRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+// Points resources at one shared row per distinct location and characteristic. The rows are never updated
+// or deleted, so a content hash that once resolved to an id keeps resolving to it.
+@Component
+public class ReferenceInterner {
+    public static final String LOCATIONS_CACHE = "locations";
+    public static final String CHARACTERISTICS_CACHE = "characteristics";
+    private final ReferenceDataRepository referenceDataRepository;
+    private final Cache<String, Long> locationIds;
+    private final Cache<String, Long> characteristicIds;
+
+    public ReferenceInterner(ReferenceDataRepository referenceDataRepository,
+                             MeterRegistry meterRegistry,
+                             @Value("${resource.intern.maximum-size:100000}") long maximumSize) {
+        this.referenceDataRepository = referenceDataRepository;
+        this.locationIds = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        this.characteristicIds = Caffeine.newBuilder().maximumSize(maximumSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, locationIds, LOCATIONS_CACHE);
+        CaffeineCacheMetrics.monitor(meterRegistry, characteristicIds, CHARACTERISTICS_CACHE);
+    }
+
+    // replaces locations and characteristics by copies carrying the shared row id, whatever id the client sent
+    public void intern(List<Resource> resources) {
+        Map<Object, String> hashes = new IdentityHashMap<>();
+        Map<String, Location> locations = new HashMap<>();
+        Map<String, Characteristic> characteristics = new HashMap<>();
+        for (Resource resource : resources) {
+            if (resource.getLocation() != null) {
+                String hash = ContentHash.of(resource.getLocation());
+                hashes.put(resource.getLocation(), hash);
+                locations.putIfAbsent(hash, resource.getLocation());
+            }
+            if (resource.getCharacteristics() != null) {
+                for (Characteristic characteristic : resource.getCharacteristics()) {
+                    String hash = ContentHash.of(characteristic);
+                    hashes.put(characteristic, hash);
+                    characteristics.putIfAbsent(hash, characteristic);
+                }
+            }
+        }
+        Map<String, Long> locationIdsByHash =
+                resolve(locations, locationIds, referenceDataRepository::findOrInsertLocations);
+        Map<String, Long> characteristicIdsByHash =
+                resolve(characteristics, characteristicIds, referenceDataRepository::findOrInsertCharacteristics);
+        for (Resource resource : resources) {
+            Location location = resource.getLocation();
+            if (location != null) {
+                resource.setLocation(new Location(locationIdsByHash.get(hashes.get(location)),
+                        location.getStreetAddress(), location.getCity(), location.getPostalCode(),
+                        location.getCountryCode(), location.getLatitude(), location.getLongitude()));
+            }
+            if (resource.getCharacteristics() != null) {
+                // the same characteristic listed twice would be the same row twice in the join table
+                Map<String, Characteristic> shared = new LinkedHashMap<>();
+                for (Characteristic characteristic : resource.getCharacteristics()) {
+                    String hash = hashes.get(characteristic);
+                    shared.putIfAbsent(hash, new Characteristic(characteristicIdsByHash.get(hash),
+                            characteristic.getCode(), characteristic.getCharacteristicType(),
+                            characteristic.getCharacteristicValue()));
+                }
+                resource.setCharacteristics(new ArrayList<>(shared.values()));
+            }
+        }
+    }
+
+    private <T> Map<String, Long> resolve(Map<String, T> values, Cache<String, Long> ids,
+                                          Function<Map<String, T>, Map<String, Long>> findOrInsert) {
+        Map<String, Long> resolved = new HashMap<>(ids.getAllPresent(values.keySet()));
+        if (resolved.size() == values.size()) {
+            return resolved;
+        }
+        Map<String, T> missing = new HashMap<>(values);
+        missing.keySet().removeAll(resolved.keySet());
+        Map<String, Long> loaded = findOrInsert.apply(missing);
+        resolved.putAll(loaded);
+        // rows inserted by this transaction are gone if it rolls back, so only remember them once committed
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.putAll(loaded);
+                }
+            });
+        } else {
+            ids.putAll(loaded);
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,7 @@
+package com.test.api.repository;
+
+import com.test.api.model.OutboxDeadLetter;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface OutboxDeadLetterRepository extends JpaRepository<OutboxDeadLetter, Long> {
+}
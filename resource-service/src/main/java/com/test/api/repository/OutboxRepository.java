@@ -0,0 +1,26 @@
+package com.test.api.repository;
+
+import com.test.api.model.OutboxMessage;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxRepository extends JpaRepository<OutboxMessage, Long> {
+    @Query(value = "SELECT DISTINCT bucket FROM resource_outbox", nativeQuery = true)
+    List<Integer> findPendingBuckets();
+
+    // relay_order, not id: ids are handed out in blocks per replica and do not follow the order of the writes.
+    // No row locks, the caller holds the bucket's advisory lock
+    @Query(value = "SELECT * FROM resource_outbox WHERE bucket = :bucket ORDER BY relay_order LIMIT :limit",
+            nativeQuery = true)
+    List<OutboxMessage> findNextBatch(@Param("bucket") int bucket, @Param("limit") int limit);
+
+    // held until the transaction ends
+    @Query(value = "SELECT pg_try_advisory_xact_lock(:lockSpace, :bucket)", nativeQuery = true)
+    boolean tryLock(@Param("lockSpace") int lockSpace, @Param("bucket") int bucket);
+
+    @Query("select min(m.createdAt) from OutboxMessage m")
+    Instant findOldestCreatedAt();
+}
@@ -0,0 +1,85 @@
+package com.test.api.repository;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.Location;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Shared location and characteristic rows keyed by content_hash. Inserts go through ON CONFLICT so two
+// transactions adding the same content end up with one row; the select afterwards picks up either one.
+@Repository
+@RequiredArgsConstructor
+public class ReferenceDataRepository {
+    public static final String HASHES = "hashes";
+    public static final String CONTENT_HASH = "contentHash";
+    public static final String FIND_LOCATION_IDS = "select content_hash, id from locations "
+            + "where content_hash in (:hashes)";
+    public static final String FIND_CHARACTERISTIC_IDS = "select content_hash, id from characteristics "
+            + "where content_hash in (:hashes)";
+    public static final String INSERT_LOCATION = "insert into locations "
+            + "(id, street_address, city, postal_code, country_code, latitude, longitude, content_hash) "
+            + "values (nextval('locations_seq'), :streetAddress, :city, :postalCode, :countryCode, :latitude, "
+            + ":longitude, :contentHash) "
+            + "on conflict (content_hash) do nothing";
+    public static final String INSERT_CHARACTERISTIC = "insert into characteristics "
+            + "(id, code, characteristic_type, characteristic_value, content_hash) "
+            + "values (nextval('characteristics_seq'), :code, :characteristicType, :characteristicValue, :contentHash) "
+            + "on conflict (content_hash) do nothing";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public Map<String, Long> findOrInsertLocations(Map<String, Location> locations) {
+        return findOrInsert(locations, FIND_LOCATION_IDS, INSERT_LOCATION, location -> new MapSqlParameterSource()
+                .addValue("streetAddress", location.getStreetAddress(), Types.VARCHAR)
+                .addValue("city", location.getCity(), Types.VARCHAR)
+                .addValue("postalCode", location.getPostalCode(), Types.INTEGER)
+                .addValue("countryCode", location.getCountryCode(), Types.VARCHAR)
+                .addValue("latitude", location.getLatitude(), Types.DOUBLE)
+                .addValue("longitude", location.getLongitude(), Types.DOUBLE));
+    }
+
+    public Map<String, Long> findOrInsertCharacteristics(Map<String, Characteristic> characteristics) {
+        return findOrInsert(characteristics, FIND_CHARACTERISTIC_IDS, INSERT_CHARACTERISTIC,
+                characteristic -> new MapSqlParameterSource()
+                        .addValue("code", characteristic.getCode(), Types.VARCHAR)
+                        .addValue("characteristicType",
+                                Objects.toString(characteristic.getCharacteristicType(), null), Types.VARCHAR)
+                        .addValue("characteristicValue", characteristic.getCharacteristicValue(), Types.VARCHAR));
+    }
+
+    private <T> Map<String, Long> findOrInsert(Map<String, T> values, String findSql, String insertSql,
+                                               Function<T, MapSqlParameterSource> parameters) {
+        Map<String, Long> ids = findIds(findSql, values.keySet());
+        Set<String> missing = values.keySet().stream().filter(hash -> !ids.containsKey(hash))
+                .collect(Collectors.toSet());
+        if (!missing.isEmpty()) {
+            List<SqlParameterSource> rows = missing.stream()
+                    .map(hash -> (SqlParameterSource) parameters.apply(values.get(hash))
+                            .addValue(CONTENT_HASH, hash, Types.VARCHAR))
+                    .toList();
+            jdbcTemplate.batchUpdate(insertSql, rows.toArray(SqlParameterSource[]::new));
+            ids.putAll(findIds(findSql, missing));
+        }
+        return ids;
+    }
+
+    private Map<String, Long> findIds(String sql, Set<String> hashes) {
+        return jdbcTemplate.query(sql, Map.of(HASHES, hashes), rows -> {
+            Map<String, Long> ids = new HashMap<>();
+            while (rows.next()) {
+                ids.put(rows.getString(1), rows.getLong(2));
+            }
+            return ids;
+        });
+    }
+}
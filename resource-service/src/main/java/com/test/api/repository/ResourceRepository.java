@@ -1,7 +1,44 @@
 package com.test.api.repository;
 
+import com.test.api.geo.GeoPoint;
 import com.test.api.model.Resource;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface ResourceRepository extends JpaRepository<Resource, Long> {
+public interface ResourceRepository extends JpaRepository<Resource, Long>, ResourceRepositoryCustom {
+    String GEO_POINT_SELECT = "select new com.test.api.geo.GeoPoint(r.id, r.resourceType, l.latitude, l.longitude, "
+            + "r.version) from Resource r join r.location l where l.latitude is not null and l.longitude is not null";
+
+    @Query("select min(r.id) from Resource r")
+    Long findMinId();
+
+    @Query("select max(r.id) from Resource r")
+    Long findMaxId();
+
+    @Query("select r.id from Resource r where r.id > :afterId and r.id <= :toId order by r.id")
+    List<Long> findIdsInRange(@Param("afterId") Long afterId, @Param("toId") Long toId, Pageable pageable);
+
+    @Query("select r.version from Resource r where r.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @EntityGraph(attributePaths = {"location", "Characteristics"})
+    Optional<Resource> findWithDetailsById(Long id);
+
+    @Query("select distinct r from Resource r left join fetch r.location left join fetch r.Characteristics "
+            + "where r.id in :ids order by r.id")
+    List<Resource> findAllWithDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query(GEO_POINT_SELECT)
+    Stream<GeoPoint> streamGeoPoints();
 }
@@ -0,0 +1,9 @@
+package com.test.api.repository;
+
+import com.test.api.model.Resource;
+import com.test.api.model.dto.request.ResourceFilterDto;
+import java.util.List;
+
+public interface ResourceRepositoryCustom {
+    List<Resource> findPage(ResourceFilterDto filter, Long afterId, int limit);
+}
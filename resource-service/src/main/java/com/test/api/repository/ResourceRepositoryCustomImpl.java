@@ -0,0 +1,95 @@
+package com.test.api.repository;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.dto.request.ResourceFilterDto;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ResourceRepositoryCustomImpl implements ResourceRepositoryCustom {
+    public static final String ID = "id";
+    public static final String RESOURCE_TYPE = "resourceType";
+    public static final String COUNTRY_CODE = "countryCode";
+    public static final String LOCATION = "location";
+    public static final String CITY = "city";
+    public static final String POSTAL_CODE = "postalCode";
+    public static final String CHARACTERISTICS = "Characteristics";
+    public static final String CHARACTERISTIC_TYPE = "characteristicType";
+    public static final String CHARACTERISTIC_VALUE = "CharacteristicValue";
+    public static final String FETCH_CHARACTERISTICS = "select distinct r from Resource r "
+            + "left join fetch r.Characteristics where r in :resources";
+    public static final String RESOURCES = "resources";
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Resource> findPage(ResourceFilterDto filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Resource> query = cb.createQuery(Resource.class);
+        Root<Resource> resource = query.from(Resource.class);
+        List<Predicate> predicates = new ArrayList<>();
+        // keyset condition instead of OFFSET keeps every page an index range scan
+        if (afterId != null) {
+            predicates.add(cb.greaterThan(resource.<Long>get(ID), afterId));
+        }
+        if (filter.getResourceType() != null) {
+            predicates.add(cb.equal(resource.get(RESOURCE_TYPE), filter.getResourceType()));
+        }
+        if (filter.getCountryCode() != null) {
+            predicates.add(cb.equal(resource.get(COUNTRY_CODE), filter.getCountryCode()));
+        }
+        Fetch<Resource, Location> locationFetch = resource.fetch(LOCATION, JoinType.LEFT);
+        Join<Resource, Location> location = (Join<Resource, Location>) locationFetch;
+        if (filter.getCity() != null) {
+            predicates.add(cb.equal(location.get(CITY), filter.getCity()));
+        }
+        if (filter.getPostalCode() != null) {
+            predicates.add(cb.equal(location.get(POSTAL_CODE), filter.getPostalCode()));
+        }
+        if (filter.getCharacteristicType() != null || filter.getCharacteristicValue() != null) {
+            predicates.add(cb.exists(characteristicSubquery(cb, query, resource, filter)));
+        }
+        query.select(resource)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(resource.get(ID)));
+        List<Resource> page = entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+        // a collection fetch cannot be combined with LIMIT, so characteristics of the page come in one more query
+        if (!page.isEmpty()) {
+            entityManager.createQuery(FETCH_CHARACTERISTICS, Resource.class)
+                    .setParameter(RESOURCES, page)
+                    .getResultList();
+        }
+        return page;
+    }
+
+    private Subquery<Long> characteristicSubquery(CriteriaBuilder cb, CriteriaQuery<Resource> query,
+                                                  Root<Resource> resource, ResourceFilterDto filter) {
+        Subquery<Long> subquery = query.subquery(Long.class);
+        Root<Resource> correlated = subquery.correlate(resource);
+        Join<Resource, Characteristic> characteristic = correlated.join(CHARACTERISTICS);
+        List<Predicate> predicates = new ArrayList<>();
+        if (filter.getCharacteristicType() != null) {
+            predicates.add(cb.equal(characteristic.get(CHARACTERISTIC_TYPE), filter.getCharacteristicType()));
+        }
+        if (filter.getCharacteristicValue() != null) {
+            predicates.add(cb.equal(characteristic.get(CHARACTERISTIC_VALUE), filter.getCharacteristicValue()));
+        }
+        return subquery.select(characteristic.<Long>get(ID))
+                .where(predicates.toArray(Predicate[]::new));
+    }
+}
@@ -0,0 +1,66 @@
+package com.test.api.repository;
+
+import com.test.api.search.AddressMatch;
+import com.test.api.search.SearchCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.sql.Types;
+import java.util.List;
+
+// Ranked address lookup over the pg_trgm index on locations.search_text. %> keeps locations containing an extent
+// similar to the query, so prefixes and misspelt words still match; <->> orders them by that word similarity.
+// The index only returns rows from the best match on, it cannot start at a distance, so a cursor page re-reads every
+// earlier match. Cursor pages therefore run over the first maxDepth matches only and the listing ends there.
+@Repository
+public class ResourceSearchRepository {
+    public static final String QUERY = "query";
+    public static final String THRESHOLD = "threshold";
+    public static final String AFTER_DISTANCE = "afterDistance";
+    public static final String AFTER_ID = "afterId";
+    public static final String LIMIT = "limit";
+    public static final String MAX_DEPTH = "maxDepth";
+    public static final String SET_THRESHOLD =
+            "select set_config('pg_trgm.word_similarity_threshold', :threshold, true)";
+    public static final String SEARCH = "select r.id, l.search_text <->> :query as distance "
+            + "from locations l join resources r on r.location_id = l.id "
+            + "where l.search_text %> :query ";
+    public static final String ORDER_AND_LIMIT = "order by distance, r.id limit :limit";
+    public static final String SEARCH_AFTER_CURSOR = "select id, distance from ("
+            + SEARCH + "order by distance, r.id limit :maxDepth) m "
+            + "where (distance, id) > (cast(:afterDistance as real), :afterId) "
+            + "order by distance, id limit :limit";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final double wordSimilarityThreshold;
+    private final int maxDepth;
+
+    public ResourceSearchRepository(NamedParameterJdbcTemplate jdbcTemplate,
+                                    @Value("${resource.search.word-similarity-threshold:0.3}")
+                                    double wordSimilarityThreshold,
+                                    @Value("${resource.search.max-depth:1000}") int maxDepth) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.wordSimilarityThreshold = wordSimilarityThreshold;
+        this.maxDepth = maxDepth;
+    }
+
+    // the threshold is set for this transaction only, which is why the lookup needs one
+    @Transactional(readOnly = true)
+    public List<AddressMatch> search(String query, SearchCursor after, int limit) {
+        jdbcTemplate.queryForObject(SET_THRESHOLD,
+                new MapSqlParameterSource(THRESHOLD, String.valueOf(wordSimilarityThreshold)), String.class);
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue(QUERY, query, Types.VARCHAR)
+                .addValue(LIMIT, limit, Types.INTEGER);
+        String sql = SEARCH + ORDER_AND_LIMIT;
+        if (after != null) {
+            parameters.addValue(AFTER_DISTANCE, after.getDistance(), Types.REAL)
+                    .addValue(AFTER_ID, after.getResourceId(), Types.BIGINT)
+                    .addValue(MAX_DEPTH, maxDepth, Types.INTEGER);
+            sql = SEARCH_AFTER_CURSOR;
+        }
+        return jdbcTemplate.query(sql, parameters,
+                (rs, rowNum) -> new AddressMatch(rs.getLong(1), rs.getFloat(2)));
+    }
+}
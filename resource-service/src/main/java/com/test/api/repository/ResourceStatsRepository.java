@@ -0,0 +1,103 @@
+package com.test.api.repository;
+
+import com.test.api.stats.ResourceStat;
+import com.test.api.stats.StatKey;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Counters in resource_stats, stored with empty strings for null because they are part of the primary key.
+@Repository
+@RequiredArgsConstructor
+public class ResourceStatsRepository {
+    public static final String INCREMENT = "insert into resource_stats "
+            + "(dimension, country_code, name, value, slot, count) "
+            + "values (:dimension, :countryCode, :name, :value, :slot, :count) "
+            + "on conflict (dimension, country_code, name, value, slot) "
+            + "do update set count = resource_stats.count + excluded.count";
+    public static final String FIND_STATS = "select dimension, country_code, name, value, sum(count) "
+            + "from resource_stats ";
+    public static final String BY_COUNTRY_CODE = "where country_code = :countryCode ";
+    public static final String GROUP_BY_KEY = "group by dimension, country_code, name, value "
+            + "having sum(count) <> 0 order by dimension, country_code, name, value";
+    public static final String COUNT_FROM_SOURCE = "select '" + StatKey.RESOURCE_TYPE + "', "
+            + "coalesce(r.country_code, ''), coalesce(r.resource_type, ''), '', count(*) "
+            + "from resources r group by 2, 3 "
+            + "union all "
+            + "select '" + StatKey.CHARACTERISTIC + "', coalesce(r.country_code, ''), "
+            + "coalesce(c.characteristic_type, ''), coalesce(c.characteristic_value, ''), count(distinct r.id) "
+            + "from resources r join resources_characteristics rc on rc.resource_id = r.id "
+            + "join characteristics c on c.id = rc.characteristic_id group by 2, 3, 4";
+    public static final String TRY_LOCK = "select pg_try_advisory_xact_lock(:lockKey)";
+    public static final String COUNTRY_CODE = "countryCode";
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public void increment(Map<StatKey, Long> counts, int slot) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = counts.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("dimension", entry.getKey().getDimension())
+                        .addValue(COUNTRY_CODE, stored(entry.getKey().getCountryCode()))
+                        .addValue("name", stored(entry.getKey().getName()))
+                        .addValue("value", stored(entry.getKey().getValue()))
+                        .addValue("slot", slot)
+                        .addValue("count", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate(INCREMENT, batch);
+    }
+
+    // reads a few rows per counter, however many resources there are
+    public List<ResourceStat> findStats(String countryCode) {
+        if (countryCode == null) {
+            return jdbcTemplate.query(FIND_STATS + GROUP_BY_KEY, this::stat);
+        }
+        return jdbcTemplate.query(FIND_STATS + BY_COUNTRY_CODE + GROUP_BY_KEY,
+                new MapSqlParameterSource(COUNTRY_CODE, countryCode), this::stat);
+    }
+
+    public Map<StatKey, Long> findCounts() {
+        return counts(FIND_STATS + GROUP_BY_KEY);
+    }
+
+    // full scan of resources and their characteristics, only for reconciliation
+    public Map<StatKey, Long> countFromSource() {
+        return counts(COUNT_FROM_SOURCE);
+    }
+
+    // held until the transaction ends, so only one replica reconciles at a time
+    public boolean tryLock(long lockKey) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(TRY_LOCK,
+                new MapSqlParameterSource("lockKey", lockKey), Boolean.class));
+    }
+
+    private Map<StatKey, Long> counts(String sql) {
+        Map<StatKey, Long> counts = new HashMap<>();
+        jdbcTemplate.query(sql, rs -> {
+            counts.put(new StatKey(rs.getString(1), loaded(rs.getString(2)), loaded(rs.getString(3)),
+                    loaded(rs.getString(4))), rs.getLong(5));
+        });
+        return counts;
+    }
+
+    private ResourceStat stat(ResultSet rs, int rowNum) throws SQLException {
+        return new ResourceStat(rs.getString(1), loaded(rs.getString(2)), loaded(rs.getString(3)),
+                loaded(rs.getString(4)), rs.getLong(5));
+    }
+
+    private static String stored(String value) {
+        return value == null ? "" : value;
+    }
+
+    private static String loaded(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
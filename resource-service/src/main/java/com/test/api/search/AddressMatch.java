@@ -0,0 +1,10 @@
+package com.test.api.search;
+
+import lombok.Value;
+
+@Value
+public class AddressMatch {
+    long resourceId;
+    // 1 - word similarity of the query to the location's street address and city
+    float distance;
+}
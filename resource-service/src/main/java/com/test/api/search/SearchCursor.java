@@ -0,0 +1,33 @@
+package com.test.api.search;
+
+import lombok.Value;
+
+// Position after the last match of a page, as "<distance>_<resourceId>". Float.toString round-trips the distance
+// exactly, so the next page continues right after the last row even among equally ranked matches.
+@Value
+public class SearchCursor {
+    public static final String PATTERN = "\\d+\\.\\d+(E-?\\d+)?_\\d+";
+    public static final String SEPARATOR = "_";
+    float distance;
+    long resourceId;
+
+    public static SearchCursor after(AddressMatch match) {
+        return new SearchCursor(match.getDistance(), match.getResourceId());
+    }
+
+    public static SearchCursor parse(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        if (!cursor.matches(PATTERN)) {
+            throw new IllegalArgumentException("Invalid search cursor: " + cursor);
+        }
+        int separator = cursor.indexOf(SEPARATOR);
+        return new SearchCursor(Float.parseFloat(cursor.substring(0, separator)),
+                Long.parseLong(cursor.substring(separator + 1)));
+    }
+
+    public String encode() {
+        return distance + SEPARATOR + resourceId;
+    }
+}
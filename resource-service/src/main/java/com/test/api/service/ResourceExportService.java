@@ -0,0 +1,9 @@
+package com.test.api.service;
+
+import com.test.api.model.dto.response.ExportJobResponseDto;
+
+public interface ResourceExportService {
+    ExportJobResponseDto start();
+
+    ExportJobResponseDto getStatus(String jobId);
+}
@@ -1,18 +1,38 @@
 package com.test.api.service;
 
+import com.test.api.model.NearbyResource;
 import com.test.api.model.Resource;
+import com.test.api.model.ResourceBatch;
+import com.test.api.model.ResourceSearchPage;
+import com.test.api.model.ResourceType;
+import com.test.api.model.dto.request.ResourceFilterDto;
 import com.test.api.model.dto.request.ResourceRequestDto;
+import com.test.api.stats.ResourceStat;
+import java.util.List;
 
 public interface ResourcesService {
     Resource add(Resource user);
 
+    List<Resource> addAll(List<Resource> resources);
+
     Resource get(Long id);
 
-    Resource update(Resource resource);
+    ResourceBatch getAll(List<Long> ids);
 
-    Resource updatePartial(ResourceRequestDto resourceRequestDto, Long id);
+    Long getVersion(Long id);
 
-    void remove(Long id);
+    List<Resource> list(ResourceFilterDto filter, Long cursor, int limit);
+
+    List<NearbyResource> findNear(double latitude, double longitude, Double radiusKm, int limit,
+                                  ResourceType resourceType);
+
+    ResourceSearchPage search(String query, String cursor, int limit);
 
-    String sendAll();
+    List<ResourceStat> stats(String countryCode);
+
+    Resource update(Resource resource, Long expectedVersion);
+
+    Resource updatePartial(ResourceRequestDto resourceRequestDto, Long id, Long expectedVersion);
+
+    void remove(Long id);
 }
@@ -0,0 +1,61 @@
+package com.test.api.service.impl;
+
+import com.test.api.model.ExportJobStatus;
+import lombok.Getter;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Getter
+class ExportJob {
+    private final String id;
+    private final AtomicLong itemsSent = new AtomicLong();
+    private final AtomicLong errors = new AtomicLong();
+    private volatile ExportJobStatus status = ExportJobStatus.PENDING;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String lastError;
+
+    ExportJob(String id) {
+        this.id = id;
+    }
+
+    void markRunning() {
+        startedAt = Instant.now();
+        status = ExportJobStatus.RUNNING;
+    }
+
+    void markCompleted() {
+        finishedAt = Instant.now();
+        status = ExportJobStatus.COMPLETED;
+    }
+
+    void markFailed(Throwable ex) {
+        recordError(ex);
+        finishedAt = Instant.now();
+        status = ExportJobStatus.FAILED;
+    }
+
+    void recordSent() {
+        itemsSent.incrementAndGet();
+    }
+
+    void recordError(Throwable ex) {
+        errors.incrementAndGet();
+        lastError = ex.getMessage();
+    }
+
+    boolean isFinished() {
+        return status == ExportJobStatus.COMPLETED || status == ExportJobStatus.FAILED;
+    }
+
+    double getItemsPerSecond() {
+        Instant start = startedAt;
+        if (start == null) {
+            return 0;
+        }
+        Instant end = finishedAt != null ? finishedAt : Instant.now();
+        long millis = Math.max(Duration.between(start, end).toMillis(), 1);
+        return itemsSent.get() * 1000.0 / millis;
+    }
+}
@@ -0,0 +1,154 @@
+package com.test.api.service.impl;
+
+import com.test.api.config.ExportConfig;
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventPublisher;
+import com.test.api.model.Resource;
+import com.test.api.model.dto.response.ExportJobResponseDto;
+import com.test.api.repository.ResourceRepository;
+import com.test.api.service.ResourceExportService;
+import jakarta.persistence.EntityNotFoundException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+@Service
+public class ResourceExportServiceImpl implements ResourceExportService {
+    public static final Logger logger = LogManager.getLogger(ResourceExportServiceImpl.class);
+    public static final String NOTIFICATION_TOPIC_ALL_DATA = "notificationTopicAllData";
+    private final ResourceRepository resourceRepository;
+    private final ResourceEventPublisher resourceEventPublisher;
+    private final Executor exportExecutor;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Map<String, ExportJob> jobs;
+    private ExportJob runningJob;
+
+    public ResourceExportServiceImpl(ResourceRepository resourceRepository,
+                                     ResourceEventPublisher resourceEventPublisher,
+                                     @Qualifier(ExportConfig.EXPORT_EXECUTOR) Executor exportExecutor,
+                                     @Value("${resource.export.chunk-size:500}") int chunkSize,
+                                     @Value("${resource.export.parallelism:4}") int parallelism,
+                                     @Value("${resource.export.history-size:20}") int historySize) {
+        this.resourceRepository = resourceRepository;
+        this.resourceEventPublisher = resourceEventPublisher;
+        this.exportExecutor = exportExecutor;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.jobs = Collections.synchronizedMap(new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ExportJob> eldest) {
+                return size() > historySize;
+            }
+        });
+    }
+
+    @Override
+    public synchronized ExportJobResponseDto start() {
+        if (runningJob != null && !runningJob.isFinished()) {
+            return toDto(runningJob);
+        }
+        ExportJob job = new ExportJob(UUID.randomUUID().toString());
+        jobs.put(job.getId(), job);
+        runningJob = job;
+        exportExecutor.execute(() -> run(job));
+        return toDto(job);
+    }
+
+    @Override
+    public ExportJobResponseDto getStatus(String jobId) {
+        ExportJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new EntityNotFoundException("Export job with id " + jobId + " not found");
+        }
+        return toDto(job);
+    }
+
+    private void run(ExportJob job) {
+        job.markRunning();
+        try {
+            Long minId = resourceRepository.findMinId();
+            Long maxId = resourceRepository.findMaxId();
+            if (minId != null && maxId != null) {
+                long span = maxId - minId + 1;
+                int partitions = (int) Math.max(1, Math.min(parallelism, span));
+                long step = (span + partitions - 1) / partitions;
+                List<CompletableFuture<Void>> ranges = new ArrayList<>(partitions);
+                for (int i = 0; i < partitions; i++) {
+                    long fromExclusive = minId - 1 + i * step;
+                    long toInclusive = i == partitions - 1 ? maxId : fromExclusive + step;
+                    ranges.add(CompletableFuture.runAsync(
+                            () -> exportRange(job, fromExclusive, toInclusive), exportExecutor));
+                }
+                CompletableFuture.allOf(ranges.toArray(CompletableFuture[]::new)).join();
+            }
+            job.markCompleted();
+            logger.info("Export job {} sent {} items with {} errors", job.getId(),
+                    job.getItemsSent().get(), job.getErrors().get());
+        } catch (RuntimeException ex) {
+            logger.error("Export job {} failed", job.getId(), ex);
+            job.markFailed(ex);
+        }
+    }
+
+    private void exportRange(ExportJob job, long fromExclusive, long toInclusive) {
+        long cursor = fromExclusive;
+        while (cursor < toInclusive) {
+            List<Long> ids = resourceRepository.findIdsInRange(cursor, toInclusive, PageRequest.of(0, chunkSize));
+            if (ids.isEmpty()) {
+                return;
+            }
+            List<Resource> chunk = resourceRepository.findAllWithDetailsByIdIn(ids);
+            List<CompletableFuture<?>> sends = new ArrayList<>(chunk.size());
+            for (Resource resource : chunk) {
+                sends.add(send(job, resource));
+            }
+            // wait for the chunk to be acknowledged before loading the next one to keep memory flat
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .exceptionally(ex -> null)
+                    .join();
+            cursor = ids.get(ids.size() - 1);
+        }
+    }
+
+    private CompletableFuture<?> send(ExportJob job, Resource resource) {
+        try {
+            return resourceEventPublisher.publish(NOTIFICATION_TOPIC_ALL_DATA, String.valueOf(resource.getId()),
+                    ResourceEvent.snapshot(resource))
+                    .whenComplete((result, ex) -> {
+                        if (ex == null) {
+                            job.recordSent();
+                        } else {
+                            job.recordError(ex);
+                        }
+                    });
+        } catch (RuntimeException ex) {
+            job.recordError(ex);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    private ExportJobResponseDto toDto(ExportJob job) {
+        ExportJobResponseDto dto = new ExportJobResponseDto();
+        dto.setId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setItemsSent(job.getItemsSent().get());
+        dto.setErrors(job.getErrors().get());
+        dto.setItemsPerSecond(job.getItemsPerSecond());
+        dto.setStartedAt(job.getStartedAt());
+        dto.setFinishedAt(job.getFinishedAt());
+        dto.setLastError(job.getLastError());
+        return dto;
+    }
+}
@@ -1,62 +1,280 @@
 package com.test.api.service.impl;
 
+import com.test.api.cache.ResourceCache;
+import com.test.api.event.ResourceDiff;
 import com.test.api.event.ResourceEvent;
+import com.test.api.exception.ResourceVersionMismatchException;
+import com.test.api.geo.GeoHit;
+import com.test.api.geo.ResourceGeoIndex;
 import com.test.api.mapper.RequestMapper;
+import com.test.api.model.MatchedResource;
+import com.test.api.model.NearbyResource;
 import com.test.api.model.Resource;
+import com.test.api.model.ResourceBatch;
+import com.test.api.model.ResourceSearchPage;
+import com.test.api.model.ResourceType;
+import com.test.api.model.dto.request.ResourceFilterDto;
 import com.test.api.model.dto.request.ResourceRequestDto;
+import com.test.api.outbox.OutboxWriter;
+import com.test.api.reference.ReferenceInterner;
 import com.test.api.repository.ResourceRepository;
+import com.test.api.repository.ResourceSearchRepository;
+import com.test.api.repository.ResourceStatsRepository;
+import com.test.api.search.AddressMatch;
+import com.test.api.search.SearchCursor;
+import com.test.api.stats.ResourceStat;
+import com.test.api.stats.ResourceStatsCounter;
+import com.test.api.stats.StatsDelta;
 import com.test.api.service.ResourcesService;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = ResourcesServiceImpl.METRIC_SERVICE, description = "ResourcesService calls by method")
 public class ResourcesServiceImpl implements ResourcesService {
     public static final String NOTIFICATION_TOPIC = "notificationTopic";
-    public static final String NOTIFICATION_TOPIC_ALL_DATA = "notificationTopicAllData";
+    public static final String RESOURCE_STATE_TOPIC = "resourceStateTopic";
+    public static final String METRIC_SERVICE = "resource.service";
     private final RequestMapper resourceRequestMapper;
     private final ResourceRepository resourceRepository;
-    private final KafkaTemplate<String, ResourceEvent> kafkaTemplate;
+    private final OutboxWriter outboxWriter;
+    private final TransactionTemplate transactionTemplate;
+    private final ResourceCache resourceCache;
+    private final ReferenceInterner referenceInterner;
+    private final ResourceGeoIndex resourceGeoIndex;
+    private final ResourceSearchRepository resourceSearchRepository;
+    private final ResourceStatsCounter resourceStatsCounter;
+    private final ResourceStatsRepository resourceStatsRepository;
+    @Value("${resource.bulk.chunk-size:1000}")
+    private int bulkChunkSize;
 
     @Override
+    @Transactional
     public Resource add(Resource resource) {
+        // a null version marks the entity as new, so it is persisted and seeded with Resource.INITIAL_VERSION
+        resource.setVersion(null);
+        referenceInterner.intern(List.of(resource));
         Resource resourceSaved = resourceRepository.save(resource);
-        kafkaTemplate.send(NOTIFICATION_TOPIC, new ResourceEvent(resourceSaved));
+        resourceCache.invalidate(resourceSaved.getId());
+        resourceGeoIndex.index(resourceSaved);
+        resourceStatsCounter.record(new StatsDelta().add(resourceSaved));
+        outboxWriter.write(NOTIFICATION_TOPIC, ResourceEvent.created(resourceSaved));
+        outboxWriter.write(RESOURCE_STATE_TOPIC, ResourceEvent.snapshot(resourceSaved));
         return resourceSaved;
     }
 
+    @Override
+    public List<Resource> addAll(List<Resource> resources) {
+        List<Resource> resourcesSaved = new ArrayList<>(resources.size());
+        resources.forEach(resource -> resource.setVersion(null));
+        for (int from = 0; from < resources.size(); from += bulkChunkSize) {
+            // every chunk is flushed as JDBC batches and committed together with its outbox rows
+            List<Resource> chunk = resources.subList(from, Math.min(from + bulkChunkSize, resources.size()));
+            List<Resource> chunkSaved = transactionTemplate.execute(status -> {
+                referenceInterner.intern(chunk);
+                List<Resource> saved = resourceRepository.saveAllAndFlush(chunk);
+                StatsDelta stats = new StatsDelta();
+                saved.forEach(resource -> {
+                    resourceCache.invalidate(resource.getId());
+                    resourceGeoIndex.index(resource);
+                    stats.add(resource);
+                });
+                resourceStatsCounter.record(stats);
+                outboxWriter.writeAll(NOTIFICATION_TOPIC, saved.stream().map(ResourceEvent::created).toList());
+                outboxWriter.writeAll(RESOURCE_STATE_TOPIC, saved.stream().map(ResourceEvent::snapshot).toList());
+                return saved;
+            });
+            resourcesSaved.addAll(chunkSaved);
+        }
+        return resourcesSaved;
+    }
+
     @Override
     public Resource get(Long id) {
-        return resourceRepository.findById(id).orElseThrow(
-                () -> new EntityNotFoundException("Resource with id " + id + " not found"));
+        return resourceCache.get(id, this::load);
+    }
+
+    // cached resources are served from the near cache, the rest with one joined select; rows loaded here are not
+    // cached, a bulk load cannot be ordered against a concurrent invalidation the way a single-key load is
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceBatch getAll(List<Long> ids) {
+        Map<Long, Resource> found = new HashMap<>(resourceCache.getAllPresent(ids));
+        List<Long> misses = ids.stream().distinct().filter(id -> !found.containsKey(id)).toList();
+        if (!misses.isEmpty()) {
+            resourceRepository.findAllWithDetailsByIdIn(misses)
+                    .forEach(resource -> found.put(resource.getId(), resource));
+        }
+        List<Resource> resources = new ArrayList<>(ids.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : ids) {
+            Resource resource = found.get(id);
+            if (resource != null) {
+                resources.add(resource);
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new ResourceBatch(resources, missingIds);
+    }
+
+    // conditional reads only need the version, so skip the characteristics graph on a cache miss
+    @Override
+    public Long getVersion(Long id) {
+        Resource cached = resourceCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getVersion();
+        }
+        return resourceRepository.findVersionById(id).orElseThrow(() -> notFound(id));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Resource> list(ResourceFilterDto filter, Long cursor, int limit) {
+        return resourceRepository.findPage(filter, cursor, limit);
+    }
+
+    @Override
+    public List<NearbyResource> findNear(double latitude, double longitude, Double radiusKm, int limit,
+                                         ResourceType resourceType) {
+        List<GeoHit> hits = radiusKm == null
+                ? resourceGeoIndex.nearest(latitude, longitude, limit, resourceType)
+                : resourceGeoIndex.within(latitude, longitude, radiusKm, resourceType, limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, Resource> resources = resourceRepository.findAllWithDetailsByIdIn(
+                hits.stream().map(GeoHit::getId).toList()).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        // a hit can outlive its row until the tombstone of a delete on another replica reaches this one
+        List<NearbyResource> nearby = new ArrayList<>(hits.size());
+        for (GeoHit hit : hits) {
+            Resource resource = resources.get(hit.getId());
+            if (resource != null) {
+                nearby.add(new NearbyResource(resource, hit.getDistanceKm()));
+            }
+        }
+        return nearby;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public ResourceSearchPage search(String query, String cursor, int limit) {
+        List<AddressMatch> matches = resourceSearchRepository.search(query, SearchCursor.parse(cursor), limit);
+        if (matches.isEmpty()) {
+            return new ResourceSearchPage(List.of(), null);
+        }
+        Map<Long, Resource> resources = resourceRepository.findAllWithDetailsByIdIn(
+                matches.stream().map(AddressMatch::getResourceId).toList()).stream()
+                .collect(Collectors.toMap(Resource::getId, Function.identity()));
+        List<MatchedResource> matched = new ArrayList<>(matches.size());
+        for (AddressMatch match : matches) {
+            Resource resource = resources.get(match.getResourceId());
+            if (resource != null) {
+                matched.add(new MatchedResource(resource, 1 - match.getDistance()));
+            }
+        }
+        // the cursor follows the index matches, a resource deleted in between must not end the listing early
+        String nextCursor = matches.size() == limit
+                ? SearchCursor.after(matches.get(matches.size() - 1)).encode()
+                : null;
+        return new ResourceSearchPage(matched, nextCursor);
+    }
+
+    @Override
+    public List<ResourceStat> stats(String countryCode) {
+        return resourceStatsRepository.findStats(countryCode);
+    }
+
+    @Override
+    @Transactional
     public void remove(Long id) {
-        resourceRepository.deleteById(id);
+        resourceRepository.findById(id).ifPresent(resource -> {
+            resourceStatsCounter.record(StatsDelta.removing(resource));
+            resourceRepository.delete(resource);
+            ResourceEvent deleted = ResourceEvent.deleted(id, nextVersion(resource));
+            outboxWriter.write(NOTIFICATION_TOPIC, deleted);
+            outboxWriter.writeTombstone(RESOURCE_STATE_TOPIC, deleted);
+        });
+        resourceCache.invalidate(id);
+        resourceGeoIndex.remove(id);
     }
 
     @Override
-    public Resource update(Resource resource) {
-        Resource resourceUpdated = resourceRepository.save(resource);
-        kafkaTemplate.send(NOTIFICATION_TOPIC, new ResourceEvent(resourceUpdated));
+    @Transactional
+    public Resource update(Resource resource, Long expectedVersion) {
+        // loads the current graph with one joined select so merge does not fetch it row by row
+        Resource current = resourceRepository.findWithDetailsById(resource.getId())
+                .orElseThrow(() -> notFound(resource.getId()));
+        checkVersion(current, expectedVersion);
+        ResourceDiff diff = ResourceDiff.of(current);
+        if (!diff.isChanged(resource)) {
+            return current;
+        }
+        // taken before the merge copies the new state onto current
+        StatsDelta stats = StatsDelta.removing(current);
+        referenceInterner.intern(List.of(resource));
+        // the flush updates only if the row still has this version, a concurrent writer makes it fail
+        resource.setVersion(current.getVersion());
+        Resource resourceUpdated = resourceRepository.saveAndFlush(resource);
+        resourceCache.invalidate(resource.getId());
+        resourceGeoIndex.index(resourceUpdated);
+        resourceStatsCounter.record(stats.add(resourceUpdated));
+        outboxWriter.write(NOTIFICATION_TOPIC, diff.toEvent(resourceUpdated));
+        outboxWriter.write(RESOURCE_STATE_TOPIC, ResourceEvent.snapshot(resourceUpdated));
         return resourceUpdated;
     }
 
     @Override
-    public Resource updatePartial(ResourceRequestDto resourceRequestDto, Long id) {
-        Resource resource = resourceRepository.getReferenceById(id);
+    @Transactional
+    public Resource updatePartial(ResourceRequestDto resourceRequestDto, Long id, Long expectedVersion) {
+        Resource resource = resourceRepository.findWithDetailsById(id).orElseThrow(() -> notFound(id));
+        checkVersion(resource, expectedVersion);
+        ResourceDiff diff = ResourceDiff.of(resource);
+        StatsDelta stats = StatsDelta.removing(resource);
         resourceRequestMapper.updateResourcesFromDto(resourceRequestDto, resource);
-        return resourceRepository.save(resource);
+        // before the no-op return too, the managed entity must not be left pointing at unsaved rows
+        referenceInterner.intern(List.of(resource));
+        if (!diff.isChanged(resource)) {
+            return resource;
+        }
+        Resource resourceUpdated = resourceRepository.saveAndFlush(resource);
+        resourceCache.invalidate(id);
+        resourceGeoIndex.index(resourceUpdated);
+        resourceStatsCounter.record(stats.add(resourceUpdated));
+        outboxWriter.write(NOTIFICATION_TOPIC, diff.toEvent(resourceUpdated));
+        outboxWriter.write(RESOURCE_STATE_TOPIC, ResourceEvent.snapshot(resourceUpdated));
+        return resourceUpdated;
     }
 
-    @Override
-    public String sendAll() {
-        List<Resource> resources = resourceRepository.findAll();
-        resources.forEach(e->kafkaTemplate.send(NOTIFICATION_TOPIC_ALL_DATA, new ResourceEvent(e)));
-        return String.format("Send %s items from Resource.", resources.size());
+    private Resource load(Long id) {
+        return resourceRepository.findWithDetailsById(id).orElseThrow(() -> notFound(id));
+    }
+
+    private long nextVersion(Resource resource) {
+        return resource.getVersion() == null ? Resource.INITIAL_VERSION : resource.getVersion() + 1;
+    }
+
+    private void checkVersion(Resource resource, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(resource.getVersion())) {
+            throw new ResourceVersionMismatchException("Resource with id " + resource.getId() + " has version "
+                    + resource.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    private EntityNotFoundException notFound(Long id) {
+        return new EntityNotFoundException("Resource with id " + id + " not found");
     }
 }
@@ -0,0 +1,12 @@
+package com.test.api.stats;
+
+import lombok.Value;
+
+@Value
+public class ResourceStat {
+    String dimension;
+    String countryCode;
+    String name;
+    String value;
+    long count;
+}
@@ -0,0 +1,80 @@
+package com.test.api.stats;
+
+import com.test.api.repository.ResourceStatsRepository;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Keeps resource_stats in step with the resources. Every write adds its delta within the transaction that changes
+// the resources, to a random slot so concurrent writers rarely contend on one row, and a periodic pass corrects
+// whatever drifted, e.g. through rows changed outside the service.
+@Component
+public class ResourceStatsCounter {
+    public static final Logger logger = LogManager.getLogger(ResourceStatsCounter.class);
+    public static final int RECONCILIATION_SLOT = -1;
+    public static final long RECONCILIATION_LOCK_KEY = "resource_stats".hashCode();
+    private final ResourceStatsRepository resourceStatsRepository;
+    private final TransactionTemplate snapshotTransaction;
+    private final int slots;
+
+    public ResourceStatsCounter(ResourceStatsRepository resourceStatsRepository,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${resource.stats.slots:16}") int slots) {
+        this.resourceStatsRepository = resourceStatsRepository;
+        this.snapshotTransaction = new TransactionTemplate(transactionManager);
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.slots = slots;
+    }
+
+    // joins the caller's transaction, so the counters change exactly when the resources do
+    public void record(StatsDelta delta) {
+        resourceStatsRepository.increment(delta.getCounts(), ThreadLocalRandom.current().nextInt(slots));
+    }
+
+    @Scheduled(initialDelayString = "${resource.stats.reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${resource.stats.reconcile-interval-ms:3600000}")
+    public void reconcile() {
+        try {
+            Map<StatKey, Long> corrections = snapshotTransaction.execute(status -> {
+                if (!resourceStatsRepository.tryLock(RECONCILIATION_LOCK_KEY)) {
+                    return Map.of();
+                }
+                // both reads see one snapshot, writes committed meanwhile are in neither, so the difference is
+                // only the drift; it goes to a slot that writers never touch, so it conflicts with none of them
+                Map<StatKey, Long> drift = difference(resourceStatsRepository.countFromSource(),
+                        resourceStatsRepository.findCounts());
+                resourceStatsRepository.increment(drift, RECONCILIATION_SLOT);
+                return drift;
+            });
+            if (corrections != null && !corrections.isEmpty()) {
+                logger.warn("Corrected {} resource stats counters that drifted from the resources",
+                        corrections.size());
+            }
+        } catch (RuntimeException ex) {
+            logger.warn("Resource stats reconciliation failed, it is retried on the next run", ex);
+        }
+    }
+
+    static Map<StatKey, Long> difference(Map<StatKey, Long> actual, Map<StatKey, Long> counted) {
+        Set<StatKey> keys = new HashSet<>(actual.keySet());
+        keys.addAll(counted.keySet());
+        Map<StatKey, Long> drift = new TreeMap<>();
+        for (StatKey key : keys) {
+            long difference = actual.getOrDefault(key, 0L) - counted.getOrDefault(key, 0L);
+            if (difference != 0) {
+                drift.put(key, difference);
+            }
+        }
+        return drift;
+    }
+}
@@ -0,0 +1,26 @@
+package com.test.api.stats;
+
+import lombok.Value;
+import java.util.Comparator;
+
+@Value
+public class StatKey implements Comparable<StatKey> {
+    public static final String RESOURCE_TYPE = "RESOURCE_TYPE";
+    public static final String CHARACTERISTIC = "CHARACTERISTIC";
+    private static final Comparator<String> NULLS_FIRST = Comparator.nullsFirst(Comparator.naturalOrder());
+    private static final Comparator<StatKey> ORDER = Comparator.comparing(StatKey::getDimension, NULLS_FIRST)
+            .thenComparing(StatKey::getCountryCode, NULLS_FIRST)
+            .thenComparing(StatKey::getName, NULLS_FIRST)
+            .thenComparing(StatKey::getValue, NULLS_FIRST);
+    String dimension;
+    String countryCode;
+    // resource type or characteristic type
+    String name;
+    // characteristic value, null for resource types
+    String value;
+
+    @Override
+    public int compareTo(StatKey other) {
+        return ORDER.compare(this, other);
+    }
+}
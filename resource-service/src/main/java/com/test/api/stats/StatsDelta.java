@@ -0,0 +1,51 @@
+package com.test.api.stats;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.Resource;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+// Net change of the counters made by one transaction. Keys are sorted, so concurrent transactions lock
+// counter rows in the same order and cannot deadlock on them.
+public class StatsDelta {
+    private final Map<StatKey, Long> counts = new TreeMap<>();
+
+    public static StatsDelta removing(Resource resource) {
+        return new StatsDelta().subtract(resource);
+    }
+
+    public StatsDelta add(Resource resource) {
+        keys(resource).forEach(key -> counts.merge(key, 1L, Long::sum));
+        return this;
+    }
+
+    public StatsDelta subtract(Resource resource) {
+        keys(resource).forEach(key -> counts.merge(key, -1L, Long::sum));
+        return this;
+    }
+
+    // zero entries are dropped, an update that keeps type, country and characteristics changes nothing
+    public Map<StatKey, Long> getCounts() {
+        Map<StatKey, Long> changed = new TreeMap<>(counts);
+        changed.values().removeIf(count -> count == 0);
+        return changed;
+    }
+
+    // a resource counts once per characteristic type and value, however often it lists it
+    private static Set<StatKey> keys(Resource resource) {
+        Set<StatKey> keys = new HashSet<>();
+        keys.add(new StatKey(StatKey.RESOURCE_TYPE, resource.getCountryCode(),
+                Objects.toString(resource.getResourceType(), null), null));
+        if (resource.getCharacteristics() != null) {
+            for (Characteristic characteristic : resource.getCharacteristics()) {
+                keys.add(new StatKey(StatKey.CHARACTERISTIC, resource.getCountryCode(),
+                        Objects.toString(characteristic.getCharacteristicType(), null),
+                        characteristic.getCharacteristicValue()));
+            }
+        }
+        return keys;
+    }
+}
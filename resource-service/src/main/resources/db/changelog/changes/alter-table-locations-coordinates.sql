@@ -0,0 +1,8 @@
+--liquibase formatted sql
+--changeset alex:10
+ALTER TABLE IF EXISTS public.locations
+    ADD COLUMN IF NOT EXISTS latitude double precision,
+    ADD COLUMN IF NOT EXISTS longitude double precision;
+ALTER TABLE IF EXISTS public.locations
+    ADD CONSTRAINT locations_latitude_check CHECK (latitude BETWEEN -90 AND 90),
+    ADD CONSTRAINT locations_longitude_check CHECK (longitude BETWEEN -180 AND 180);
@@ -0,0 +1,9 @@
+--liquibase formatted sql
+--changeset alex:11
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+ALTER TABLE IF EXISTS public.locations
+    ADD COLUMN IF NOT EXISTS search_text text
+    GENERATED ALWAYS AS (coalesce(street_address, '') || ' ' || coalesce(city, '')) STORED;
+-- GiST rather than GIN: it returns rows in word-similarity order, so the first page stops after LIMIT matches
+CREATE INDEX IF NOT EXISTS locations_search_text_trgm_idx
+    ON public.locations USING gist (search_text gist_trgm_ops);
@@ -0,0 +1,10 @@
+--liquibase formatted sql
+--changeset alex:16
+-- rows of one key always share a bucket; a replica relays a bucket only while it holds that bucket's advisory lock,
+-- so replicas relay different buckets side by side and each key still goes out in relay_order
+ALTER TABLE IF EXISTS public.resource_outbox
+    ADD COLUMN IF NOT EXISTS bucket integer NOT NULL
+        GENERATED ALWAYS AS ((hashtext(coalesce(message_key, '')) & 2147483647) % 16) STORED;
+
+DROP INDEX IF EXISTS public.resource_outbox_relay_order_idx;
+CREATE INDEX IF NOT EXISTS resource_outbox_bucket_relay_order_idx ON public.resource_outbox (bucket, relay_order);
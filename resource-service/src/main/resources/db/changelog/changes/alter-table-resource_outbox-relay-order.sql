@@ -0,0 +1,16 @@
+--liquibase formatted sql
+--changeset alex:13
+-- ids come from a pooled sequence, each replica hands out its own block, so they do not follow commit order;
+-- relay_order is drawn one at a time at insert, after any earlier write of the same resource has committed
+CREATE SEQUENCE IF NOT EXISTS public.resource_outbox_relay_order_seq INCREMENT BY 1 MINVALUE 1 START WITH 1;
+
+ALTER TABLE IF EXISTS public.resource_outbox
+    ADD COLUMN IF NOT EXISTS relay_order bigint NOT NULL DEFAULT nextval('public.resource_outbox_relay_order_seq'),
+    ADD COLUMN IF NOT EXISTS tombstone boolean NOT NULL DEFAULT false;
+
+CREATE INDEX IF NOT EXISTS resource_outbox_relay_order_idx ON public.resource_outbox (relay_order);
+
+ALTER SEQUENCE IF EXISTS public.resource_outbox_relay_order_seq
+    OWNED BY public.resource_outbox.relay_order;
+ALTER SEQUENCE IF EXISTS public.resource_outbox_relay_order_seq
+    OWNER TO sa;
@@ -0,0 +1,4 @@
+--liquibase formatted sql
+--changeset alex:8
+ALTER TABLE IF EXISTS public.resources
+    ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 1;
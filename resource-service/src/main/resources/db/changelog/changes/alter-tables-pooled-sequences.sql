@@ -0,0 +1,18 @@
+--liquibase formatted sql
+--changeset alex:5
+ALTER TABLE IF EXISTS public.locations ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE IF EXISTS public.characteristics ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE IF EXISTS public.resources ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS public.locations_seq INCREMENT BY 50 MINVALUE 1 START WITH 1;
+CREATE SEQUENCE IF NOT EXISTS public.characteristics_seq INCREMENT BY 50 MINVALUE 1 START WITH 1;
+CREATE SEQUENCE IF NOT EXISTS public.resources_seq INCREMENT BY 50 MINVALUE 1 START WITH 1;
+
+-- Hibernate pooled optimizer hands out (value - 49 .. value), so the first value must clear existing ids
+SELECT setval('public.locations_seq', COALESCE((SELECT MAX(id) FROM public.locations), 0) + 50, false);
+SELECT setval('public.characteristics_seq', COALESCE((SELECT MAX(id) FROM public.characteristics), 0) + 50, false);
+SELECT setval('public.resources_seq', COALESCE((SELECT MAX(id) FROM public.resources), 0) + 50, false);
+
+ALTER SEQUENCE IF EXISTS public.locations_seq OWNER TO sa;
+ALTER SEQUENCE IF EXISTS public.characteristics_seq OWNER TO sa;
+ALTER SEQUENCE IF EXISTS public.resources_seq OWNER TO sa;
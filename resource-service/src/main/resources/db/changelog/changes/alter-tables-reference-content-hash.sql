@@ -0,0 +1,48 @@
+--liquibase formatted sql
+--changeset alex:9
+-- content_hash must match ContentHash: hex SHA-256 over the fields as "<length>:<value>", "-" for null
+ALTER TABLE IF EXISTS public.locations
+    ADD COLUMN IF NOT EXISTS content_hash character varying(64) COLLATE pg_catalog."default";
+ALTER TABLE IF EXISTS public.characteristics
+    ADD COLUMN IF NOT EXISTS content_hash character varying(64) COLLATE pg_catalog."default";
+
+UPDATE public.locations SET content_hash = encode(sha256(convert_to(
+    CASE WHEN street_address IS NULL THEN '-' ELSE char_length(street_address) || ':' || street_address END
+    || CASE WHEN city IS NULL THEN '-' ELSE char_length(city) || ':' || city END
+    || CASE WHEN postal_code IS NULL THEN '-' ELSE char_length(postal_code::text) || ':' || postal_code::text END
+    || CASE WHEN country_code IS NULL THEN '-' ELSE char_length(country_code) || ':' || country_code END,
+    'UTF8')), 'hex');
+UPDATE public.characteristics SET content_hash = encode(sha256(convert_to(
+    CASE WHEN code IS NULL THEN '-' ELSE char_length(code) || ':' || code END
+    || CASE WHEN characteristic_type IS NULL THEN '-'
+        ELSE char_length(characteristic_type) || ':' || characteristic_type END
+    || CASE WHEN characteristic_value IS NULL THEN '-'
+        ELSE char_length(characteristic_value) || ':' || characteristic_value END,
+    'UTF8')), 'hex');
+
+-- every group of identical rows keeps its lowest id, references move there before the copies are deleted
+UPDATE public.resources r
+SET location_id = d.canonical_id
+FROM (SELECT id, min(id) OVER (PARTITION BY content_hash) AS canonical_id FROM public.locations) d
+WHERE r.location_id = d.id AND d.id <> d.canonical_id;
+DELETE FROM public.locations l
+USING (SELECT id, min(id) OVER (PARTITION BY content_hash) AS canonical_id FROM public.locations) d
+WHERE l.id = d.id AND d.id <> d.canonical_id;
+
+UPDATE public.resources_characteristics rc
+SET characteristic_id = d.canonical_id
+FROM (SELECT id, min(id) OVER (PARTITION BY content_hash) AS canonical_id FROM public.characteristics) d
+WHERE rc.characteristic_id = d.id AND d.id <> d.canonical_id;
+DELETE FROM public.resources_characteristics a
+USING public.resources_characteristics b
+WHERE a.resource_id = b.resource_id AND a.characteristic_id = b.characteristic_id AND a.ctid > b.ctid;
+DELETE FROM public.characteristics c
+USING (SELECT id, min(id) OVER (PARTITION BY content_hash) AS canonical_id FROM public.characteristics) d
+WHERE c.id = d.id AND d.id <> d.canonical_id;
+
+ALTER TABLE IF EXISTS public.locations ALTER COLUMN content_hash SET NOT NULL;
+ALTER TABLE IF EXISTS public.characteristics ALTER COLUMN content_hash SET NOT NULL;
+CREATE UNIQUE INDEX IF NOT EXISTS locations_content_hash_key
+    ON public.locations USING btree (content_hash);
+CREATE UNIQUE INDEX IF NOT EXISTS characteristics_content_hash_key
+    ON public.characteristics USING btree (content_hash);
@@ -0,0 +1,7 @@
+--liquibase formatted sql
+--changeset alex:14
+-- location and characteristic rows are only inserted by ReferenceDataRepository, one nextval per row, so a pooled
+-- increment of 50 burnt 49 ids on every interned row; every id handed out so far is at most the last value, so
+-- continuing from it one at a time cannot collide with an existing row
+ALTER SEQUENCE IF EXISTS public.locations_seq INCREMENT BY 1;
+ALTER SEQUENCE IF EXISTS public.characteristics_seq INCREMENT BY 1;
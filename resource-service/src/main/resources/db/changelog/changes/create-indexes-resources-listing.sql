@@ -0,0 +1,20 @@
+--liquibase formatted sql
+--changeset alex:6
+CREATE INDEX IF NOT EXISTS resources_resource_type_id_idx
+    ON public.resources USING btree (resource_type, id);
+CREATE INDEX IF NOT EXISTS resources_country_code_id_idx
+    ON public.resources USING btree (country_code, id);
+CREATE INDEX IF NOT EXISTS resources_resource_type_country_code_id_idx
+    ON public.resources USING btree (resource_type, country_code, id);
+CREATE INDEX IF NOT EXISTS resources_location_id_idx
+    ON public.resources USING btree (location_id);
+CREATE INDEX IF NOT EXISTS locations_city_idx
+    ON public.locations USING btree (city);
+CREATE INDEX IF NOT EXISTS locations_postal_code_idx
+    ON public.locations USING btree (postal_code);
+CREATE INDEX IF NOT EXISTS characteristics_type_value_idx
+    ON public.characteristics USING btree (characteristic_type, characteristic_value);
+CREATE INDEX IF NOT EXISTS resources_characteristics_resource_id_idx
+    ON public.resources_characteristics USING btree (resource_id, characteristic_id);
+CREATE INDEX IF NOT EXISTS resources_characteristics_characteristic_id_idx
+    ON public.resources_characteristics USING btree (characteristic_id, resource_id);
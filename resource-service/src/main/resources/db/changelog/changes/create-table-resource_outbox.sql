@@ -0,0 +1,20 @@
+--liquibase formatted sql
+--changeset alex:7
+CREATE SEQUENCE IF NOT EXISTS public.resource_outbox_seq INCREMENT BY 50 MINVALUE 1 START WITH 1;
+
+CREATE TABLE IF NOT EXISTS public.resource_outbox
+(
+    id bigint NOT NULL,
+    topic character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    message_key character varying(255) COLLATE pg_catalog."default",
+    payload bytea,
+    created_at timestamp with time zone NOT NULL DEFAULT now(),
+    CONSTRAINT resource_outbox_pkey PRIMARY KEY (id)
+)
+
+TABLESPACE pg_default;
+
+ALTER TABLE IF EXISTS public.resource_outbox
+    OWNER to sa;
+ALTER SEQUENCE IF EXISTS public.resource_outbox_seq
+    OWNER TO sa;
@@ -0,0 +1,24 @@
+--liquibase formatted sql
+--changeset alex:15
+ALTER TABLE IF EXISTS public.resource_outbox
+    ADD COLUMN IF NOT EXISTS attempts integer NOT NULL DEFAULT 0;
+
+-- outbox rows the relay gave up on, kept with their payload so they can be inspected and replayed by hand
+CREATE TABLE IF NOT EXISTS public.resource_outbox_dead_letter
+(
+    id bigint NOT NULL,
+    topic character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    message_key character varying(255) COLLATE pg_catalog."default",
+    payload bytea,
+    created_at timestamp with time zone NOT NULL,
+    tombstone boolean NOT NULL DEFAULT false,
+    attempts integer NOT NULL,
+    error text COLLATE pg_catalog."default",
+    dead_lettered_at timestamp with time zone NOT NULL DEFAULT now(),
+    CONSTRAINT resource_outbox_dead_letter_pkey PRIMARY KEY (id)
+)
+
+TABLESPACE pg_default;
+
+ALTER TABLE IF EXISTS public.resource_outbox_dead_letter
+    OWNER to sa;
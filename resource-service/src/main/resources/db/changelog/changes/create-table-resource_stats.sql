@@ -0,0 +1,33 @@
+--liquibase formatted sql
+--changeset alex:12
+-- a count is the sum over its slots; writers spread over the slots so they rarely wait on the same row lock
+CREATE TABLE IF NOT EXISTS public.resource_stats
+(
+    dimension character varying(32) COLLATE pg_catalog."default" NOT NULL,
+    country_code character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    name character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    value character varying(255) COLLATE pg_catalog."default" NOT NULL,
+    slot smallint NOT NULL,
+    count bigint NOT NULL,
+    CONSTRAINT resource_stats_pkey PRIMARY KEY (dimension, country_code, name, value, slot)
+)
+
+TABLESPACE pg_default;
+
+ALTER TABLE IF EXISTS public.resource_stats
+    OWNER to sa;
+
+-- empty strings stand for null, the primary key columns cannot hold it
+INSERT INTO public.resource_stats (dimension, country_code, name, value, slot, count)
+SELECT 'RESOURCE_TYPE', coalesce(r.country_code, ''), coalesce(r.resource_type, ''), '', -1, count(*)
+FROM public.resources r
+GROUP BY 2, 3
+ON CONFLICT DO NOTHING;
+INSERT INTO public.resource_stats (dimension, country_code, name, value, slot, count)
+SELECT 'CHARACTERISTIC', coalesce(r.country_code, ''), coalesce(c.characteristic_type, ''),
+       coalesce(c.characteristic_value, ''), -1, count(DISTINCT r.id)
+FROM public.resources r
+JOIN public.resources_characteristics rc ON rc.resource_id = r.id
+JOIN public.characteristics c ON c.id = rc.characteristic_id
+GROUP BY 2, 3, 4
+ON CONFLICT DO NOTHING;
@@ -0,0 +1,73 @@
+package com.test.api.cache;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventPublisher;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceCacheTest {
+    public static final String EE = "EE";
+    public static final String RESOURCE_ID = "1";
+    @Mock
+    private ResourceEventPublisher resourceEventPublisher;
+    private ResourceCache resourceCache;
+    private Resource resource;
+
+    @BeforeEach
+    void setUp() {
+        resourceCache = new ResourceCache(resourceEventPublisher, new SimpleMeterRegistry(), 100, Duration.ofMinutes(1));
+        resource = new Resource(1L, ResourceType.METERING_POINT, EE, null, null, 1L);
+    }
+
+    @Test
+    void get_ShouldLoadOnceAndServeFromCache() {
+        AtomicInteger loads = new AtomicInteger();
+        Resource first = resourceCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return resource;
+        });
+        Resource second = resourceCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return resource;
+        });
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void invalidate_ShouldEvictAndBroadcastToOtherReplicas() {
+        when(resourceEventPublisher.publish(any())).thenReturn(CompletableFuture.completedFuture(null));
+        resourceCache.get(1L, id -> resource);
+        resourceCache.invalidate(1L);
+        AtomicInteger loads = new AtomicInteger();
+        resourceCache.get(1L, id -> {
+            loads.incrementAndGet();
+            return resource;
+        });
+        assertEquals(1, loads.get());
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, ResourceEvent>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(resourceEventPublisher).publish(captor.capture());
+        assertEquals(ResourceCache.INVALIDATION_TOPIC, captor.getValue().topic());
+        assertEquals(RESOURCE_ID, captor.getValue().key());
+        assertNull(captor.getValue().value());
+    }
+}
@@ -1,16 +1,33 @@
 package com.test.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.api.exception.ResourceVersionMismatchException;
+import com.test.api.exceptionHandler.GlobalExceptionHandler;
 import com.test.api.mapper.RequestMapper;
 import com.test.api.mapper.ResponseMapper;
 import com.test.api.model.Characteristic;
 import com.test.api.model.CharacteristicType;
 import com.test.api.model.Location;
+import com.test.api.model.MatchedResource;
+import com.test.api.model.NearbyResource;
 import com.test.api.model.Resource;
+import com.test.api.model.ResourceBatch;
+import com.test.api.model.ResourceSearchPage;
 import com.test.api.model.ResourceType;
+import com.test.api.model.ExportJobStatus;
+import com.test.api.model.dto.request.ResourceFilterDto;
 import com.test.api.model.dto.request.ResourceRequestDto;
+import com.test.api.model.dto.response.ExportJobResponseDto;
+import com.test.api.model.dto.response.NearbyResourceResponseDto;
+import com.test.api.model.dto.response.ResourceBatchResponseDto;
+import com.test.api.model.dto.response.MatchedResourceResponseDto;
 import com.test.api.model.dto.response.ResourceResponseDto;
+import com.test.api.model.dto.response.ResourceSearchResponseDto;
+import com.test.api.model.dto.response.ResourceStatResponseDto;
+import com.test.api.service.ResourceExportService;
 import com.test.api.service.ResourcesService;
+import com.test.api.stats.ResourceStat;
+import com.test.api.stats.StatKey;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,12 +35,20 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import java.util.List;
+import java.util.stream.LongStream;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -34,6 +59,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -42,6 +68,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 public class ResourceControllerTests {
 
     public static final String URL_RESOURCES_ADD = "/resources/add";
+    public static final String URL_RESOURCES_BULK = "/resources/bulk";
     public static final String RAND_TEE_1 = "Rand tee 1";
     public static final String TALLINN = "Tallinn";
     public static final String EE = "EE";
@@ -53,8 +80,20 @@ public class ResourceControllerTests {
     public static final String CONSUMPTION_TYPE = "CONSUMPTION_TYPE";
     public static final String CHARGING_POINT = "CHARGING_POINT";
     public static final String RESOURCE_NOT_FOUND = "Resource not found";
-    public static final String SEND_10_ITEMS_FROM_RESOURCE = "Send 10 items from Resource.";
+    public static final String JOB_ID = "job-1";
+    public static final String RUNNING = "RUNNING";
     public static final String SERVICE_ERROR = "Service error";
+    public static final String ETAG_2 = "\"2\"";
+    public static final String ETAG_3 = "\"3\"";
+    public static final String WEAK_ETAG_3 = "W/\"3\"";
+    public static final String VERSION_MISMATCH = "Resource with id 1 has version 4, not 3";
+    public static final String NO_CACHE_PRIVATE = "no-cache, private";
+    public static final String URL_RESOURCES_NEAR = "/resources/near";
+    public static final String URL_RESOURCES_SEARCH = "/resources/search";
+    public static final String RAND_TEE = "Rand tee";
+    public static final String CURSOR = "0.125_1";
+    public static final String URL_RESOURCES_STATS = "/resources/stats";
+    public static final String URL_RESOURCES_BATCH_GET = "/resources/batch-get";
     @Autowired
     private MockMvc mockMvc;
     @Autowired
@@ -65,6 +104,8 @@ public class ResourceControllerTests {
     private ResponseMapper resourceResponseMapper;
     @MockitoBean
     private ResourcesService resourceService;
+    @MockitoBean
+    private ResourceExportService resourceExportService;
     private ResourceRequestDto resourceRequestDto;
     private ResourceResponseDto resourceResponseDto;
     private Resource resource;
@@ -107,6 +148,7 @@ public class ResourceControllerTests {
         resource.setCountryCode(EE);
         resource.setLocation(location);
         resource.setCharacteristics(characteristics);
+        resource.setVersion(3L);
     }
 
     @Test
@@ -151,6 +193,28 @@ public class ResourceControllerTests {
         verify(resourceService, never()).add(any(Resource.class));
     }
 
+    @Test
+    void addBulk_ShouldReturnCreatedIds_WhenValidInput() throws Exception {
+        when(resourceRequestMapper.fromDtos(any())).thenReturn(List.of(resource));
+        when(resourceService.addAll(any())).thenReturn(List.of(resource));
+        mockMvc.perform(post(URL_RESOURCES_BULK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(resourceRequestDto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.ids[0]").value(1L));
+        verify(resourceService).addAll(any());
+    }
+
+    @Test
+    void addBulk_ShouldReturnBadRequest_WhenListIsEmpty() throws Exception {
+        mockMvc.perform(post(URL_RESOURCES_BULK)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isBadRequest());
+        verify(resourceService, never()).addAll(any());
+    }
+
     @Test
     void getResource_ShouldReturnResource_WhenResourceExists() throws Exception {
         Long resourceId = 1L;
@@ -180,6 +244,204 @@ public class ResourceControllerTests {
         verify(resourceResponseMapper).toDto(resource);
     }
 
+    @Test
+    void listResources_ShouldReturnPageWithNextCursor_WhenPageIsFull() throws Exception {
+        when(resourceService.list(any(ResourceFilterDto.class), isNull(), eq(1))).thenReturn(List.of(resource));
+        when(resourceResponseMapper.toDtos(List.of(resource))).thenReturn(List.of(resourceResponseDto));
+        mockMvc.perform(get("/resources")
+                        .param("countryCode", EE)
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(1L))
+                .andExpect(jsonPath("$.data[0].countryCode").value(EE))
+                .andExpect(jsonPath("$.nextCursor").value(1L));
+        verify(resourceService).list(argThat(filter -> EE.equals(filter.getCountryCode())), isNull(), eq(1));
+    }
+
+    @Test
+    void listResources_ShouldReturnNoCursor_WhenLastPage() throws Exception {
+        when(resourceService.list(any(ResourceFilterDto.class), eq(1L), eq(50))).thenReturn(List.of());
+        when(resourceResponseMapper.toDtos(List.of())).thenReturn(List.of());
+        mockMvc.perform(get("/resources")
+                        .param("cursor", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void listResources_ShouldReturnBadRequest_WhenLimitTooLarge() throws Exception {
+        mockMvc.perform(get("/resources")
+                        .param("limit", "100000"))
+                .andExpect(status().isBadRequest());
+        verify(resourceService, never()).list(any(), any(), anyInt());
+    }
+
+    @Test
+    void getAllResources_ShouldReturnFoundResourcesAndMissingIds() throws Exception {
+        ResourceBatch batch = new ResourceBatch(List.of(resource), List.of(7L));
+        when(resourceService.getAll(List.of(1L, 7L))).thenReturn(batch);
+        when(resourceResponseMapper.toDto(batch))
+                .thenReturn(new ResourceBatchResponseDto(List.of(resourceResponseDto), List.of(7L)));
+        mockMvc.perform(get("/resources")
+                        .param("ids", "1,7"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(1L))
+                .andExpect(jsonPath("$.missingIds[0]").value(7L));
+        verify(resourceService, never()).list(any(), any(), anyInt());
+    }
+
+    @Test
+    void batchGetResources_ShouldReturnFoundResourcesAndMissingIds() throws Exception {
+        ResourceBatch batch = new ResourceBatch(List.of(resource), List.of(7L));
+        when(resourceService.getAll(List.of(7L, 1L))).thenReturn(batch);
+        when(resourceResponseMapper.toDto(batch))
+                .thenReturn(new ResourceBatchResponseDto(List.of(resourceResponseDto), List.of(7L)));
+        mockMvc.perform(post(URL_RESOURCES_BATCH_GET)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(7L, 1L))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].id").value(1L))
+                .andExpect(jsonPath("$.missingIds[0]").value(7L));
+    }
+
+    @Test
+    void batchGetResources_ShouldReturnBadRequest_WhenTooManyIds() throws Exception {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+        mockMvc.perform(post(URL_RESOURCES_BATCH_GET)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(ids)))
+                .andExpect(status().isBadRequest());
+        verify(resourceService, never()).getAll(any());
+    }
+
+    @Test
+    void stats_ShouldReturnCountsOfCountry() throws Exception {
+        List<ResourceStat> stats = List.of(new ResourceStat(StatKey.CHARACTERISTIC, EE, CHARGING_POINT, FAST, 12L));
+        ResourceStatResponseDto statDto = new ResourceStatResponseDto();
+        statDto.setDimension(StatKey.CHARACTERISTIC);
+        statDto.setCountryCode(EE);
+        statDto.setName(CHARGING_POINT);
+        statDto.setValue(FAST);
+        statDto.setCount(12L);
+        when(resourceService.stats(EE)).thenReturn(stats);
+        when(resourceResponseMapper.toStatDtos(stats)).thenReturn(List.of(statDto));
+        mockMvc.perform(get(URL_RESOURCES_STATS)
+                        .param("countryCode", EE))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].dimension").value(StatKey.CHARACTERISTIC))
+                .andExpect(jsonPath("$.data[0].name").value(CHARGING_POINT))
+                .andExpect(jsonPath("$.data[0].count").value(12));
+    }
+
+    @Test
+    void searchResources_ShouldReturnRankedPageWithCursor() throws Exception {
+        ResourceSearchPage page = new ResourceSearchPage(List.of(new MatchedResource(resource, 0.875)), CURSOR);
+        MatchedResourceResponseDto matchDto = new MatchedResourceResponseDto();
+        matchDto.setScore(0.875);
+        matchDto.setResource(resourceResponseDto);
+        when(resourceService.search(RAND_TEE, null, 1)).thenReturn(page);
+        when(resourceResponseMapper.toDto(page)).thenReturn(new ResourceSearchResponseDto(List.of(matchDto), CURSOR));
+        mockMvc.perform(get(URL_RESOURCES_SEARCH)
+                        .param("q", " " + RAND_TEE + " ")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].score").value(0.875))
+                .andExpect(jsonPath("$.data[0].resource.id").value(1L))
+                .andExpect(jsonPath("$.nextCursor").value(CURSOR));
+    }
+
+    @Test
+    void searchResources_ShouldReturnBadRequest_WhenQueryBlank() throws Exception {
+        mockMvc.perform(get(URL_RESOURCES_SEARCH)
+                        .param("q", " "))
+                .andExpect(status().isBadRequest());
+        verify(resourceService, never()).search(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void searchResources_ShouldReturnBadRequest_WhenCursorMalformed() throws Exception {
+        mockMvc.perform(get(URL_RESOURCES_SEARCH)
+                        .param("q", RAND_TEE)
+                        .param("cursor", "abc"))
+                .andExpect(status().isBadRequest());
+        verify(resourceService, never()).search(anyString(), any(), anyInt());
+    }
+
+    @Test
+    void nearResources_ShouldReturnResourcesWithDistance() throws Exception {
+        List<NearbyResource> nearby = List.of(new NearbyResource(resource, 0.42));
+        NearbyResourceResponseDto nearbyDto = new NearbyResourceResponseDto();
+        nearbyDto.setDistanceKm(0.42);
+        nearbyDto.setResource(resourceResponseDto);
+        when(resourceService.findNear(59.437, 24.7536, 5.0, 10, ResourceType.METERING_POINT)).thenReturn(nearby);
+        when(resourceResponseMapper.toNearbyDtos(nearby)).thenReturn(List.of(nearbyDto));
+        mockMvc.perform(get(URL_RESOURCES_NEAR)
+                        .param("lat", "59.437")
+                        .param("lon", "24.7536")
+                        .param("radiusKm", "5")
+                        .param("limit", "10")
+                        .param("resourceType", METERING_POINT))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].distanceKm").value(0.42))
+                .andExpect(jsonPath("$.data[0].resource.id").value(1L));
+    }
+
+    @Test
+    void nearResources_ShouldAskForNearestWithDefaultLimit_WhenNoRadius() throws Exception {
+        when(resourceService.findNear(59.437, 24.7536, null, 50, null)).thenReturn(List.of());
+        when(resourceResponseMapper.toNearbyDtos(List.of())).thenReturn(List.of());
+        mockMvc.perform(get(URL_RESOURCES_NEAR)
+                        .param("lat", "59.437")
+                        .param("lon", "24.7536"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data").isEmpty());
+    }
+
+    @Test
+    void nearResources_ShouldReturnBadRequest_WhenLatitudeOutOfRange() throws Exception {
+        mockMvc.perform(get(URL_RESOURCES_NEAR)
+                        .param("lat", "91")
+                        .param("lon", "24.7536"))
+                .andExpect(status().isBadRequest());
+        verify(resourceService, never()).findNear(anyDouble(), anyDouble(), any(), anyInt(), any());
+    }
+
+    @Test
+    void getResource_ShouldReturnETagAndCacheControl() throws Exception {
+        when(resourceService.get(1L)).thenReturn(resource);
+        when(resourceResponseMapper.toDto(resource)).thenReturn(resourceResponseDto);
+        mockMvc.perform(get("/resources/{id}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG_3))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, NO_CACHE_PRIVATE));
+        verify(resourceService, never()).getVersion(any());
+    }
+
+    @Test
+    void getResource_ShouldReturnNotModified_WhenIfNoneMatchIsCurrent() throws Exception {
+        when(resourceService.getVersion(1L)).thenReturn(3L);
+        mockMvc.perform(get("/resources/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, WEAK_ETAG_3))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG_3))
+                .andExpect(content().string(""));
+        verify(resourceService, never()).get(any());
+        verify(resourceResponseMapper, never()).toDto(any());
+    }
+
+    @Test
+    void getResource_ShouldReturnResource_WhenIfNoneMatchIsStale() throws Exception {
+        when(resourceService.getVersion(1L)).thenReturn(3L);
+        when(resourceService.get(1L)).thenReturn(resource);
+        when(resourceResponseMapper.toDto(resource)).thenReturn(resourceResponseDto);
+        mockMvc.perform(get("/resources/{id}", 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, ETAG_2))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG_3))
+                .andExpect(jsonPath("$.data[0].id").value(1L));
+    }
+
     @Test
     void getResource_ShouldReturnNotFound_WhenResourceDoesNotExist() throws Exception {
         Long resourceId = 100L;
@@ -196,26 +458,27 @@ public class ResourceControllerTests {
         mappedResource.setResourceType(ResourceType.CONNECTION_POINT);
         mappedResource.setCountryCode("UA");
         when(resourceRequestMapper.fromDto(any(ResourceRequestDto.class))).thenReturn(mappedResource);
-        when(resourceService.update(any(Resource.class))).thenReturn(resource);
+        when(resourceService.update(any(Resource.class), isNull())).thenReturn(resource);
         when(resourceResponseMapper.toDto(resource)).thenReturn(resourceResponseDto);
         mockMvc.perform(put("/resources/{id}", resourceId)
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(resourceRequestDto)))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ETAG_3))
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON))
                 .andExpect(jsonPath("$.data").isArray())
                 .andExpect(jsonPath("$.data[0].id").value(1L))
                 .andExpect(jsonPath("$.data[0].resourceType").value(METERING_POINT))
                 .andExpect(jsonPath("$.data[0].countryCode").value(EE));
         verify(resourceRequestMapper).fromDto(any(ResourceRequestDto.class));
-        verify(resourceService).update(any(Resource.class));
+        verify(resourceService).update(any(Resource.class), isNull());
         verify(resourceResponseMapper).toDto(resource);
     }
 
     @Test
     void updatePatchResource_ShouldReturnUpdatedPartialResource_WhenValidInput() throws Exception {
         Long resourceId = 1L;
-        when(resourceService.updatePartial(any(ResourceRequestDto.class), eq(resourceId)))
+        when(resourceService.updatePartial(any(ResourceRequestDto.class), eq(resourceId), isNull()))
                 .thenReturn(resource);
         when(resourceResponseMapper.toDto(resource)).thenReturn(resourceResponseDto);
         mockMvc.perform(patch("/resources/{id}", resourceId)
@@ -227,7 +490,7 @@ public class ResourceControllerTests {
                 .andExpect(jsonPath("$.data[0].id").value(resourceId))
                 .andExpect(jsonPath("$.data[0].resourceType").value(METERING_POINT))
                 .andExpect(jsonPath("$.data[0].countryCode").value(EE));
-        verify(resourceService).updatePartial(any(ResourceRequestDto.class), eq(resourceId));
+        verify(resourceService).updatePartial(any(ResourceRequestDto.class), eq(resourceId), isNull());
         verify(resourceResponseMapper).toDto(resource);
     }
 
@@ -241,13 +504,37 @@ public class ResourceControllerTests {
     }
 
     @Test
-    void sendAll_ShouldReturnAllResources() throws Exception {
-        String expectedResponse = SEND_10_ITEMS_FROM_RESOURCE;
-        when(resourceService.sendAll()).thenReturn(expectedResponse);
+    void sendAll_ShouldStartExportJob() throws Exception {
+        ExportJobResponseDto job = new ExportJobResponseDto();
+        job.setId(JOB_ID);
+        job.setStatus(ExportJobStatus.RUNNING);
+        when(resourceExportService.start()).thenReturn(job);
         mockMvc.perform(get("/resources/sendAll"))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.data[0].id").value(JOB_ID))
+                .andExpect(jsonPath("$.data[0].status").value(RUNNING));
+        verify(resourceExportService).start();
+    }
+
+    @Test
+    void sendAllStatus_ShouldReturnJobProgress() throws Exception {
+        ExportJobResponseDto job = new ExportJobResponseDto();
+        job.setId(JOB_ID);
+        job.setStatus(ExportJobStatus.RUNNING);
+        job.setItemsSent(10);
+        when(resourceExportService.getStatus(JOB_ID)).thenReturn(job);
+        mockMvc.perform(get("/resources/sendAll/{jobId}", JOB_ID))
                 .andExpect(status().isOk())
-                .andExpect(content().string(expectedResponse));
-        verify(resourceService).sendAll();
+                .andExpect(jsonPath("$.data[0].itemsSent").value(10))
+                .andExpect(jsonPath("$.data[0].status").value(RUNNING));
+        verify(resourceExportService).getStatus(JOB_ID);
+    }
+
+    @Test
+    void sendAllStatus_ShouldReturnNotFound_WhenJobDoesNotExist() throws Exception {
+        when(resourceExportService.getStatus(JOB_ID)).thenThrow(new EntityNotFoundException(RESOURCE_NOT_FOUND));
+        mockMvc.perform(get("/resources/sendAll/{jobId}", JOB_ID))
+                .andExpect(status().isNotFound());
     }
 
     @Test
@@ -268,6 +555,53 @@ public class ResourceControllerTests {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(resourceRequestDto)))
                 .andExpect(status().isBadRequest());
-        verify(resourceService, never()).updatePartial(any(), any());
+        verify(resourceService, never()).updatePartial(any(), any(), any());
+    }
+
+    @Test
+    void updatePutResource_WithIfMatch_ShouldPassExpectedVersion() throws Exception {
+        when(resourceRequestMapper.fromDto(any(ResourceRequestDto.class))).thenReturn(new Resource());
+        when(resourceService.update(any(Resource.class), eq(3L))).thenReturn(resource);
+        when(resourceResponseMapper.toDto(resource)).thenReturn(resourceResponseDto);
+        mockMvc.perform(put("/resources/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, ETAG_3)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(resourceRequestDto)))
+                .andExpect(status().isOk());
+        verify(resourceService).update(any(Resource.class), eq(3L));
+    }
+
+    @Test
+    void updatePatchResource_WithStaleIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        when(resourceService.updatePartial(any(ResourceRequestDto.class), eq(1L), eq(3L)))
+                .thenThrow(new ResourceVersionMismatchException(VERSION_MISMATCH));
+        mockMvc.perform(patch("/resources/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, ETAG_3)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(resourceRequestDto)))
+                .andExpect(status().isPreconditionFailed())
+                .andExpect(jsonPath("$.errors[0]").value(VERSION_MISMATCH));
+    }
+
+    @Test
+    void updatePatchResource_WithWeakIfMatch_ShouldReturnPreconditionFailed() throws Exception {
+        mockMvc.perform(patch("/resources/{id}", 1L)
+                        .header(HttpHeaders.IF_MATCH, WEAK_ETAG_3)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(resourceRequestDto)))
+                .andExpect(status().isPreconditionFailed());
+        verify(resourceService, never()).updatePartial(any(), any(), any());
+    }
+
+    @Test
+    void updatePutResource_WithConcurrentUpdate_ShouldReturnConflict() throws Exception {
+        when(resourceRequestMapper.fromDto(any(ResourceRequestDto.class))).thenReturn(new Resource());
+        when(resourceService.update(any(Resource.class), isNull()))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Resource.class, 1L));
+        mockMvc.perform(put("/resources/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(resourceRequestDto)))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errors[0]").value(GlobalExceptionHandler.CONCURRENT_MODIFICATION));
     }
 }
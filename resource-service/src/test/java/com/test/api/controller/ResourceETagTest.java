@@ -0,0 +1,57 @@
+package com.test.api.controller;
+
+import com.test.api.exception.ResourceVersionMismatchException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceETagTest {
+    public static final String ETAG_3 = "\"3\"";
+    public static final String WEAK_ETAG_3 = "W/\"3\"";
+    public static final String NOT_A_VERSION = "\"abc\"";
+    public static final String UNQUOTED = "3";
+    public static final String ETAG_LIST = "\"1\", W/\"3\"";
+
+    @Test
+    void of_ShouldQuoteVersion() {
+        assertEquals(ETAG_3, ResourceETag.of(3L));
+    }
+
+    @Test
+    void parseIfMatch_ShouldReturnVersion() {
+        assertEquals(3L, ResourceETag.parseIfMatch(ETAG_3));
+        assertEquals(3L, ResourceETag.parseIfMatch(" " + ETAG_3 + " "));
+    }
+
+    @Test
+    void parseIfMatch_ShouldAcceptAnyVersionWhenAbsentOrWildcard() {
+        assertNull(ResourceETag.parseIfMatch(null));
+        assertNull(ResourceETag.parseIfMatch(""));
+        assertNull(ResourceETag.parseIfMatch(ResourceETag.WILDCARD));
+    }
+
+    @Test
+    void parseIfMatch_ShouldRejectWeakOrMalformedTags() {
+        assertThrows(ResourceVersionMismatchException.class, () -> ResourceETag.parseIfMatch(WEAK_ETAG_3));
+        assertThrows(ResourceVersionMismatchException.class, () -> ResourceETag.parseIfMatch(NOT_A_VERSION));
+        assertThrows(ResourceVersionMismatchException.class, () -> ResourceETag.parseIfMatch(UNQUOTED));
+    }
+
+    @Test
+    void matchesIfNoneMatch_ShouldCompareWeakly() {
+        assertTrue(ResourceETag.matchesIfNoneMatch(ETAG_3, 3L));
+        assertTrue(ResourceETag.matchesIfNoneMatch(WEAK_ETAG_3, 3L));
+        assertTrue(ResourceETag.matchesIfNoneMatch(ETAG_LIST, 3L));
+        assertTrue(ResourceETag.matchesIfNoneMatch(ResourceETag.WILDCARD, 3L));
+    }
+
+    @Test
+    void matchesIfNoneMatch_ShouldNotMatchOtherVersions() {
+        assertFalse(ResourceETag.matchesIfNoneMatch(ETAG_3, 4L));
+        assertFalse(ResourceETag.matchesIfNoneMatch(UNQUOTED, 3L));
+        assertFalse(ResourceETag.matchesIfNoneMatch(null, 3L));
+    }
+}
@@ -0,0 +1,26 @@
+package com.test.api.diagnostics;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class QueryCounterTest {
+    public static final String SELECT = "select 1";
+    private final QueryCounter queryCounter = new QueryCounter();
+
+    @Test
+    void stop_ShouldReturnStatementsSinceStart() {
+        queryCounter.inspect(SELECT);
+        queryCounter.start();
+        queryCounter.inspect(SELECT);
+        queryCounter.inspect(SELECT);
+
+        assertEquals(2, queryCounter.stop());
+    }
+
+    @Test
+    void stop_ShouldReturnZeroWhenNotStarted() {
+        assertEquals(SELECT, queryCounter.inspect(SELECT));
+
+        assertEquals(0, queryCounter.stop());
+    }
+}
@@ -0,0 +1,87 @@
+package com.test.api.event;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.CharacteristicType;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceDiffTest {
+    public static final String RAND_TEE_1 = "Rand tee 1";
+    public static final String TALLINN = "Tallinn";
+    public static final String TARTU = "Tartu";
+    public static final String EE = "EE";
+    public static final String FI = "FI";
+    public static final String NUMBER_1 = "1";
+    public static final String NUMBER_220 = "220";
+    public static final String NUMBER_380 = "380";
+
+    private Resource resource() {
+        Location location = new Location(1L, RAND_TEE_1, TALLINN, 10001, EE, null, null);
+        List<Characteristic> characteristics = new ArrayList<>(List.of(
+                new Characteristic(1L, NUMBER_1, CharacteristicType.CONSUMPTION_TYPE, NUMBER_220)));
+        return new Resource(1L, ResourceType.METERING_POINT, EE, location, characteristics, 3L);
+    }
+
+    @Test
+    void toEvent_ShouldContainOnlyChangedFieldsWithOldAndNewValues() {
+        Resource resource = resource();
+        ResourceDiff diff = ResourceDiff.of(resource);
+        resource.setCountryCode(FI);
+        resource.getLocation().setCity(TARTU);
+        resource.setVersion(4L);
+
+        ResourceEvent event = diff.toEvent(resource);
+
+        assertTrue(diff.isChanged(resource));
+        assertEquals(ResourceChangeType.UPDATED, event.getChangeType());
+        assertEquals(1L, event.getResourceId());
+        assertEquals(4L, event.getVersion());
+        assertEquals(List.of(new FieldChange(ResourceDiff.COUNTRY_CODE, EE, FI),
+                new FieldChange(ResourceDiff.LOCATION_CITY, TALLINN, TARTU)), event.getChanges());
+        assertTrue(event.getAddedCharacteristics().isEmpty());
+        assertTrue(event.getRemovedCharacteristics().isEmpty());
+    }
+
+    @Test
+    void toEvent_ShouldReportReplacedCharacteristicAsRemovedAndAdded() {
+        Resource resource = resource();
+        ResourceDiff diff = ResourceDiff.of(resource);
+        resource.getCharacteristics().get(0).setCharacteristicValue(NUMBER_380);
+
+        ResourceEvent event = diff.toEvent(resource);
+
+        assertTrue(event.getChanges().isEmpty());
+        assertEquals(NUMBER_380, event.getAddedCharacteristics().get(0).getCharacteristicValue());
+        assertEquals(NUMBER_220, event.getRemovedCharacteristics().get(0).getCharacteristicValue());
+    }
+
+    @Test
+    void isChanged_ShouldMatchCharacteristicsWithoutIds() {
+        Resource resource = resource();
+        ResourceDiff diff = ResourceDiff.of(resource);
+        Resource replacement = resource();
+        replacement.getLocation().setId(null);
+        replacement.getCharacteristics().get(0).setId(null);
+
+        assertFalse(diff.isChanged(replacement));
+    }
+
+    @Test
+    void toEvent_ShouldReportMovedCoordinates() {
+        Resource resource = resource();
+        ResourceDiff diff = ResourceDiff.of(resource);
+        resource.getLocation().setLatitude(59.437);
+
+        ResourceEvent event = diff.toEvent(resource);
+
+        assertTrue(diff.isChanged(resource));
+        assertEquals(List.of(new FieldChange(ResourceDiff.LOCATION_LATITUDE, null, "59.437")), event.getChanges());
+    }
+}
@@ -0,0 +1,126 @@
+package com.test.api.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.test.api.model.Characteristic;
+import com.test.api.model.CharacteristicType;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.events.EventWriter;
+import com.test.events.ResourceEventSchema;
+import org.junit.jupiter.api.Test;
+import java.util.Arrays;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResourceEventCodecTest {
+    public static final String RAND_TEE_1 = "Rand tee 1";
+    public static final String TALLINN = "Tallinn";
+    public static final String EE = "EE";
+    public static final String CH_1 = "CH1";
+    public static final String CO_1 = "CO1";
+    public static final String FAST = "Fast";
+    public static final String ONLINE = "Online";
+    public static final String UNKNOWN = "unknown";
+
+    static Resource resource() {
+        Location location = new Location(300_000L, RAND_TEE_1, TALLINN, 10115, EE, null, null);
+        return new Resource(1_234_567L, ResourceType.CONNECTION_POINT, EE, location, List.of(
+                new Characteristic(900_001L, CH_1, CharacteristicType.CHARGING_POINT, FAST),
+                new Characteristic(900_002L, CO_1, CharacteristicType.CONNECTION_POINT_STATUS, ONLINE)), 3L);
+    }
+
+    @Test
+    void encode_ShouldRoundTripResource() {
+        ResourceEvent event = ResourceEvent.snapshot(resource());
+
+        ResourceEvent decoded = ResourceEventCodec.decode(ResourceEventCodec.encode(event));
+
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void encode_ShouldRoundTripDeltaAndDeleteEvents() {
+        ResourceEvent updated = ResourceEvent.updated(7L, 4L,
+                List.of(new FieldChange(ResourceDiff.COUNTRY_CODE, EE, null)),
+                List.of(new Characteristic(1L, CH_1, CharacteristicType.CHARGING_POINT, FAST)),
+                List.of(new Characteristic(null, CO_1, null, ONLINE)));
+        ResourceEvent deleted = ResourceEvent.deleted(7L, 5L);
+
+        assertEquals(updated, ResourceEventCodec.decode(ResourceEventCodec.encode(updated)));
+        assertEquals(deleted, ResourceEventCodec.decode(ResourceEventCodec.encode(deleted)));
+    }
+
+    @Test
+    void encode_ShouldRoundTripCoordinates() {
+        Resource resource = resource();
+        resource.getLocation().setLatitude(59.437);
+        resource.getLocation().setLongitude(-0.0);
+        ResourceEvent event = ResourceEvent.snapshot(resource);
+
+        ResourceEvent decoded = ResourceEventCodec.decode(ResourceEventCodec.encode(event));
+
+        assertEquals(59.437, decoded.getResource().getLocation().getLatitude());
+        assertEquals(-0.0, decoded.getResource().getLocation().getLongitude());
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void encode_ShouldOmitNullFields() {
+        Resource resource = new Resource(1L, null, null, new Location(2L, null, null, -1, null, null, null),
+                List.of(), null);
+
+        ResourceEvent decoded = ResourceEventCodec.decode(ResourceEventCodec.encode(ResourceEvent.snapshot(resource)));
+
+        assertEquals(resource, decoded.getResource());
+        assertNull(ResourceEventCodec.decode(ResourceEventCodec.encode(new ResourceEvent())).getResource());
+    }
+
+    @Test
+    void encode_ShouldBeSmallerThanJson() throws Exception {
+        ResourceEvent event = ResourceEvent.snapshot(resource());
+
+        byte[] binary = ResourceEventCodec.encode(event);
+        byte[] json = new ObjectMapper().writeValueAsBytes(event);
+
+        assertTrue(binary.length * 3 < json.length, binary.length + " bytes vs " + json.length + " bytes of JSON");
+    }
+
+    @Test
+    void decode_ShouldSkipUnknownFieldsAndEnumOrdinals() {
+        EventWriter writer = new EventWriter(64);
+        int mark = writer.beginMessage(ResourceEventSchema.EVENT_RESOURCE);
+        writer.writeLong(ResourceEventSchema.RESOURCE_ID, 7L)
+                .writeLong(ResourceEventSchema.RESOURCE_TYPE, 42L)
+                .writeString(99, UNKNOWN)
+                .writeString(ResourceEventSchema.RESOURCE_COUNTRY_CODE, EE);
+        writer.endMessage(mark);
+        writer.writeLong(100, 1L);
+
+        Resource decoded = ResourceEventCodec.decode(writer.toByteArray()).getResource();
+
+        assertEquals(7L, decoded.getId());
+        assertNull(decoded.getResourceType());
+        assertEquals(EE, decoded.getCountryCode());
+    }
+
+    @Test
+    void decode_ShouldReadLegacyJsonPayload() throws Exception {
+        ResourceEvent event = ResourceEvent.snapshot(resource());
+
+        ResourceEvent decoded = ResourceEventCodec.decode(new ObjectMapper().writeValueAsBytes(event));
+
+        assertEquals(event, decoded);
+    }
+
+    @Test
+    void decode_WhenTruncated_ShouldThrow() {
+        byte[] binary = ResourceEventCodec.encode(ResourceEvent.snapshot(resource()));
+        byte[] truncated = Arrays.copyOf(binary, binary.length - 5);
+
+        assertThrows(IllegalArgumentException.class, () -> ResourceEventCodec.decode(truncated));
+    }
+}
@@ -0,0 +1,81 @@
+package com.test.api.event;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceEventPublisherTest {
+    public static final String NOTIFICATION_TOPIC = "notificationTopic";
+    public static final String BROKER_DOWN = "Broker down";
+    @Mock
+    private KafkaTemplate<String, ResourceEvent> kafkaTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private ResourceEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        publisher = new ResourceEventPublisher(kafkaTemplate, meterRegistry, 1, 1);
+    }
+
+    @Test
+    void publish_WhenWindowIsFull_ShouldRejectWithoutBlocking() {
+        CompletableFuture<SendResult<String, ResourceEvent>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyRecord())).thenReturn(pending);
+        publisher.publish(NOTIFICATION_TOPIC, null, new ResourceEvent());
+        CompletableFuture<SendResult<String, ResourceEvent>> rejected =
+                publisher.publish(NOTIFICATION_TOPIC, null, new ResourceEvent());
+        Exception ex = assertThrows(Exception.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, ex.getCause());
+        assertEquals(1, publisher.getInFlight());
+        assertEquals(1.0, meterRegistry.get(ResourceEventPublisher.METRIC_REJECTED).counter().count());
+        verify(kafkaTemplate, times(1)).send(any());
+    }
+
+    @Test
+    void publish_ShouldReleaseWindowAndRecordOutcomePerTopic() {
+        when(kafkaTemplate.send(anyRecord()))
+                .thenReturn(CompletableFuture.completedFuture(null))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException(BROKER_DOWN)));
+        publisher.publish(NOTIFICATION_TOPIC, null, new ResourceEvent());
+        CompletableFuture<SendResult<String, ResourceEvent>> failed =
+                publisher.publish(NOTIFICATION_TOPIC, null, new ResourceEvent());
+        assertEquals(0, publisher.getInFlight());
+        Exception ex = assertThrows(Exception.class, failed::join);
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+        assertEquals(1, meterRegistry.get(ResourceEventPublisher.METRIC_PUBLISH)
+                .tag(ResourceEventPublisher.TAG_TOPIC, NOTIFICATION_TOPIC)
+                .tag(ResourceEventPublisher.TAG_OUTCOME, ResourceEventPublisher.FAILURE)
+                .timer().count());
+    }
+
+    @Test
+    void publish_WhenSendThrows_ShouldReturnFailedFuture() {
+        when(kafkaTemplate.send(anyRecord())).thenThrow(new IllegalStateException(BROKER_DOWN));
+        CompletableFuture<SendResult<String, ResourceEvent>> failed =
+                publisher.publish(NOTIFICATION_TOPIC, null, new ResourceEvent());
+        assertTrue(failed.isCompletedExceptionally());
+        assertEquals(0, publisher.getInFlight());
+    }
+
+    private static ProducerRecord<String, ResourceEvent> anyRecord() {
+        return any();
+    }
+}
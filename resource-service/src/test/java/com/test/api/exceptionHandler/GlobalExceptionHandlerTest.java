@@ -1,5 +1,7 @@
 package com.test.api.exceptionHandler;
 
+import com.test.api.exception.ResourceVersionMismatchException;
+import com.test.api.model.Resource;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
@@ -12,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.MethodParameter;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.validation.BeanPropertyBindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
@@ -48,6 +51,7 @@ public class GlobalExceptionHandlerTest {
     public static final String INVALID_VALUE_FOR_PARAMETER_S_S = "Invalid value for parameter '%s': '%s'";
     public static final String INVALID_VALUE_FOR_PARAMETER_NULL_NULL = "Invalid value for parameter 'null': 'null'";
     public static final String ERRORS = "errors";
+    public static final String VERSION_MISMATCH = "Resource with id 1 has version 4, not 3";
     @InjectMocks
     private GlobalExceptionHandler globalExceptionHandler;
     @Mock
@@ -201,4 +205,24 @@ public class GlobalExceptionHandlerTest {
     void testConstantValue() {
         assertEquals(ERRORS, GlobalExceptionHandler.KEY_ERRORS);
     }
+
+    @Test
+    void testHandleVersionMismatch() {
+        ResourceVersionMismatchException exception = new ResourceVersionMismatchException(VERSION_MISMATCH);
+        ResponseEntity<Map<String, List<String>>> response = globalExceptionHandler.handleVersionMismatch(exception);
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(List.of(VERSION_MISMATCH), response.getBody().get(ERRORS));
+    }
+
+    @Test
+    void testHandleOptimisticLockingFailure() {
+        ObjectOptimisticLockingFailureException exception = new ObjectOptimisticLockingFailureException(
+                Resource.class, 1L);
+        ResponseEntity<Map<String, List<String>>> response =
+                globalExceptionHandler.handleOptimisticLockingFailure(exception);
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(List.of(GlobalExceptionHandler.CONCURRENT_MODIFICATION), response.getBody().get(ERRORS));
+    }
 }
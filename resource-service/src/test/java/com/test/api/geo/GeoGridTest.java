@@ -0,0 +1,109 @@
+package com.test.api.geo;
+
+import com.test.api.model.ResourceType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class GeoGridTest {
+    public static final double TALLINN_LATITUDE = 59.437;
+    public static final double TALLINN_LONGITUDE = 24.7536;
+    public static final double TARTU_LATITUDE = 58.378;
+    public static final double TARTU_LONGITUDE = 26.729;
+    public static final double HELSINKI_LATITUDE = 60.1699;
+    public static final double HELSINKI_LONGITUDE = 24.9384;
+    private final GeoGrid grid = new GeoGrid(0.01);
+
+    private void loadCities() {
+        grid.load(List.of(
+                new GeoPoint(1L, ResourceType.CONNECTION_POINT, TALLINN_LATITUDE, TALLINN_LONGITUDE, 1L),
+                new GeoPoint(2L, ResourceType.METERING_POINT, TARTU_LATITUDE, TARTU_LONGITUDE, 1L),
+                new GeoPoint(3L, ResourceType.CONNECTION_POINT, HELSINKI_LATITUDE, HELSINKI_LONGITUDE, 1L)).stream());
+    }
+
+    private List<Long> ids(List<GeoHit> hits) {
+        return hits.stream().map(GeoHit::getId).toList();
+    }
+
+    @Test
+    void distanceKm_ShouldMeasureGreatCircle() {
+        double distance = GeoGrid.distanceKm(TALLINN_LATITUDE, TALLINN_LONGITUDE, HELSINKI_LATITUDE,
+                HELSINKI_LONGITUDE);
+
+        assertTrue(distance > 81 && distance < 83, "Tallinn to Helsinki is about 82 km, got " + distance);
+    }
+
+    @Test
+    void within_ShouldReturnPointsInRadiusNearestFirst() {
+        loadCities();
+
+        List<GeoHit> hits = grid.within(TALLINN_LATITUDE, TALLINN_LONGITUDE, 200, null, 10);
+
+        assertEquals(List.of(1L, 3L, 2L), ids(hits));
+        assertEquals(0, hits.get(0).getDistanceKm(), 1e-9);
+    }
+
+    @Test
+    void within_ShouldApplyLimitAndResourceType() {
+        loadCities();
+
+        assertEquals(List.of(1L), ids(grid.within(TALLINN_LATITUDE, TALLINN_LONGITUDE, 200, null, 1)));
+        assertEquals(List.of(2L), ids(grid.within(TALLINN_LATITUDE, TALLINN_LONGITUDE, 200,
+                ResourceType.METERING_POINT, 10)));
+        assertEquals(List.of(), grid.within(TALLINN_LATITUDE, TALLINN_LONGITUDE, 50, ResourceType.METERING_POINT,
+                10));
+    }
+
+    @Test
+    void nearest_ShouldWidenUntilKPointsFound() {
+        loadCities();
+
+        assertEquals(List.of(2L, 1L), ids(grid.nearest(TARTU_LATITUDE, TARTU_LONGITUDE, 2, null)));
+        assertEquals(List.of(2L, 1L, 3L), ids(grid.nearest(0, 0, 5, null)));
+    }
+
+    @Test
+    void within_ShouldCrossAntimeridian() {
+        grid.put(new GeoPoint(1L, ResourceType.CONNECTION_POINT, 65.0, 179.99, 1L));
+        grid.put(new GeoPoint(2L, ResourceType.CONNECTION_POINT, 65.0, -179.99, 1L));
+
+        assertEquals(List.of(2L, 1L), ids(grid.within(65.0, -179.995, 5, null, 10)));
+    }
+
+    @Test
+    void within_ShouldCoverPole() {
+        grid.put(new GeoPoint(1L, ResourceType.CONNECTION_POINT, 89.99, 0.0, 1L));
+        grid.put(new GeoPoint(2L, ResourceType.CONNECTION_POINT, 89.99, 180.0, 1L));
+
+        assertEquals(2, grid.within(89.999, 90.0, 5, null, 10).size());
+    }
+
+    @Test
+    void put_ShouldMovePointAndRemoveShouldDropIt() {
+        loadCities();
+
+        grid.put(new GeoPoint(2L, ResourceType.METERING_POINT, TALLINN_LATITUDE, TALLINN_LONGITUDE + 0.001, 1L));
+        assertEquals(List.of(1L, 2L), ids(grid.within(TALLINN_LATITUDE, TALLINN_LONGITUDE, 1, null, 10)));
+        assertEquals(List.of(), grid.within(TARTU_LATITUDE, TARTU_LONGITUDE, 1, null, 10));
+
+        grid.remove(1L);
+        assertEquals(List.of(2L), ids(grid.within(TALLINN_LATITUDE, TALLINN_LONGITUDE, 1, null, 10)));
+        assertEquals(2, grid.size());
+    }
+
+    @Test
+    void put_WhenOlderThanHeldPoint_ShouldKeepHeldPoint() {
+        grid.put(new GeoPoint(1L, ResourceType.CONNECTION_POINT, TALLINN_LATITUDE, TALLINN_LONGITUDE, 3L));
+        grid.put(new GeoPoint(1L, ResourceType.CONNECTION_POINT, TARTU_LATITUDE, TARTU_LONGITUDE, 2L));
+
+        assertEquals(List.of(1L), ids(grid.within(TALLINN_LATITUDE, TALLINN_LONGITUDE, 1, null, 10)));
+        assertEquals(List.of(), grid.within(TARTU_LATITUDE, TARTU_LONGITUDE, 1, null, 10));
+    }
+
+    @Test
+    void constructor_WithCellNotDividingHalfCircle_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> new GeoGrid(0.7));
+    }
+}
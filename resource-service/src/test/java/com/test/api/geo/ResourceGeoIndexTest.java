@@ -0,0 +1,70 @@
+package com.test.api.geo;
+
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceGeoIndexTest {
+    public static final String EE = "EE";
+    public static final double LATITUDE = 59.437;
+    public static final double LONGITUDE = 24.7536;
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private ResourceGeoIndex resourceGeoIndex;
+
+    @BeforeEach
+    void setUp() {
+        resourceGeoIndex = new ResourceGeoIndex(resourceRepository, transactionTemplate, 0.01);
+    }
+
+    private Resource resource(Long id, Double latitude, Double longitude) {
+        Location location = new Location(1L, null, null, null, EE, latitude, longitude);
+        return new Resource(id, ResourceType.METERING_POINT, EE, location, List.of(), 1L);
+    }
+
+    @Test
+    void load_ShouldLoadStoredCoordinates() {
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+        when(resourceRepository.streamGeoPoints())
+                .thenReturn(Stream.of(new GeoPoint(1L, ResourceType.METERING_POINT, LATITUDE, LONGITUDE, 1L)));
+
+        resourceGeoIndex.load();
+
+        assertEquals(1, resourceGeoIndex.size());
+        assertEquals(1L, resourceGeoIndex.nearest(LATITUDE, LONGITUDE, 1, null).get(0).getId());
+    }
+
+    @Test
+    void index_ShouldAddMoveAndDropResource() {
+        resourceGeoIndex.index(resource(1L, LATITUDE, LONGITUDE));
+        assertEquals(1, resourceGeoIndex.within(LATITUDE, LONGITUDE, 1, null, 10).size());
+
+        resourceGeoIndex.index(resource(1L, LATITUDE + 1, LONGITUDE));
+        assertEquals(0, resourceGeoIndex.within(LATITUDE, LONGITUDE, 1, null, 10).size());
+
+        resourceGeoIndex.index(resource(1L, null, null));
+        assertEquals(0, resourceGeoIndex.size());
+    }
+}
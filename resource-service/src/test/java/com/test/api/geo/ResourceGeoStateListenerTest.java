@@ -0,0 +1,102 @@
+package com.test.api.geo;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.repository.ResourceRepository;
+import com.test.api.service.impl.ResourcesServiceImpl;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ConsumerSeekAware.ConsumerSeekCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceGeoStateListenerTest {
+    public static final String EE = "EE";
+    public static final double LATITUDE = 59.437;
+    public static final double LONGITUDE = 24.7536;
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    @Mock
+    private ConsumerFactory<String, ResourceEvent> consumerFactory;
+    @Mock
+    private Consumer<String, ResourceEvent> consumer;
+    @Mock
+    private ConsumerSeekCallback callback;
+    private ResourceGeoIndex resourceGeoIndex;
+    private ResourceGeoStateListener listener;
+
+    @BeforeEach
+    void setUp() {
+        resourceGeoIndex = new ResourceGeoIndex(resourceRepository, transactionTemplate, 0.01);
+        listener = new ResourceGeoStateListener(resourceGeoIndex, consumerFactory);
+    }
+
+    @Test
+    void handle_ShouldApplySnapshotsAndTombstonesWithoutReadingRows() {
+        listener.handle(List.of(
+                record(1L, ResourceEvent.snapshot(resource(1L, 1L, LATITUDE, LONGITUDE))),
+                record(2L, ResourceEvent.snapshot(resource(2L, 1L, LATITUDE, LONGITUDE))),
+                record(1L, ResourceEvent.snapshot(resource(1L, 2L, LATITUDE + 1, LONGITUDE))),
+                record(2L, null)));
+
+        assertEquals(1, resourceGeoIndex.size());
+        assertEquals(List.of(), resourceGeoIndex.within(LATITUDE, LONGITUDE, 1, null, 10));
+        verifyNoInteractions(resourceRepository);
+    }
+
+    @Test
+    void handle_WhenSnapshotOlderThanIndexedPoint_ShouldKeepIndexedPoint() {
+        resourceGeoIndex.index(resource(1L, 3L, LATITUDE, LONGITUDE));
+
+        listener.handle(List.of(record(1L, ResourceEvent.snapshot(resource(1L, 2L, LATITUDE + 1, LONGITUDE)))));
+
+        assertEquals(1, resourceGeoIndex.within(LATITUDE, LONGITUDE, 1, null, 10).size());
+    }
+
+    @Test
+    void onPartitionsAssigned_ShouldSeekToEndOffsetsTakenBeforeLoad() {
+        TopicPartition recorded = new TopicPartition(ResourcesServiceImpl.RESOURCE_STATE_TOPIC, 0);
+        TopicPartition unknown = new TopicPartition(ResourcesServiceImpl.RESOURCE_STATE_TOPIC, 1);
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.partitionsFor(ResourcesServiceImpl.RESOURCE_STATE_TOPIC)).thenReturn(List.of(
+                new PartitionInfo(ResourcesServiceImpl.RESOURCE_STATE_TOPIC, 0, null, null, null)));
+        when(consumer.endOffsets(List.of(recorded))).thenReturn(Map.of(recorded, 42L));
+
+        listener.afterSingletonsInstantiated();
+        listener.onPartitionsAssigned(Map.of(recorded, 0L, unknown, 0L), callback);
+
+        verify(consumer).close();
+        verify(transactionTemplate).executeWithoutResult(any());
+        verify(callback).seek(ResourcesServiceImpl.RESOURCE_STATE_TOPIC, 0, 42L);
+        verifyNoMoreInteractions(callback);
+    }
+
+    private static ConsumerRecord<String, ResourceEvent> record(Long id, ResourceEvent event) {
+        return new ConsumerRecord<>(ResourcesServiceImpl.RESOURCE_STATE_TOPIC, 0, id, String.valueOf(id), event);
+    }
+
+    private static Resource resource(Long id, Long version, Double latitude, Double longitude) {
+        Location location = new Location(1L, null, null, null, EE, latitude, longitude);
+        return new Resource(id, ResourceType.METERING_POINT, EE, location, List.of(), version);
+    }
+}
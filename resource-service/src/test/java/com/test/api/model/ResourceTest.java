@@ -0,0 +1,23 @@
+package com.test.api.model;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ResourceTest {
+    public static final long VERSION_4 = 4L;
+
+    @Test
+    void seedVersion_WhenNew_ShouldStartAtInitialVersion() {
+        Resource resource = new Resource();
+        resource.seedVersion();
+        assertEquals(Resource.INITIAL_VERSION, resource.getVersion());
+    }
+
+    @Test
+    void seedVersion_WhenVersionSet_ShouldKeepIt() {
+        Resource resource = new Resource();
+        resource.setVersion(VERSION_4);
+        resource.seedVersion();
+        assertEquals(VERSION_4, resource.getVersion());
+    }
+}
@@ -0,0 +1,220 @@
+package com.test.api.outbox;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventPublisher;
+import com.test.api.model.OutboxDeadLetter;
+import com.test.api.model.OutboxMessage;
+import com.test.api.repository.OutboxDeadLetterRepository;
+import com.test.api.repository.OutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.kafka.core.KafkaProducerException;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class OutboxRelayTest {
+    public static final String NOTIFICATION_TOPIC = "notificationTopic";
+    public static final String BROKER_DOWN = "Broker down";
+    public static final String RESOURCE_STATE_TOPIC = "resourceStateTopic";
+    public static final String RESOURCE_KEY = "7";
+    public static final String VERSION_3 = "3";
+    public static final String KEY_1 = "1";
+    public static final String KEY_2 = "2";
+    public static final String TOO_LARGE = "Message too large";
+    public static final int MAX_ATTEMPTS = 3;
+    public static final int BUCKET = 5;
+    public static final int OTHER_BUCKET = 9;
+    @Mock
+    private OutboxRepository outboxRepository;
+    @Mock
+    private OutboxDeadLetterRepository outboxDeadLetterRepository;
+    @Mock
+    private OutboxWriter outboxWriter;
+    @Mock
+    private ResourceEventPublisher resourceEventPublisher;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private SimpleMeterRegistry meterRegistry;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        outboxRelay = new OutboxRelay(outboxRepository, outboxDeadLetterRepository, outboxWriter,
+                resourceEventPublisher, transactionTemplate, meterRegistry, 10, 1000, MAX_ATTEMPTS);
+        lenient().when(outboxRepository.findPendingBuckets()).thenReturn(List.of(BUCKET));
+        lenient().when(outboxRepository.tryLock(OutboxRelay.RELAY_LOCK_SPACE, BUCKET)).thenReturn(true);
+        lenient().when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    @Test
+    void relay_ShouldSendBatchAndDeleteRelayedRows() {
+        OutboxMessage message1 = new OutboxMessage(1L, NOTIFICATION_TOPIC, null, new byte[0], Instant.now(), false, 0);
+        OutboxMessage message2 = new OutboxMessage(2L, NOTIFICATION_TOPIC, null, new byte[0], Instant.now(), false, 0);
+        ResourceEvent event = new ResourceEvent();
+        when(outboxRepository.findNextBatch(BUCKET, 10)).thenReturn(List.of(message1, message2));
+        when(outboxWriter.read(any(OutboxMessage.class))).thenReturn(event);
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, null, event)).thenReturn(CompletableFuture.completedFuture(null));
+        outboxRelay.relay();
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+        assertEquals(2.0, meterRegistry.get(OutboxRelay.METRIC_RELAYED).counter().count());
+    }
+
+    @Test
+    void relay_WhenKafkaFails_ShouldKeepRowsForRetry() {
+        OutboxMessage message = new OutboxMessage(1L, NOTIFICATION_TOPIC, null, new byte[0], Instant.now(), false, 0);
+        ResourceEvent event = new ResourceEvent();
+        when(outboxRepository.findNextBatch(BUCKET, 10)).thenReturn(List.of(message));
+        when(outboxWriter.read(message)).thenReturn(event);
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, null, event))
+                .thenReturn(CompletableFuture.failedFuture(new KafkaProducerException(null, BROKER_DOWN,
+                        new TimeoutException(BROKER_DOWN))));
+        outboxRelay.relay();
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+        verify(outboxDeadLetterRepository, never()).saveAll(anyList());
+        assertEquals(0, message.getAttempts());
+        assertEquals(1.0, meterRegistry.get(OutboxRelay.METRIC_FAILURES).counter().count());
+    }
+
+    @Test
+    void relay_WhenOneMessageFails_ShouldDeliverOthersAndCountAttempt() {
+        OutboxMessage message1 = new OutboxMessage(1L, NOTIFICATION_TOPIC, KEY_1, new byte[0], Instant.now(), false, 0);
+        OutboxMessage message2 = new OutboxMessage(2L, NOTIFICATION_TOPIC, KEY_2, new byte[0], Instant.now(), false, 0);
+        ResourceEvent event = new ResourceEvent();
+        when(outboxRepository.findNextBatch(BUCKET, 10)).thenReturn(List.of(message1, message2));
+        when(outboxWriter.read(any(OutboxMessage.class))).thenReturn(event);
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, KEY_1, event))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException(TOO_LARGE)));
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, KEY_2, event))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        outboxRelay.relay();
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(2L));
+        verify(outboxDeadLetterRepository, never()).saveAll(anyList());
+        assertEquals(1, message1.getAttempts());
+        assertEquals(1.0, meterRegistry.get(OutboxRelay.METRIC_RELAYED).counter().count());
+    }
+
+    @Test
+    void relay_WhenUnreadable_ShouldCountAttemptWithoutSending() {
+        OutboxMessage message = new OutboxMessage(1L, NOTIFICATION_TOPIC, KEY_1, new byte[0], Instant.now(), false, 0);
+        when(outboxRepository.findNextBatch(BUCKET, 10)).thenReturn(List.of(message));
+        when(outboxWriter.read(message)).thenThrow(new IllegalStateException(TOO_LARGE));
+        outboxRelay.relay();
+        verify(resourceEventPublisher, never()).publish(any(String.class), any(), any(ResourceEvent.class));
+        verify(outboxRepository, never()).deleteAllByIdInBatch(anyList());
+        assertEquals(1, message.getAttempts());
+    }
+
+    @Test
+    void relay_WhenAttemptsReachLimit_ShouldMoveMessageToDeadLetter() {
+        OutboxMessage message = new OutboxMessage(1L, NOTIFICATION_TOPIC, KEY_1, new byte[0], Instant.now(), false,
+                MAX_ATTEMPTS - 1);
+        ResourceEvent event = new ResourceEvent();
+        when(outboxRepository.findNextBatch(BUCKET, 10)).thenReturn(List.of(message));
+        when(outboxWriter.read(message)).thenReturn(event);
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, KEY_1, event))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException(TOO_LARGE)));
+        outboxRelay.relay();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxDeadLetter>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxDeadLetterRepository).saveAll(captor.capture());
+        OutboxDeadLetter deadLetter = captor.getValue().get(0);
+        assertEquals(1L, deadLetter.getId());
+        assertEquals(MAX_ATTEMPTS, deadLetter.getAttempts());
+        assertTrue(deadLetter.getError().contains(TOO_LARGE));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+        assertEquals(1.0, meterRegistry.get(OutboxRelay.METRIC_DEAD_LETTERED).counter().count());
+        assertEquals(0.0, meterRegistry.get(OutboxRelay.METRIC_RELAYED).counter().count());
+    }
+
+    @Test
+    void relay_WhenLaterMessageOfSameKeyDelivered_ShouldMoveFailedOneToDeadLetter() {
+        OutboxMessage message1 = new OutboxMessage(1L, NOTIFICATION_TOPIC, KEY_1, new byte[0], Instant.now(), false, 0);
+        OutboxMessage message2 = new OutboxMessage(2L, NOTIFICATION_TOPIC, KEY_1, new byte[0], Instant.now(), false, 0);
+        ResourceEvent event1 = ResourceEvent.deleted(1L, 2L);
+        ResourceEvent event2 = ResourceEvent.deleted(1L, 3L);
+        when(outboxRepository.findNextBatch(BUCKET, 10)).thenReturn(List.of(message1, message2));
+        when(outboxWriter.read(message1)).thenReturn(event1);
+        when(outboxWriter.read(message2)).thenReturn(event2);
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, KEY_1, event1))
+                .thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException(TOO_LARGE)));
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, KEY_1, event2))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        outboxRelay.relay();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxDeadLetter>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxDeadLetterRepository).saveAll(captor.capture());
+        assertEquals(OutboxRelay.OVERTAKEN, captor.getValue().get(0).getError());
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    void relay_ShouldSendTombstoneWithoutValueAndWithDeletedVersion() {
+        OutboxMessage message = new OutboxMessage(1L, RESOURCE_STATE_TOPIC, RESOURCE_KEY, new byte[0], Instant.now(),
+                true, 0);
+        when(outboxRepository.findNextBatch(BUCKET, 10)).thenReturn(List.of(message));
+        when(outboxWriter.read(message)).thenReturn(ResourceEvent.deleted(7L, 3L));
+        when(resourceEventPublisher.publish(any(ProducerRecord.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        outboxRelay.relay();
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<ProducerRecord<String, ResourceEvent>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(resourceEventPublisher).publish(captor.capture());
+        assertEquals(RESOURCE_KEY, captor.getValue().key());
+        assertNull(captor.getValue().value());
+        assertEquals(VERSION_3, new String(captor.getValue().headers().lastHeader(OutboxRelay.VERSION_HEADER).value(),
+                StandardCharsets.UTF_8));
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void relay_WhenAnotherReplicaHoldsBucket_ShouldRelayTheOtherBuckets() {
+        OutboxMessage message = new OutboxMessage(1L, NOTIFICATION_TOPIC, KEY_1, new byte[0], Instant.now(), false, 0);
+        ResourceEvent event = new ResourceEvent();
+        when(outboxRepository.findPendingBuckets()).thenReturn(List.of(BUCKET, OTHER_BUCKET));
+        when(outboxRepository.tryLock(OutboxRelay.RELAY_LOCK_SPACE, BUCKET)).thenReturn(false);
+        when(outboxRepository.tryLock(OutboxRelay.RELAY_LOCK_SPACE, OTHER_BUCKET)).thenReturn(true);
+        when(outboxRepository.findNextBatch(OTHER_BUCKET, 10)).thenReturn(List.of(message));
+        when(outboxWriter.read(message)).thenReturn(event);
+        when(resourceEventPublisher.publish(NOTIFICATION_TOPIC, KEY_1, event))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        outboxRelay.relay();
+        verify(outboxRepository, never()).findNextBatch(BUCKET, 10);
+        verify(outboxRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void relay_WithEmptyOutbox_ShouldReportZeroLag() {
+        when(outboxRepository.findPendingBuckets()).thenReturn(List.of());
+        outboxRelay.relay();
+        assertEquals(0.0, meterRegistry.get(OutboxRelay.METRIC_LAG).gauge().value());
+        verify(outboxRepository, never()).findNextBatch(anyInt(), anyInt());
+        verify(transactionTemplate, never()).execute(any());
+    }
+}
@@ -0,0 +1,76 @@
+package com.test.api.outbox;
+
+import com.test.api.event.ResourceChangeType;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.repository.ResourceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceStateBackfillTest {
+    public static final String RESOURCE_STATE_TOPIC = "resourceStateTopic";
+    public static final String EE = "EE";
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private OutboxWriter outboxWriter;
+    @Mock
+    private TransactionTemplate transactionTemplate;
+    private ResourceStateBackfill resourceStateBackfill;
+
+    @BeforeEach
+    void setUp() {
+        resourceStateBackfill = new ResourceStateBackfill(resourceRepository, outboxWriter, transactionTemplate,
+                false, 2);
+    }
+
+    @Test
+    void run_ShouldWriteSnapshotsChunkByChunk() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+        when(resourceRepository.findMaxId()).thenReturn(3L);
+        when(resourceRepository.findIdsInRange(Long.MIN_VALUE, 3L, PageRequest.of(0, 2))).thenReturn(List.of(1L, 2L));
+        when(resourceRepository.findIdsInRange(2L, 3L, PageRequest.of(0, 2))).thenReturn(List.of(3L));
+        when(resourceRepository.findIdsInRange(3L, 3L, PageRequest.of(0, 2))).thenReturn(List.of());
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(1L, 2L)))
+                .thenReturn(List.of(resource(1L), resource(2L)));
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(3L))).thenReturn(List.of(resource(3L)));
+
+        assertEquals(3, resourceStateBackfill.run());
+
+        verify(outboxWriter).writeAll(eq(RESOURCE_STATE_TOPIC), argThat(events -> events.size() == 2
+                && events.stream().allMatch(event -> event.getChangeType() == ResourceChangeType.SNAPSHOT)));
+        verify(outboxWriter).writeAll(eq(RESOURCE_STATE_TOPIC), argThat(events -> events.size() == 1
+                && events.get(0).getResourceId() == 3L));
+    }
+
+    @Test
+    void run_WithoutResources_ShouldWriteNothing() {
+        when(resourceRepository.findMaxId()).thenReturn(null);
+
+        assertEquals(0, resourceStateBackfill.run());
+
+        verify(outboxWriter, never()).writeAll(any(), any());
+    }
+
+    private Resource resource(Long id) {
+        return new Resource(id, ResourceType.METERING_POINT, EE, null, List.of(), 1L);
+    }
+}
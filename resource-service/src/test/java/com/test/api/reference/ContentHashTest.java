@@ -0,0 +1,48 @@
+package com.test.api.reference;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.CharacteristicType;
+import com.test.api.model.Location;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class ContentHashTest {
+    public static final String RAND_TEE_1 = "Rand tee 1";
+    public static final String TALLINN = "Tallinn";
+    public static final String EE = "EE";
+    public static final String NUMBER_1 = "1";
+    public static final String NUMBER_220 = "220";
+    // same values the changelog computes in SQL for "10:Rand tee 17:Tallinn5:100012:EE" and "1:116:CONSUMPTION_TYPE3:220"
+    public static final String LOCATION_HASH = "1417daae0496ead1e28eab2b8c528b67e35f7ad6c8ceebe2fc0bbafcfe53dcad";
+    public static final String CHARACTERISTIC_HASH = "6375c6729d44da02ff1155ef7f7d76e88e551e6b430d15685c9ef5168dde66dd";
+
+    @Test
+    void of_ShouldHashLengthPrefixedFields() {
+        assertEquals(LOCATION_HASH, ContentHash.of(new Location(null, RAND_TEE_1, TALLINN, 10001, EE, null, null)));
+        assertEquals(CHARACTERISTIC_HASH,
+                ContentHash.of(new Characteristic(null, NUMBER_1, CharacteristicType.CONSUMPTION_TYPE, NUMBER_220)));
+    }
+
+    @Test
+    void of_ShouldIgnoreId() {
+        assertEquals(ContentHash.of(new Location(1L, RAND_TEE_1, TALLINN, 10001, EE, null, null)),
+                ContentHash.of(new Location(2L, RAND_TEE_1, TALLINN, 10001, EE, null, null)));
+    }
+
+    @Test
+    void of_ShouldTellFieldBoundariesAndNullsApart() {
+        assertNotEquals(ContentHash.of(new Location(null, "ab", "c", null, null, null, null)),
+                ContentHash.of(new Location(null, "a", "bc", null, null, null, null)));
+        assertNotEquals(ContentHash.of(new Location(null, null, TALLINN, null, EE, null, null)),
+                ContentHash.of(new Location(null, "", TALLINN, null, EE, null, null)));
+    }
+
+    @Test
+    void of_ShouldTellLocationsWithCoordinatesApart() {
+        assertNotEquals(ContentHash.of(new Location(null, RAND_TEE_1, TALLINN, 10001, EE, null, null)),
+                ContentHash.of(new Location(null, RAND_TEE_1, TALLINN, 10001, EE, 59.437, 24.7536)));
+        assertNotEquals(ContentHash.of(new Location(null, RAND_TEE_1, TALLINN, 10001, EE, 59.437, 24.7536)),
+                ContentHash.of(new Location(null, RAND_TEE_1, TALLINN, 10001, EE, 59.437, 24.7537)));
+    }
+}
@@ -0,0 +1,96 @@
+package com.test.api.reference;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.CharacteristicType;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.repository.ReferenceDataRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ReferenceInternerTest {
+    public static final String RAND_TEE_1 = "Rand tee 1";
+    public static final String TALLINN = "Tallinn";
+    public static final String EE = "EE";
+    public static final String NUMBER_1 = "1";
+    public static final String NUMBER_220 = "220";
+    @Mock
+    private ReferenceDataRepository referenceDataRepository;
+    private ReferenceInterner referenceInterner;
+
+    @BeforeEach
+    void setUp() {
+        referenceInterner = new ReferenceInterner(referenceDataRepository, new SimpleMeterRegistry(), 100);
+    }
+
+    @Test
+    void intern_ShouldPointIdenticalContentAtOneRow() {
+        Location location = location();
+        when(referenceDataRepository.findOrInsertLocations(any()))
+                .thenReturn(Map.of(ContentHash.of(location), 7L));
+        Resource first = resource(location(), List.of());
+        Resource second = resource(location(), List.of());
+
+        referenceInterner.intern(List.of(first, second));
+
+        assertEquals(7L, first.getLocation().getId());
+        assertEquals(7L, second.getLocation().getId());
+        assertEquals(TALLINN, first.getLocation().getCity());
+        verify(referenceDataRepository).findOrInsertLocations(argThat(locations -> locations.size() == 1));
+    }
+
+    @Test
+    void intern_ShouldReuseResolvedIdsWithoutQuerying() {
+        Location location = location();
+        when(referenceDataRepository.findOrInsertLocations(any()))
+                .thenReturn(Map.of(ContentHash.of(location), 7L));
+
+        referenceInterner.intern(List.of(resource(location(), null)));
+        Resource resource = resource(location(), null);
+        referenceInterner.intern(List.of(resource));
+
+        assertEquals(7L, resource.getLocation().getId());
+        verify(referenceDataRepository, times(1)).findOrInsertLocations(any());
+    }
+
+    @Test
+    void intern_ShouldDropRepeatedCharacteristics() {
+        Characteristic characteristic = characteristic(5L);
+        when(referenceDataRepository.findOrInsertCharacteristics(any()))
+                .thenReturn(Map.of(ContentHash.of(characteristic), 3L));
+        Resource resource = resource(null, List.of(characteristic, characteristic(null)));
+
+        referenceInterner.intern(List.of(resource));
+
+        assertEquals(1, resource.getCharacteristics().size());
+        assertEquals(3L, resource.getCharacteristics().get(0).getId());
+        assertNotSame(characteristic, resource.getCharacteristics().get(0));
+    }
+
+    private Resource resource(Location location, List<Characteristic> characteristics) {
+        return new Resource(null, ResourceType.METERING_POINT, EE, location, characteristics, null);
+    }
+
+    private Location location() {
+        return new Location(null, RAND_TEE_1, TALLINN, 10001, EE, null, null);
+    }
+
+    private Characteristic characteristic(Long id) {
+        return new Characteristic(id, NUMBER_1, CharacteristicType.CONSUMPTION_TYPE, NUMBER_220);
+    }
+}
@@ -0,0 +1,31 @@
+package com.test.api.search;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SearchCursorTest {
+    public static final String CURSOR = "0.125_42";
+    public static final String TINY_DISTANCE_CURSOR = "1.0E-5_7";
+
+    @Test
+    void encode_ShouldRoundTripDistanceExactly() {
+        SearchCursor cursor = SearchCursor.after(new AddressMatch(42L, 0.1f));
+
+        assertEquals(cursor, SearchCursor.parse(cursor.encode()));
+        assertEquals(new SearchCursor(0.125f, 42L), SearchCursor.parse(CURSOR));
+        assertEquals(new SearchCursor(1.0E-5f, 7L), SearchCursor.parse(TINY_DISTANCE_CURSOR));
+    }
+
+    @Test
+    void parse_ShouldReturnNullForFirstPage() {
+        assertNull(SearchCursor.parse(null));
+    }
+
+    @Test
+    void parse_WithMalformedCursor_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.parse("42"));
+        assertThrows(IllegalArgumentException.class, () -> SearchCursor.parse("NaN_1"));
+    }
+}
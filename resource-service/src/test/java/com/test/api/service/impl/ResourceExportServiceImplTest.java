@@ -0,0 +1,102 @@
+package com.test.api.service.impl;
+
+import com.test.api.event.ResourceEvent;
+import com.test.api.event.ResourceEventPublisher;
+import com.test.api.model.ExportJobStatus;
+import com.test.api.model.Location;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import com.test.api.model.dto.response.ExportJobResponseDto;
+import com.test.api.repository.ResourceRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceExportServiceImplTest {
+    public static final String NOTIFICATION_TOPIC_ALL_DATA = "notificationTopicAllData";
+    public static final String EE = "EE";
+    public static final String BROKER_DOWN = "Broker down";
+    public static final String UNKNOWN = "unknown";
+    @Mock
+    private ResourceRepository resourceRepository;
+    @Mock
+    private ResourceEventPublisher resourceEventPublisher;
+    private ResourceExportServiceImpl exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new ResourceExportServiceImpl(resourceRepository, resourceEventPublisher, Runnable::run,
+                2, 1, 5);
+    }
+
+    @Test
+    void start_WithEmptyTable_ShouldCompleteWithoutSending() {
+        ExportJobResponseDto result = exportService.start();
+        ExportJobResponseDto status = exportService.getStatus(result.getId());
+        assertEquals(ExportJobStatus.COMPLETED, status.getStatus());
+        assertEquals(0, status.getItemsSent());
+        verify(resourceEventPublisher, never()).publish(anyString(), any(), any(ResourceEvent.class));
+    }
+
+    @Test
+    void start_ShouldWalkTableInKeysetChunks() {
+        Resource resource1 = resource(1L);
+        Resource resource2 = resource(2L);
+        Resource resource3 = resource(3L);
+        when(resourceRepository.findMinId()).thenReturn(1L);
+        when(resourceRepository.findMaxId()).thenReturn(3L);
+        when(resourceRepository.findIdsInRange(eq(0L), eq(3L), any(Pageable.class))).thenReturn(List.of(1L, 2L));
+        when(resourceRepository.findIdsInRange(eq(2L), eq(3L), any(Pageable.class))).thenReturn(List.of(3L));
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(1L, 2L))).thenReturn(List.of(resource1, resource2));
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(3L))).thenReturn(List.of(resource3));
+        when(resourceEventPublisher.publish(eq(NOTIFICATION_TOPIC_ALL_DATA), any(), any(ResourceEvent.class)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        ExportJobResponseDto result = exportService.start();
+        ExportJobResponseDto status = exportService.getStatus(result.getId());
+        assertEquals(ExportJobStatus.COMPLETED, status.getStatus());
+        assertEquals(3, status.getItemsSent());
+        assertEquals(0, status.getErrors());
+        verify(resourceEventPublisher, times(3)).publish(eq(NOTIFICATION_TOPIC_ALL_DATA), any(), any(ResourceEvent.class));
+    }
+
+    @Test
+    void start_WhenSendFails_ShouldCountErrors() {
+        when(resourceRepository.findMinId()).thenReturn(1L);
+        when(resourceRepository.findMaxId()).thenReturn(1L);
+        when(resourceRepository.findIdsInRange(eq(0L), eq(1L), any(Pageable.class))).thenReturn(List.of(1L));
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(1L))).thenReturn(List.of(resource(1L)));
+        when(resourceEventPublisher.publish(eq(NOTIFICATION_TOPIC_ALL_DATA), any(), any(ResourceEvent.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException(BROKER_DOWN)));
+        ExportJobResponseDto result = exportService.start();
+        ExportJobResponseDto status = exportService.getStatus(result.getId());
+        assertEquals(ExportJobStatus.COMPLETED, status.getStatus());
+        assertEquals(0, status.getItemsSent());
+        assertEquals(1, status.getErrors());
+        assertEquals(BROKER_DOWN, status.getLastError());
+    }
+
+    @Test
+    void getStatus_WithUnknownJob_ShouldThrowEntityNotFoundException() {
+        assertThrows(EntityNotFoundException.class, () -> exportService.getStatus(UNKNOWN));
+    }
+
+    private Resource resource(Long id) {
+        return new Resource(id, ResourceType.METERING_POINT, EE, new Location(), List.of(), 1L);
+    }
+}
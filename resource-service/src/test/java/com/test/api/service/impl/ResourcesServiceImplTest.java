@@ -1,32 +1,60 @@
 package com.test.api.service.impl;
 
+import com.test.api.cache.ResourceCache;
+import com.test.api.event.FieldChange;
+import com.test.api.event.ResourceChangeType;
+import com.test.api.event.ResourceDiff;
 import com.test.api.event.ResourceEvent;
+import com.test.api.exception.ResourceVersionMismatchException;
+import com.test.api.geo.GeoHit;
+import com.test.api.geo.ResourceGeoIndex;
 import com.test.api.mapper.RequestMapper;
 import com.test.api.model.Characteristic;
 import com.test.api.model.CharacteristicType;
 import com.test.api.model.Location;
+import com.test.api.model.MatchedResource;
+import com.test.api.model.NearbyResource;
 import com.test.api.model.Resource;
+import com.test.api.model.ResourceBatch;
+import com.test.api.model.ResourceSearchPage;
 import com.test.api.model.ResourceType;
+import com.test.api.model.dto.request.ResourceFilterDto;
 import com.test.api.model.dto.request.ResourceRequestDto;
+import com.test.api.outbox.OutboxWriter;
+import com.test.api.reference.ReferenceInterner;
 import com.test.api.repository.ResourceRepository;
+import com.test.api.repository.ResourceSearchRepository;
+import com.test.api.repository.ResourceStatsRepository;
+import com.test.api.search.AddressMatch;
+import com.test.api.search.SearchCursor;
+import com.test.api.stats.ResourceStat;
+import com.test.api.stats.ResourceStatsCounter;
+import com.test.api.stats.StatKey;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -40,19 +68,12 @@ public class ResourcesServiceImplTest {
     public static final String NUMBER_1 = "1";
     public static final String NUMBER_220 = "220";
     public static final String NOTIFICATION_TOPIC = "notificationTopic";
+    public static final String RESOURCE_STATE_TOPIC = "resourceStateTopic";
     public static final String RESOURCE_WITH_ID_100_NOT_FOUND = "Resource with id 100 not found";
     public static final String UA = "UA";
     public static final String NUMBER_2 = "2";
     public static final String FAST = "Fast";
-    public static final String JOHI_TEE = "123 Johi tee";
-    public static final String PADRI_TEE = "123 Padri tee";
     public static final String US = "US";
-    public static final String RAND_TEE = "123 Rand tee";
-    public static final String NUMBER_3 = "3";
-    public static final String STANDARD = "Standard";
-    public static final String ACTIVE = "Active";
-    public static final String SEND_3_ITEMS_FROM_RESOURCE = "Send 3 items from Resource.";
-    public static final String NOTIFICATION_TOPIC_ALL_DATA = "notificationTopicAllData";
     public static final String PINE_10_TEE = "Pine 10 tee";
     public static final String TARTU = "Tartu";
     public static final String DE = "DE";
@@ -62,8 +83,7 @@ public class ResourcesServiceImplTest {
     public static final String ONLINE = "Online";
     public static final String ULTRA_FAST = "Ultra Fast";
     public static final String HIGH = "High";
-    public static final String KELA = "Kela";
-    public static final String SEND_0_ITEMS_FROM_RESOURCE = "Send 0 items from Resource.";
+    public static final String RAND_TEE = "Rand tee";
     @MockitoBean
     private RequestMapper resourceRequestMapper;
 
@@ -71,7 +91,28 @@ public class ResourcesServiceImplTest {
     private ResourceRepository resourceRepository;
 
     @MockitoBean
-    private KafkaTemplate<String, ResourceEvent> kafkaTemplate;
+    private OutboxWriter outboxWriter;
+
+    @MockitoBean
+    private TransactionTemplate transactionTemplate;
+
+    @MockitoBean
+    private ResourceCache resourceCache;
+
+    @MockitoBean
+    private ReferenceInterner referenceInterner;
+
+    @MockitoBean
+    private ResourceGeoIndex resourceGeoIndex;
+
+    @MockitoBean
+    private ResourceSearchRepository resourceSearchRepository;
+
+    @MockitoBean
+    private ResourceStatsCounter resourceStatsCounter;
+
+    @MockitoBean
+    private ResourceStatsRepository resourceStatsRepository;
 
     @Autowired
     private ResourcesServiceImpl resourcesService;
@@ -89,7 +130,7 @@ public class ResourcesServiceImplTest {
         testLocation.setCity(TALLINN);
         testLocation.setPostalCode(10001);
         testLocation.setCountryCode(EE);
-        Characteristic testCharacteristic = new Characteristic();
+        testCharacteristic = new Characteristic();
         testCharacteristic.setId(1L);
         testCharacteristic.setCode(NUMBER_1);
         testCharacteristic.setCharacteristicType(CharacteristicType.CONSUMPTION_TYPE);
@@ -101,14 +142,32 @@ public class ResourcesServiceImplTest {
         testResource.setCountryCode(EE);
         testResource.setLocation(testLocation);
         testResource.setCharacteristics(Arrays.asList(testCharacteristic));
+        testResource.setVersion(1L);
         testResourceRequestDto = new ResourceRequestDto();
         testResourceRequestDto.setResourceType(ResourceType.METERING_POINT);
         testResourceRequestDto.setCountryCode(EE);
         testResourceRequestDto.setLocation(testLocation);
         testResourceRequestDto.setCharacteristics(List.of(testCharacteristic));
+        when(resourceCache.get(any(), any())).thenAnswer(invocation -> {
+            Function<Long, Resource> loader = invocation.getArgument(1);
+            return loader.apply(invocation.getArgument(0));
+        });
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> {
+            TransactionCallback<?> callback = invocation.getArgument(0);
+            return callback.doInTransaction(null);
+        });
+    }
+
+    // what the @Version column does on flush
+    private static Answer<Resource> flushed() {
+        return invocation -> {
+            Resource resource = invocation.getArgument(0);
+            resource.setVersion(resource.getVersion() + 1);
+            return resource;
+        };
     }
     @Test
-    void add_ShouldSaveResourceAndSendKafkaMessage() {
+    void add_ShouldSaveResourceAndWriteOutboxMessage() {
         Resource savedResource = new Resource();
         savedResource.setId(2L);
         savedResource.setResourceType(ResourceType.CONNECTION_POINT);
@@ -123,14 +182,42 @@ public class ResourcesServiceImplTest {
         assertEquals(savedResource.getCountryCode(), result.getCountryCode());
         assertEquals(savedResource.getLocation().getCity(), result.getLocation().getCity());
         assertEquals(1, result.getCharacteristics().size());
+        verify(referenceInterner, times(1)).intern(List.of(testResource));
         verify(resourceRepository, times(1)).save(testResource);
-        verify(kafkaTemplate, times(1)).send(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
+        verify(resourceGeoIndex, times(1)).index(savedResource);
+        verify(resourceStatsCounter).record(argThat(delta -> delta.getCounts().get(new StatKey(StatKey.RESOURCE_TYPE,
+                EE, ResourceType.CONNECTION_POINT.name(), null)) == 1L));
+        verify(outboxWriter, times(1)).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
+        verify(outboxWriter).write(eq(RESOURCE_STATE_TOPIC), argThat(event ->
+                event.getChangeType() == ResourceChangeType.SNAPSHOT && event.getResource() == savedResource));
+    }
+
+    @Test
+    void addAll_ShouldSaveResourcesInBatchesAndWriteOutboxMessages() {
+        Resource resource1 = new Resource(null, ResourceType.METERING_POINT, EE, testLocation, List.of(), null);
+        Resource resource2 = new Resource(null, ResourceType.CONNECTION_POINT, EE, testLocation, List.of(), null);
+        Resource savedResource1 = new Resource(1L, ResourceType.METERING_POINT, EE, testLocation, List.of(), 1L);
+        Resource savedResource2 = new Resource(2L, ResourceType.CONNECTION_POINT, EE, testLocation, List.of(), 1L);
+        when(resourceRepository.saveAllAndFlush(List.of(resource1, resource2)))
+                .thenReturn(List.of(savedResource1, savedResource2));
+        List<Resource> result = resourcesService.addAll(List.of(resource1, resource2));
+        assertEquals(2, result.size());
+        assertEquals(1L, result.get(0).getId());
+        assertEquals(2L, result.get(1).getId());
+        verify(referenceInterner, times(1)).intern(List.of(resource1, resource2));
+        verify(resourceRepository, times(1)).saveAllAndFlush(List.of(resource1, resource2));
+        verify(resourceCache, times(1)).invalidate(2L);
+        verify(resourceGeoIndex, times(1)).index(savedResource2);
+        verify(resourceStatsCounter, times(1)).record(argThat(delta -> delta.getCounts().get(new StatKey(
+                StatKey.RESOURCE_TYPE, EE, ResourceType.METERING_POINT.name(), null)) == 1L));
+        verify(outboxWriter, times(1)).writeAll(eq(NOTIFICATION_TOPIC), argThat(events -> events.size() == 2));
+        verify(outboxWriter, times(1)).writeAll(eq(RESOURCE_STATE_TOPIC), argThat(events -> events.size() == 2));
     }
 
     @Test
     void get_WithValidId_ShouldReturnResource() {
         Long resourceId = 1L;
-        when(resourceRepository.findById(resourceId)).thenReturn(Optional.of(testResource));
+        when(resourceRepository.findWithDetailsById(resourceId)).thenReturn(Optional.of(testResource));
         Resource result = resourcesService.get(resourceId);
         assertNotNull(result);
         assertEquals(testResource.getId(), result.getId());
@@ -140,30 +227,157 @@ public class ResourcesServiceImplTest {
         assertEquals(TALLINN, result.getLocation().getCity());
         assertEquals(1, result.getCharacteristics().size());
         assertEquals(NUMBER_1, result.getCharacteristics().get(0).getCode());
-        verify(resourceRepository, times(1)).findById(resourceId);
+        verify(resourceRepository, times(1)).findWithDetailsById(resourceId);
     }
 
     @Test
     void get_WithInvalidId_ShouldThrowEntityNotFoundException() {
         Long invalidId = 100L;
-        when(resourceRepository.findById(invalidId)).thenReturn(Optional.empty());
+        when(resourceRepository.findWithDetailsById(invalidId)).thenReturn(Optional.empty());
         EntityNotFoundException exception = assertThrows(
                 EntityNotFoundException.class,
                 () -> resourcesService.get(invalidId)
         );
         assertEquals(RESOURCE_WITH_ID_100_NOT_FOUND, exception.getMessage());
-        verify(resourceRepository, times(1)).findById(invalidId);
+        verify(resourceRepository, times(1)).findWithDetailsById(invalidId);
+    }
+
+    @Test
+    void getAll_ShouldReturnResourcesInRequestOrderAndMissingIds() {
+        Resource resource2 = new Resource(2L, ResourceType.CONNECTION_POINT, EE, testLocation, List.of(), 1L);
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(2L, 100L, 1L)))
+                .thenReturn(List.of(testResource, resource2));
+        ResourceBatch result = resourcesService.getAll(List.of(2L, 100L, 1L));
+        assertEquals(List.of(resource2, testResource), result.getResources());
+        assertEquals(List.of(100L), result.getMissingIds());
+    }
+
+    @Test
+    void getAll_ShouldLoadOnlyIdsMissingFromCache() {
+        Resource resource2 = new Resource(2L, ResourceType.CONNECTION_POINT, EE, testLocation, List.of(), 1L);
+        when(resourceCache.getAllPresent(List.of(1L, 2L, 1L))).thenReturn(Map.of(1L, testResource));
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(2L))).thenReturn(List.of(resource2));
+        ResourceBatch result = resourcesService.getAll(List.of(1L, 2L, 1L));
+        assertEquals(List.of(testResource, resource2, testResource), result.getResources());
+        assertEquals(List.of(), result.getMissingIds());
+        verify(resourceRepository, times(1)).findAllWithDetailsByIdIn(List.of(2L));
+    }
+
+    @Test
+    void getVersion_ShouldReadVersionColumn_WhenResourceNotCached() {
+        when(resourceRepository.findVersionById(1L)).thenReturn(Optional.of(3L));
+        assertEquals(3L, resourcesService.getVersion(1L));
+        verify(resourceRepository, never()).findWithDetailsById(any());
+    }
+
+    @Test
+    void getVersion_ShouldUseCachedResource() {
+        testResource.setVersion(5L);
+        when(resourceCache.getIfPresent(1L)).thenReturn(testResource);
+        assertEquals(5L, resourcesService.getVersion(1L));
+        verify(resourceRepository, never()).findVersionById(any());
     }
 
     @Test
-    void remove_ShouldCallDeleteById() {
+    void getVersion_WithInvalidId_ShouldThrowEntityNotFoundException() {
+        when(resourceRepository.findVersionById(100L)).thenReturn(Optional.empty());
+        EntityNotFoundException exception = assertThrows(
+                EntityNotFoundException.class,
+                () -> resourcesService.getVersion(100L)
+        );
+        assertEquals(RESOURCE_WITH_ID_100_NOT_FOUND, exception.getMessage());
+    }
+
+    @Test
+    void list_ShouldDelegateKeysetPageToRepository() {
+        ResourceFilterDto filter = new ResourceFilterDto();
+        filter.setCountryCode(EE);
+        when(resourceRepository.findPage(filter, 10L, 2)).thenReturn(List.of(testResource));
+        List<Resource> result = resourcesService.list(filter, 10L, 2);
+        assertEquals(1, result.size());
+        assertEquals(testResource.getId(), result.get(0).getId());
+        verify(resourceRepository, times(1)).findPage(filter, 10L, 2);
+    }
+
+    @Test
+    void findNear_WithRadius_ShouldLoadHitsInDistanceOrder() {
+        Resource second = new Resource(2L, ResourceType.CONNECTION_POINT, EE, testLocation, List.of(), 1L);
+        when(resourceGeoIndex.within(59.4, 24.7, 10.0, null, 5))
+                .thenReturn(List.of(new GeoHit(2L, 0.5), new GeoHit(3L, 1.0), new GeoHit(1L, 2.5)));
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(2L, 3L, 1L)))
+                .thenReturn(List.of(testResource, second));
+        List<NearbyResource> result = resourcesService.findNear(59.4, 24.7, 10.0, 5, null);
+        assertEquals(List.of(new NearbyResource(second, 0.5), new NearbyResource(testResource, 2.5)), result);
+        verify(resourceGeoIndex, never()).nearest(anyDouble(), anyDouble(), anyInt(), any());
+    }
+
+    @Test
+    void findNear_WithoutRadius_ShouldAskForNearest() {
+        when(resourceGeoIndex.nearest(59.4, 24.7, 5, ResourceType.METERING_POINT)).thenReturn(List.of());
+        assertTrue(resourcesService.findNear(59.4, 24.7, null, 5, ResourceType.METERING_POINT).isEmpty());
+        verify(resourceRepository, never()).findAllWithDetailsByIdIn(any());
+    }
+
+    @Test
+    void search_ShouldReturnMatchesInRankOrderWithNextCursor() {
+        Resource second = new Resource(2L, ResourceType.CONNECTION_POINT, EE, testLocation, List.of(), 1L);
+        when(resourceSearchRepository.search(RAND_TEE, new SearchCursor(0.25f, 9L), 3))
+                .thenReturn(List.of(new AddressMatch(2L, 0.25f), new AddressMatch(3L, 0.5f),
+                        new AddressMatch(1L, 0.5f)));
+        when(resourceRepository.findAllWithDetailsByIdIn(List.of(2L, 3L, 1L)))
+                .thenReturn(List.of(testResource, second));
+        ResourceSearchPage result = resourcesService.search(RAND_TEE, "0.25_9", 3);
+        assertEquals(List.of(new MatchedResource(second, 0.75), new MatchedResource(testResource, 0.5)),
+                result.getMatches());
+        assertEquals("0.5_1", result.getNextCursor());
+    }
+
+    @Test
+    void search_ShouldEndListing_WhenPageIsNotFull() {
+        when(resourceSearchRepository.search(RAND_TEE, null, 50)).thenReturn(List.of());
+        ResourceSearchPage result = resourcesService.search(RAND_TEE, null, 50);
+        assertTrue(result.getMatches().isEmpty());
+        assertNull(result.getNextCursor());
+        verify(resourceRepository, never()).findAllWithDetailsByIdIn(any());
+    }
+
+    @Test
+    void stats_ShouldReadMaintainedCounters() {
+        List<ResourceStat> stats = List.of(new ResourceStat(StatKey.RESOURCE_TYPE, EE,
+                ResourceType.METERING_POINT.name(), null, 3L));
+        when(resourceStatsRepository.findStats(EE)).thenReturn(stats);
+        assertEquals(stats, resourcesService.stats(EE));
+        verify(resourceRepository, never()).count();
+    }
+
+    @Test
+    void remove_ShouldDeleteResourceAndWriteDeletedEvent() {
         Long resourceId = 1L;
+        when(resourceRepository.findById(resourceId)).thenReturn(Optional.of(testResource));
         resourcesService.remove(resourceId);
-        verify(resourceRepository, times(1)).deleteById(resourceId);
+        verify(resourceRepository, times(1)).delete(testResource);
+        verify(resourceCache, times(1)).invalidate(resourceId);
+        verify(resourceGeoIndex, times(1)).remove(resourceId);
+        verify(resourceStatsCounter).record(argThat(delta -> delta.getCounts().get(new StatKey(StatKey.CHARACTERISTIC,
+                EE, CharacteristicType.CONSUMPTION_TYPE.name(), NUMBER_220)) == -1L));
+        verify(outboxWriter).write(eq(NOTIFICATION_TOPIC), argThat(event ->
+                event.getChangeType() == ResourceChangeType.DELETED
+                        && event.getResourceId().equals(resourceId) && event.getVersion() == 2L));
+        verify(outboxWriter).writeTombstone(eq(RESOURCE_STATE_TOPIC), argThat(event ->
+                event.getResourceId().equals(resourceId) && event.getVersion() == 2L));
     }
 
     @Test
-    void update_ShouldUpdateResourceAndSendKafkaMessage() {
+    void remove_WithUnknownId_ShouldNotWriteEvent() {
+        when(resourceRepository.findById(100L)).thenReturn(Optional.empty());
+        resourcesService.remove(100L);
+        verify(resourceRepository, never()).delete(any(Resource.class));
+        verify(outboxWriter, never()).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
+        verify(outboxWriter, never()).writeTombstone(any(), any());
+    }
+
+    @Test
+    void update_ShouldUpdateResourceAndWriteOutboxMessage() {
         Resource updatedResource = new Resource();
         updatedResource.setId(1L);
         updatedResource.setResourceType(ResourceType.CONNECTION_POINT);
@@ -171,15 +385,44 @@ public class ResourcesServiceImplTest {
         updatedResource.setLocation(testLocation);
         Characteristic updatedCharacteristic = new Characteristic(2L, NUMBER_2, CharacteristicType.CHARGING_POINT, FAST);
         updatedResource.setCharacteristics(Arrays.asList(updatedCharacteristic));
-        when(resourceRepository.save(testResource)).thenReturn(updatedResource);
-        Resource result = resourcesService.update(testResource);
+        when(resourceRepository.findWithDetailsById(testResource.getId())).thenReturn(Optional.of(testResource));
+        when(resourceRepository.saveAndFlush(updatedResource)).thenAnswer(flushed());
+        Resource result = resourcesService.update(updatedResource, null);
         assertNotNull(result);
         assertEquals(updatedResource.getId(), result.getId());
         assertEquals(ResourceType.CONNECTION_POINT, result.getResourceType());
         assertEquals(UA, result.getCountryCode());
         assertEquals(NUMBER_2, result.getCharacteristics().get(0).getCode());
-        verify(resourceRepository, times(1)).save(testResource);
-        verify(kafkaTemplate, times(1)).send(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
+        assertEquals(2L, result.getVersion());
+        verify(resourceRepository, times(1)).saveAndFlush(updatedResource);
+        verify(resourceCache, times(1)).invalidate(testResource.getId());
+        verify(resourceStatsCounter).record(argThat(delta -> delta.getCounts().equals(Map.of(
+                new StatKey(StatKey.RESOURCE_TYPE, EE, ResourceType.METERING_POINT.name(), null), -1L,
+                new StatKey(StatKey.CHARACTERISTIC, EE, CharacteristicType.CONSUMPTION_TYPE.name(), NUMBER_220), -1L,
+                new StatKey(StatKey.RESOURCE_TYPE, UA, ResourceType.CONNECTION_POINT.name(), null), 1L,
+                new StatKey(StatKey.CHARACTERISTIC, UA, CharacteristicType.CHARGING_POINT.name(), FAST), 1L))));
+        verify(outboxWriter, times(1)).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
+        verify(outboxWriter).write(eq(RESOURCE_STATE_TOPIC), argThat(event ->
+                event.getChangeType() == ResourceChangeType.SNAPSHOT && event.getVersion() == 2L));
+    }
+
+    @Test
+    void update_WithoutChanges_ShouldNotSaveOrWriteOutboxMessage() {
+        Resource sameResource = new Resource(testResource.getId(), testResource.getResourceType(), EE,
+                testLocation, List.of(testCharacteristic), null);
+        when(resourceRepository.findWithDetailsById(testResource.getId())).thenReturn(Optional.of(testResource));
+        Resource result = resourcesService.update(sameResource, null);
+        assertEquals(1L, result.getVersion());
+        verify(resourceRepository, never()).saveAndFlush(any(Resource.class));
+        verify(outboxWriter, never()).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
+    }
+
+    @Test
+    void update_WithUnknownId_ShouldThrowEntityNotFoundException() {
+        when(resourceRepository.findWithDetailsById(testResource.getId())).thenReturn(Optional.empty());
+        assertThrows(EntityNotFoundException.class, () -> resourcesService.update(testResource, null));
+        verify(resourceRepository, never()).saveAndFlush(any(Resource.class));
+        verify(outboxWriter, never()).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
     }
 
     @Test
@@ -191,76 +434,72 @@ public class ResourcesServiceImplTest {
         existingResource.setCountryCode(EE);
         existingResource.setLocation(testLocation);
         existingResource.setCharacteristics(Arrays.asList(testCharacteristic));
+        existingResource.setVersion(5L);
         Resource updatedResource = new Resource();
         updatedResource.setId(resourceId);
         updatedResource.setResourceType(ResourceType.CONNECTION_POINT);
         updatedResource.setCountryCode(UA);
         updatedResource.setLocation(testLocation);
         updatedResource.setCharacteristics(Arrays.asList(testCharacteristic));
-        when(resourceRepository.getReferenceById(resourceId)).thenReturn(existingResource);
-        when(resourceRepository.save(existingResource)).thenReturn(updatedResource);
-        Resource result = resourcesService.updatePartial(testResourceRequestDto, resourceId);
+        updatedResource.setVersion(6L);
+        when(resourceRepository.findWithDetailsById(resourceId)).thenReturn(Optional.of(existingResource));
+        doAnswer(invocation -> {
+            existingResource.setCountryCode(UA);
+            return null;
+        }).when(resourceRequestMapper).updateResourcesFromDto(testResourceRequestDto, existingResource);
+        when(resourceRepository.saveAndFlush(existingResource)).thenReturn(updatedResource);
+        Resource result = resourcesService.updatePartial(testResourceRequestDto, resourceId, 5L);
         assertNotNull(result);
         assertEquals(updatedResource.getId(), result.getId());
         assertEquals(ResourceType.CONNECTION_POINT, result.getResourceType());
         assertEquals(UA, result.getCountryCode());
-        verify(resourceRepository, times(1)).getReferenceById(resourceId);
+        verify(resourceRepository, times(1)).findWithDetailsById(resourceId);
         verify(resourceRequestMapper, times(1)).updateResourcesFromDto(testResourceRequestDto, existingResource);
-        verify(resourceRepository, times(1)).save(existingResource);
+        verify(resourceRepository, times(1)).saveAndFlush(existingResource);
+        verify(resourceCache, times(1)).invalidate(resourceId);
+        verify(outboxWriter).write(eq(NOTIFICATION_TOPIC), argThat(event ->
+                event.getChangeType() == ResourceChangeType.UPDATED && event.getVersion() == 6L
+                        && event.getChanges().equals(List.of(new FieldChange(ResourceDiff.COUNTRY_CODE, EE, UA)))));
+    }
+
+    @Test
+    void updatePartial_WithoutChanges_ShouldNotWriteOutboxMessage() {
+        when(resourceRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testResource));
+        Resource result = resourcesService.updatePartial(testResourceRequestDto, 1L, null);
+        assertEquals(1L, result.getVersion());
+        verify(resourceRepository, never()).saveAndFlush(any(Resource.class));
+        verify(outboxWriter, never()).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
     }
 
     @Test
-    void sendAll_WithEmptyList_ShouldReturnZeroMessage() {
-        List<Resource> emptyList = Arrays.asList();
-        when(resourceRepository.findAll()).thenReturn(emptyList);
-        String result = resourcesService.sendAll();
-        assertEquals(SEND_0_ITEMS_FROM_RESOURCE, result);
-        verify(resourceRepository, times(1)).findAll();
-        verify(kafkaTemplate, never()).send(anyString(), any(ResourceEvent.class));
+    void update_WithStaleExpectedVersion_ShouldThrowVersionMismatch() {
+        Resource updatedResource = new Resource(testResource.getId(), ResourceType.CONNECTION_POINT, UA,
+                testLocation, List.of(testCharacteristic), null);
+        when(resourceRepository.findWithDetailsById(testResource.getId())).thenReturn(Optional.of(testResource));
+        assertThrows(ResourceVersionMismatchException.class, () -> resourcesService.update(updatedResource, 7L));
+        verify(resourceRepository, never()).saveAndFlush(any(Resource.class));
+        verify(resourceCache, never()).invalidate(any());
+        verify(outboxWriter, never()).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
     }
 
     @Test
-    void sendAll_WithMultipleResources_ShouldSendAllToKafkaAndReturnCount() {
-        Location location1 = new Location(1L, JOHI_TEE, TALLINN, 10001, US);
-        Location location2 = new Location(2L, PADRI_TEE, TARTU, 02101, US);
-        Location location3 = new Location(3L, RAND_TEE, KELA, 60601, US);
-        Characteristic char1 = new Characteristic(1L, NUMBER_1, CharacteristicType.CONSUMPTION_TYPE, STANDARD);
-        Characteristic char2 = new Characteristic(2L, NUMBER_2, CharacteristicType.CHARGING_POINT, FAST);
-        Characteristic char3 = new Characteristic(3L, NUMBER_3, CharacteristicType.CONNECTION_POINT_STATUS, ACTIVE);
-        Resource resource1 = new Resource();
-        resource1.setId(1L);
-        resource1.setResourceType(ResourceType.METERING_POINT);
-        resource1.setCountryCode(EE);
-        resource1.setLocation(location1);
-        resource1.setCharacteristics(Arrays.asList(char1));
-        Resource resource2 = new Resource();
-        resource2.setId(2L);
-        resource2.setResourceType(ResourceType.CONNECTION_POINT);
-        resource2.setCountryCode(EE);
-        resource2.setLocation(location2);
-        resource2.setCharacteristics(Arrays.asList(char2));
-        Resource resource3 = new Resource();
-        resource3.setId(3L);
-        resource3.setResourceType(ResourceType.METERING_POINT);
-        resource3.setCountryCode(UA);
-        resource3.setLocation(location3);
-        resource3.setCharacteristics(Arrays.asList(char3));
-        List<Resource> resources = Arrays.asList(resource1, resource2, resource3);
-        when(resourceRepository.findAll()).thenReturn(resources);
-        String result = resourcesService.sendAll();
-        assertEquals(SEND_3_ITEMS_FROM_RESOURCE, result);
-        verify(resourceRepository, times(1)).findAll();
-        verify(kafkaTemplate, times(3)).send(eq(NOTIFICATION_TOPIC_ALL_DATA), any(ResourceEvent.class));
+    void updatePartial_WithStaleExpectedVersion_ShouldNotApplyChanges() {
+        when(resourceRepository.findWithDetailsById(1L)).thenReturn(Optional.of(testResource));
+        assertThrows(ResourceVersionMismatchException.class,
+                () -> resourcesService.updatePartial(testResourceRequestDto, 1L, 7L));
+        verify(resourceRequestMapper, never()).updateResourcesFromDto(any(), any());
+        verify(resourceRepository, never()).saveAndFlush(any(Resource.class));
     }
 
     @Test
-    void sendAll_WithSingleResource_ShouldSendToKafkaAndReturnCount() {
-        List<Resource> singleResourceList = Arrays.asList(testResource);
-        when(resourceRepository.findAll()).thenReturn(singleResourceList);
-        String result = resourcesService.sendAll();
-        assertEquals("Send 1 items from Resource.", result);
-        verify(resourceRepository, times(1)).findAll();
-        verify(kafkaTemplate, times(1)).send(eq(NOTIFICATION_TOPIC_ALL_DATA), any(ResourceEvent.class));
+    void update_WithCurrentExpectedVersion_ShouldSaveWithLoadedVersion() {
+        Resource updatedResource = new Resource(testResource.getId(), ResourceType.CONNECTION_POINT, UA,
+                testLocation, List.of(testCharacteristic), null);
+        when(resourceRepository.findWithDetailsById(testResource.getId())).thenReturn(Optional.of(testResource));
+        when(resourceRepository.saveAndFlush(updatedResource)).thenAnswer(flushed());
+        Resource result = resourcesService.update(updatedResource, 1L);
+        assertEquals(2L, result.getVersion());
+        verify(resourceRepository).saveAndFlush(updatedResource);
     }
 
     @Test
@@ -273,29 +512,35 @@ public class ResourcesServiceImplTest {
         savedResource.setCharacteristics(Arrays.asList(testCharacteristic));
         when(resourceRepository.save(testResource)).thenReturn(savedResource);
         resourcesService.add(testResource);
-        verify(kafkaTemplate).send(eq(NOTIFICATION_TOPIC), argThat(event ->
-                event != null && event.getResource().equals(savedResource)
+        verify(outboxWriter).write(eq(NOTIFICATION_TOPIC), argThat(event ->
+                event != null && event.getChangeType() == ResourceChangeType.CREATED
+                        && event.getResource().equals(savedResource)
         ));
     }
 
     @Test
-    void update_ShouldCreateCorrectResourceEvent() {
+    void update_ShouldCreateDeltaResourceEvent() {
         Resource updatedResource = new Resource();
         updatedResource.setId(1L);
         updatedResource.setResourceType(ResourceType.CONNECTION_POINT);
         updatedResource.setCountryCode(EE);
         updatedResource.setLocation(testLocation);
         updatedResource.setCharacteristics(Arrays.asList(testCharacteristic));
-        when(resourceRepository.save(testResource)).thenReturn(updatedResource);
-        resourcesService.update(testResource);
-        verify(kafkaTemplate).send(eq(NOTIFICATION_TOPIC), argThat(event ->
-                event != null && event.getResource().equals(updatedResource)
+        when(resourceRepository.findWithDetailsById(testResource.getId())).thenReturn(Optional.of(testResource));
+        when(resourceRepository.saveAndFlush(updatedResource)).thenAnswer(flushed());
+        resourcesService.update(updatedResource, null);
+        verify(outboxWriter).write(eq(NOTIFICATION_TOPIC), argThat(event ->
+                event != null && event.getChangeType() == ResourceChangeType.UPDATED
+                        && event.getResource() == null && event.getVersion() == 2L
+                        && event.getChanges().equals(List.of(new FieldChange(ResourceDiff.RESOURCE_TYPE,
+                        ResourceType.METERING_POINT.name(), ResourceType.CONNECTION_POINT.name())))
+                        && event.getAddedCharacteristics().isEmpty()
         ));
     }
 
     @Test
     void add_WithComplexResourceStructure_ShouldHandleRelationships() {
-        Location complexLocation = new Location(10L, PINE_10_TEE, TARTU, 12345, DE);
+        Location complexLocation = new Location(10L, PINE_10_TEE, TARTU, 12345, DE, null, null);
         Characteristic consumption = new Characteristic(10L, CO_1, CharacteristicType.CONSUMPTION_TYPE, HIGH);
         Characteristic charging = new Characteristic(11L, CH_1, CharacteristicType.CHARGING_POINT, ULTRA_FAST);
         Characteristic status = new Characteristic(12L, ST_1, CharacteristicType.CONNECTION_POINT_STATUS, ONLINE);
@@ -327,6 +572,6 @@ public class ResourcesServiceImplTest {
         assertTrue(result.getCharacteristics().stream()
                 .anyMatch(ch -> ch.getCharacteristicType() == CharacteristicType.CONNECTION_POINT_STATUS));
         verify(resourceRepository, times(1)).save(complexResource);
-        verify(kafkaTemplate, times(1)).send(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
+        verify(outboxWriter, times(1)).write(eq(NOTIFICATION_TOPIC), any(ResourceEvent.class));
     }
 }
@@ -0,0 +1,81 @@
+package com.test.api.stats;
+
+import com.test.api.model.Resource;
+import com.test.api.repository.ResourceStatsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.intThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class ResourceStatsCounterTest {
+    public static final String EE = "EE";
+    public static final String FI = "FI";
+    public static final StatKey EE_METERING_POINTS = new StatKey(StatKey.RESOURCE_TYPE, EE, "METERING_POINT", null);
+    public static final StatKey FI_METERING_POINTS = new StatKey(StatKey.RESOURCE_TYPE, FI, "METERING_POINT", null);
+    @Mock
+    private ResourceStatsRepository resourceStatsRepository;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+    private ResourceStatsCounter resourceStatsCounter;
+
+    @BeforeEach
+    void setUp() {
+        resourceStatsCounter = new ResourceStatsCounter(resourceStatsRepository, transactionManager, 4);
+    }
+
+    @Test
+    void reconcile_ShouldWriteDriftToReconciliationSlot() {
+        when(transactionManager.getTransaction(any(TransactionDefinition.class)))
+                .thenReturn(new SimpleTransactionStatus());
+        when(resourceStatsRepository.tryLock(ResourceStatsCounter.RECONCILIATION_LOCK_KEY)).thenReturn(true);
+        when(resourceStatsRepository.countFromSource()).thenReturn(Map.of(EE_METERING_POINTS, 10L));
+        when(resourceStatsRepository.findCounts())
+                .thenReturn(Map.of(EE_METERING_POINTS, 7L, FI_METERING_POINTS, 2L));
+
+        resourceStatsCounter.reconcile();
+
+        verify(resourceStatsRepository).increment(Map.of(EE_METERING_POINTS, 3L, FI_METERING_POINTS, -2L),
+                ResourceStatsCounter.RECONCILIATION_SLOT);
+    }
+
+    @Test
+    void reconcile_ShouldSkip_WhenAnotherReplicaHoldsTheLock() {
+        when(transactionManager.getTransaction(any(TransactionDefinition.class)))
+                .thenReturn(new SimpleTransactionStatus());
+        when(resourceStatsRepository.tryLock(ResourceStatsCounter.RECONCILIATION_LOCK_KEY)).thenReturn(false);
+
+        resourceStatsCounter.reconcile();
+
+        verify(resourceStatsRepository, never()).countFromSource();
+        verify(resourceStatsRepository, never()).increment(any(), anyInt());
+    }
+
+    @Test
+    void record_ShouldIncrementOneOfTheWriterSlots() {
+        StatsDelta delta = new StatsDelta().add(new Resource());
+
+        resourceStatsCounter.record(delta);
+
+        verify(resourceStatsRepository).increment(eq(delta.getCounts()), intThat(slot -> slot >= 0 && slot < 4));
+    }
+
+    @Test
+    void difference_ShouldIgnoreMatchingCounts() {
+        assertEquals(Map.of(), ResourceStatsCounter.difference(Map.of(EE_METERING_POINTS, 1L),
+                Map.of(EE_METERING_POINTS, 1L)));
+    }
+}
@@ -0,0 +1,56 @@
+package com.test.api.stats;
+
+import com.test.api.model.Characteristic;
+import com.test.api.model.CharacteristicType;
+import com.test.api.model.Resource;
+import com.test.api.model.ResourceType;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatsDeltaTest {
+    public static final String EE = "EE";
+    public static final String FI = "FI";
+    public static final String TWO_SOCKET = "2 socket";
+    public static final String NUMBER_220 = "220";
+    public static final String CODE_1 = "1";
+    public static final String CODE_2 = "2";
+
+    private Resource resource(String countryCode, List<Characteristic> characteristics) {
+        return new Resource(1L, ResourceType.CONNECTION_POINT, countryCode, null, characteristics, 1L);
+    }
+
+    private Characteristic charging(String code) {
+        return new Characteristic(null, code, CharacteristicType.CHARGING_POINT, TWO_SOCKET);
+    }
+
+    @Test
+    void add_ShouldCountResourceTypeAndEachDistinctCharacteristic() {
+        Resource resource = resource(EE, List.of(charging(CODE_1), charging(CODE_2),
+                new Characteristic(null, CODE_1, CharacteristicType.CONSUMPTION_TYPE, NUMBER_220)));
+
+        Map<StatKey, Long> counts = new StatsDelta().add(resource).getCounts();
+
+        assertEquals(Map.of(
+                new StatKey(StatKey.RESOURCE_TYPE, EE, ResourceType.CONNECTION_POINT.name(), null), 1L,
+                new StatKey(StatKey.CHARACTERISTIC, EE, CharacteristicType.CHARGING_POINT.name(), TWO_SOCKET), 1L,
+                new StatKey(StatKey.CHARACTERISTIC, EE, CharacteristicType.CONSUMPTION_TYPE.name(), NUMBER_220), 1L),
+                counts);
+    }
+
+    @Test
+    void getCounts_ShouldKeepOnlyNetChanges() {
+        Resource before = resource(EE, List.of(charging(CODE_1)));
+        Resource after = resource(FI, List.of(charging(CODE_1)));
+
+        assertTrue(StatsDelta.removing(before).add(before).getCounts().isEmpty());
+        assertEquals(Map.of(
+                new StatKey(StatKey.RESOURCE_TYPE, EE, ResourceType.CONNECTION_POINT.name(), null), -1L,
+                new StatKey(StatKey.CHARACTERISTIC, EE, CharacteristicType.CHARGING_POINT.name(), TWO_SOCKET), -1L,
+                new StatKey(StatKey.RESOURCE_TYPE, FI, ResourceType.CONNECTION_POINT.name(), null), 1L,
+                new StatKey(StatKey.CHARACTERISTIC, FI, CharacteristicType.CHARGING_POINT.name(), TWO_SOCKET), 1L),
+                StatsDelta.removing(before).add(after).getCounts());
+    }
+}